@@ -3,19 +3,21 @@ package com.rmompati;
 import com.rmompati.lang.backend.Backend;
 import com.rmompati.lang.backend.BackendFactory;
 import com.rmompati.lang.frontend.FrontendFactory;
+import com.rmompati.lang.frontend.ParseCache;
 import com.rmompati.lang.frontend.Parser;
 import com.rmompati.lang.frontend.Source;
 import com.rmompati.lang.frontend.TokenType;
 import com.rmompati.lang.intermediate.ICode;
+import com.rmompati.lang.intermediate.ICodeFactory;
 import com.rmompati.lang.intermediate.SymTabStack;
+import com.rmompati.lang.intermediate.SymTableFactory;
 import com.rmompati.lang.message.Message;
 import com.rmompati.lang.message.MessageListener;
 import com.rmompati.lang.message.MessageType;
 import com.rmompati.lang.util.CrossReferencer;
 import com.rmompati.lang.util.ParseTreePrinter;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.nio.file.Paths;
 
 import static com.rmompati.lang.pascal.frontend.PascalTokenType.STRING;
 
@@ -39,20 +41,44 @@ public class Pascal {
     try {
       boolean intermediate = flags.indexOf('i') > -1;
       boolean xref = flags.indexOf('x') > -1;
+      boolean listed = flags.indexOf('q') == -1;
+      String scannerType = flags.indexOf('t') > -1 ? "table-driven" : "standard";
+      String scannerMode = flags.indexOf('p') > -1 ? "pipelined" : "sequential";
+      if (scannerMode.equals("pipelined") && !FrontendFactory.canPipelineScanner()) {
+        System.err.println("Only one processor is available, so the source is scanned sequentially.");
+      }
 
-      source = new Source(new BufferedReader(new FileReader(filePath)));
-      source.addMessageListener(new SourceMessageListener());
+      boolean cached = flags.indexOf('k') > -1;
+      boolean flat = flags.indexOf('a') > -1;
+      boolean shared = flags.indexOf('h') > -1;
+      SymTableFactory.setSymTableType(flags.indexOf('o') > -1 ? "hashed" : "sorted");
+      String interpreterType = flags.indexOf('s') > -1 ? "specializing"
+          : flags.indexOf('e') > -1 ? "tree"
+          : "standard";
+
+      // Without the listing, the sources skip building line strings and take their bulk paths.
+      source = FrontendFactory.createSource(filePath);
+      if (listed) {
+        source.addMessageListener(new SourceMessageListener());
+      }
 
-      parser = FrontendFactory.createParser("Pascal", "top-down", source);
+      if (cached) {
+        ParseCache cache = new ParseCache(Paths.get(System.getProperty(CACHE_DIR_PROPERTY, DEFAULT_CACHE_DIR)),
+                                          Long.getLong(CACHE_SIZE_PROPERTY, ParseCache.DEFAULT_MAX_SIZE));
+        parser = FrontendFactory.createParser("Pascal", "top-down", scannerType, scannerMode, source, cache);
+      } else {
+        parser = FrontendFactory.createParser("Pascal", "top-down", scannerType, scannerMode, source);
+      }
       parser.addMessageListener(new ParserMessageListener());
 
-      backend = BackendFactory.createBackend(operation);
+      backend = BackendFactory.createBackend(operation, interpreterType);
       backend.addMessageListener(new BackendMessageListener(true));
 
       parser.parse();
       source.close();
 
-      iCode = parser.getiCode();
+      iCode = shared ? ICodeFactory.hashCons(parser.getiCode()) : parser.getiCode();
+      iCode = flat ? ICodeFactory.createFlatICode(iCode) : iCode;
       symTabStack = parser.getSymTabStack();
 
       if (xref) {
@@ -72,13 +98,19 @@ public class Pascal {
     }
   }
 
-  private static final String FLAGS = "[-ix]";
-  private static final String USAGE = "Usage: Pascal execute|compile " + FLAGS + " <source file path>";
+  private static final String FLAGS = "[-ixtpkahoesq]";
+
+  // The parse cache directory and size bound of the "k" flag.
+  private static final String CACHE_DIR_PROPERTY = "pascal.cache.dir";
+  private static final String CACHE_SIZE_PROPERTY = "pascal.cache.size";
+  private static final String DEFAULT_CACHE_DIR =
+      Paths.get(System.getProperty("user.home"), ".cache", "pascal").toString();
+  private static final String USAGE = "Usage: Pascal execute|compile " + FLAGS + " <source file path> | -";
 
   /**
    * The main method
    * @param args command-line arguments: "compile" or "execute" followed by optional flags
-   *             followed by the source file path.
+   *             followed by the source file path, or "-" to read the source from the standard input.
    */
   public static void main( String[] args ) {
     try {
@@ -91,10 +123,17 @@ public class Pascal {
 
       int i = 0;
       StringBuilder flags = new StringBuilder();
-      while ((++i < args.length) && (args[i].charAt(0) == '-')) {
+      while ((++i < args.length) && (args[i].charAt(0) == '-')
+              && !args[i].equals(FrontendFactory.STANDARD_INPUT)) {
         flags.append(args[i].substring(1));
       }
 
+      // The flat arenas cannot share nodes, so hash-consed code cannot be flattened.
+      if ((flags.indexOf("a") > -1) && (flags.indexOf("h") > -1)) {
+        System.out.println("The a and h flags cannot be combined.");
+        throw new Exception();
+      }
+
       // Source Path
       if (i < args.length) {
         String path = args[i];
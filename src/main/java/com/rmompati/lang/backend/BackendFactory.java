@@ -2,6 +2,7 @@ package com.rmompati.lang.backend;
 
 import com.rmompati.lang.backend.compiler.CodeGenerator;
 import com.rmompati.lang.backend.interpreter.Executor;
+import com.rmompati.lang.backend.interpreter.tree.TreeExecutor;
 
 /**
  * <h1>BackendFactory</h1>
@@ -11,10 +12,31 @@ import com.rmompati.lang.backend.interpreter.Executor;
 public class BackendFactory {
 
   public static Backend createBackend(String operation) throws Exception {
+    return createBackend(operation, "standard");
+  }
+
+  /**
+   * Creates a compiler or an interpreter.
+   * @param operation "compile" or "execute".
+   * @param interpreterType the type of the interpreter: "standard" to execute each statement with a new executor, or
+   *                        "tree" to build an execution tree and execute it, or "specializing" to build an execution
+   *                        tree whose untyped operators specialize themselves to the types of their operand values.
+   * @return the backend.
+   * @throws Exception if an error occurred.
+   */
+  public static Backend createBackend(String operation, String interpreterType) throws Exception {
     if (operation.equalsIgnoreCase("compile")) {
       return new CodeGenerator();
     } else if (operation.equalsIgnoreCase("execute")) {
-      return new Executor(null);
+      if (interpreterType.equalsIgnoreCase("standard")) {
+        return new Executor(null);
+      } else if (interpreterType.equalsIgnoreCase("tree")) {
+        return new TreeExecutor();
+      } else if (interpreterType.equalsIgnoreCase("specializing")) {
+        return new TreeExecutor(true);
+      } else {
+        throw new Exception("Backend Factory: Invalid interpreter type \"" + interpreterType + "\"");
+      }
     } else {
       throw new Exception("Backend Factory: Invalid operation \"" + operation + "\"");
     }
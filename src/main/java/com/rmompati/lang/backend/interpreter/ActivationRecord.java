@@ -0,0 +1,137 @@
+package com.rmompati.lang.backend.interpreter;
+
+/**
+ * <h1>ActivationRecord</h1>
+ *
+ * <p>The runtime frame of one activation of a scope. It holds the values of the variables of the scope's nesting level
+ * in an array indexed by the slots that {@link com.rmompati.lang.intermediate.ScopeResolver} assigned them. The value
+ * of a variable that was never assigned is null.</p>
+ *
+ * <p>The variables of a static INTEGER, REAL or BOOLEAN type keep the bits of their values unboxed in a parallel array
+ * of ints instead, so the interpreter reads and writes them without allocating. Such a variable only holds an unboxed
+ * value once one is stored: until then, or after a boxed value is stored into it, its value is in the slot like that of
+ * any other variable.</p>
+ */
+public class ActivationRecord {
+
+  private final int nestingLevel;
+  private final Object[] slots;
+  private final int[] primitives;
+  private final boolean[] unboxed;
+
+  /** The record of the same nesting level that this one hides in the display, if any. */
+  ActivationRecord hiddenRecord;
+
+  /**
+   * Constructor.
+   * @param nestingLevel the nesting level of the scope.
+   * @param size the number of variable slots.
+   */
+  public ActivationRecord(int nestingLevel, int size) {
+    this.nestingLevel = nestingLevel;
+    this.slots = new Object[size];
+    this.primitives = new int[size];
+    this.unboxed = new boolean[size];
+  }
+
+  /**
+   * Gets the nesting level.
+   * @return the nesting level of the scope.
+   */
+  public int getNestingLevel() {
+    return nestingLevel;
+  }
+
+  /**
+   * Gets the number of variable slots.
+   * @return the number of slots.
+   */
+  public int getSize() {
+    return slots.length;
+  }
+
+  /**
+   * Gets the value of a variable that holds no unboxed value.
+   * @param slot the slot of the variable.
+   * @return the value, or null if the variable was never assigned.
+   */
+  public Object get(int slot) {
+    return slots[slot];
+  }
+
+  /**
+   * Sets the value of a variable.
+   * @param slot the slot of the variable.
+   * @param value the value.
+   */
+  public void set(int slot, Object value) {
+    slots[slot] = value;
+    unboxed[slot] = false;
+  }
+
+  /**
+   * Test if a variable holds an unboxed value.
+   * @param slot the slot of the variable.
+   * @return true if the last value stored into the variable was unboxed.
+   */
+  public boolean isUnboxed(int slot) {
+    return unboxed[slot];
+  }
+
+  /**
+   * Gets the value of an INTEGER variable that holds an unboxed value.
+   * @param slot the slot of the variable.
+   * @return the value.
+   */
+  public int getInt(int slot) {
+    return primitives[slot];
+  }
+
+  /**
+   * Sets the value of an INTEGER variable.
+   * @param slot the slot of the variable.
+   * @param value the value.
+   */
+  public void setInt(int slot, int value) {
+    primitives[slot] = value;
+    unboxed[slot] = true;
+  }
+
+  /**
+   * Gets the value of a REAL variable that holds an unboxed value.
+   * @param slot the slot of the variable.
+   * @return the value.
+   */
+  public float getFloat(int slot) {
+    return Float.intBitsToFloat(primitives[slot]);
+  }
+
+  /**
+   * Sets the value of a REAL variable.
+   * @param slot the slot of the variable.
+   * @param value the value.
+   */
+  public void setFloat(int slot, float value) {
+    primitives[slot] = Float.floatToRawIntBits(value);
+    unboxed[slot] = true;
+  }
+
+  /**
+   * Gets the value of a BOOLEAN variable that holds an unboxed value.
+   * @param slot the slot of the variable.
+   * @return the value.
+   */
+  public boolean getBoolean(int slot) {
+    return primitives[slot] != 0;
+  }
+
+  /**
+   * Sets the value of a BOOLEAN variable.
+   * @param slot the slot of the variable.
+   * @param value the value.
+   */
+  public void setBoolean(int slot, boolean value) {
+    primitives[slot] = value ? 1 : 0;
+    unboxed[slot] = true;
+  }
+}
@@ -4,6 +4,7 @@ import com.rmompati.lang.backend.Backend;
 import com.rmompati.lang.backend.interpreter.executors.StatementExecutor;
 import com.rmompati.lang.intermediate.ICode;
 import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.ScopeResolver;
 import com.rmompati.lang.intermediate.SymTabStack;
 import com.rmompati.lang.message.Message;
 import com.rmompati.lang.message.MessageListener;
@@ -24,12 +25,26 @@ public class Executor extends Backend {
     errorHandler = new RuntimeErrorHandler();
   }
 
+  /** The static addresses of the variables of the intermediate code. */
+  protected ScopeResolver scopeResolver;
+  /** The static types of the expressions and variables of the intermediate code. */
+  protected TypeResolver typeResolver;
+  /** The activation records of the running program. */
+  protected RuntimeStack runtimeStack;
+
   /**
    * Constructor for subclasses.
    * @param parent the parent executor.
    */
   public Executor(Executor parent) {
     super();
+    if (parent != null) {
+      this.iCode = parent.iCode;
+      this.symTabStack = parent.symTabStack;
+      this.scopeResolver = parent.scopeResolver;
+      this.typeResolver = parent.typeResolver;
+      this.runtimeStack = parent.runtimeStack;
+    }
   }
 
   /**
@@ -43,12 +58,14 @@ public class Executor extends Backend {
   public void process(ICode iCode, SymTabStack symTabStack) throws Exception {
     this.symTabStack = symTabStack;
     this.iCode = iCode;
+    this.scopeResolver = new ScopeResolver(iCode);
+    this.typeResolver = new TypeResolver(iCode);
+    this.runtimeStack = new RuntimeStack();
+    runtimeStack.push(new ActivationRecord(0, scopeResolver.getFrameSize(0)));
 
     long startTime = System.currentTimeMillis();
 
-    ICodeNode rootNode = iCode.getRoot();
-    StatementExecutor statementExecutor = new StatementExecutor(this);
-    statementExecutor.execute(rootNode);
+    executeProgram(iCode.getRoot());
 
     float elapsedTime = (System.currentTimeMillis() - startTime) / 1000f;
     int runtimeErrors = errorHandler.getErrorCount();
@@ -57,6 +74,17 @@ public class Executor extends Backend {
     sendMessage(new Message(MessageType.INTERPRETER_SUMMARY, new Number[]{executionCount, runtimeErrors, elapsedTime}));
   }
 
+  /**
+   * Executes the program, once the variables are resolved and the runtime stack is set up.
+   *
+   * @param rootNode the root node of the intermediate code.
+   * @throws Exception if an exception occurs.
+   */
+  protected void executeProgram(ICodeNode rootNode) throws Exception {
+    StatementExecutor statementExecutor = new StatementExecutor(this);
+    statementExecutor.execute(rootNode);
+  }
+
   /**
    * Adds a lister to the listener list.
    *
@@ -0,0 +1,85 @@
+package com.rmompati.lang.backend.interpreter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * <h1>RuntimeStack</h1>
+ *
+ * <p>The stack of the activation records of the running program, with a display that indexes the topmost record of
+ * each nesting level. A variable at a static (level, slot) address is read from the display's record of its level, so
+ * reaching an enclosing scope takes one array index however deep the calls are.</p>
+ */
+public class RuntimeStack {
+
+  private final ArrayList<ActivationRecord> records;
+  private ActivationRecord[] display;
+
+  public RuntimeStack() {
+    this.records = new ArrayList<>();
+    this.display = new ActivationRecord[1];
+  }
+
+  /**
+   * Pushes an activation record, which becomes the display's record of its nesting level.
+   * @param record the activation record.
+   */
+  public void push(ActivationRecord record) {
+    int level = record.getNestingLevel();
+    if (level >= display.length) {
+      display = Arrays.copyOf(display, level + 1);
+    }
+
+    record.hiddenRecord = display[level];
+    display[level] = record;
+    records.add(record);
+  }
+
+  /**
+   * Pops the topmost activation record, and restores the record of its nesting level that it hid in the display.
+   * @return the popped record.
+   */
+  public ActivationRecord pop() {
+    ActivationRecord record = records.remove(records.size() - 1);
+    display[record.getNestingLevel()] = record.hiddenRecord;
+    record.hiddenRecord = null;
+    return record;
+  }
+
+  /**
+   * Gets the topmost activation record.
+   * @return the topmost record, or null if the stack is empty.
+   */
+  public ActivationRecord getTopmost() {
+    return records.isEmpty() ? null : records.get(records.size() - 1);
+  }
+
+  /**
+   * Gets the display's activation record of a nesting level.
+   * @param level the nesting level.
+   * @return the topmost record of the level.
+   */
+  public ActivationRecord getRecord(int level) {
+    return display[level];
+  }
+
+  /**
+   * Gets the value of the variable at a static address.
+   * @param level the nesting level of the variable.
+   * @param slot the slot of the variable.
+   * @return the value, or null if the variable was never assigned.
+   */
+  public Object get(int level, int slot) {
+    return display[level].get(slot);
+  }
+
+  /**
+   * Sets the value of the variable at a static address.
+   * @param level the nesting level of the variable.
+   * @param slot the slot of the variable.
+   * @param value the value.
+   */
+  public void set(int level, int slot, Object value) {
+    display[level].set(slot, value);
+  }
+}
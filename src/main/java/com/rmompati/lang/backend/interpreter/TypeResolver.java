@@ -0,0 +1,195 @@
+package com.rmompati.lang.backend.interpreter;
+
+import com.rmompati.lang.intermediate.ICode;
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.ICodeVisitor;
+import com.rmompati.lang.intermediate.ICodeWalker;
+import com.rmompati.lang.intermediate.IntNodeTable;
+import com.rmompati.lang.intermediate.SymTableEntry;
+import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import static com.rmompati.lang.backend.interpreter.ValueType.*;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.ID;
+
+/**
+ * <h1>TypeResolver</h1>
+ *
+ * <p>Infers the static types of the expressions and variables of intermediate code, as the interpreter evaluates
+ * them. The source language has no declarations, so the type of a variable is the type of every expression assigned to
+ * it, and it is DYNAMIC if they differ. The types of the variables and of the expressions depend on each other, so the
+ * assignments are walked until no variable type changes, starting from variables that have no type yet.</p>
+ *
+ * <p>An expression only gets a static type when the generic evaluation always returns a value of that type. Integer
+ * DIV and MOD, and division of two integers, stay DYNAMIC, since a division by zero there returns an integer.</p>
+ */
+public class TypeResolver {
+  private static final ValueType[] TYPES = ValueType.values();
+  /** The type ordinal of a node that has no type yet. */
+  private static final int NO_TYPE = -1;
+
+  private final IntNodeTable nodeTypes;
+
+  /** The types of the variables, absent while no assignment to a variable has a type. */
+  private final IdentityHashMap<SymTableEntry, ValueType> variableTypes;
+
+  /**
+   * Constructor. Infers the types of intermediate code.
+   * @param iCode the intermediate code.
+   */
+  public TypeResolver(ICode iCode) {
+    this.nodeTypes = new IntNodeTable(iCode);
+    this.variableTypes = new IdentityHashMap<>();
+
+    ICodeWalker walker = new ICodeWalker();
+    TypeVisitor visitor = new TypeVisitor();
+    do {
+      visitor.changed = false;
+      walker.walk(iCode, visitor);
+    } while (visitor.changed);
+  }
+
+  /**
+   * Gets the static type of an expression or a variable node.
+   * @param node the node.
+   * @return the type, which is DYNAMIC if the node has none, such as a variable that is never assigned a value.
+   */
+  public ValueType getType(ICodeNode node) {
+    int ordinal = nodeTypes.get(node);
+    return (ordinal != NO_TYPE) ? TYPES[ordinal] : DYNAMIC;
+  }
+
+  /**
+   * Joins the types of two values that flow to the same place.
+   * @param type1 the first type, or null if there is none yet.
+   * @param type2 the second type, or null if there is none yet.
+   * @return the joined type, or null.
+   */
+  private static ValueType join(ValueType type1, ValueType type2) {
+    if (type1 == null) {
+      return type2;
+    } else if ((type2 == null) || (type1 == type2)) {
+      return type1;
+    } else {
+      return DYNAMIC;
+    }
+  }
+
+  /**
+   * Computes the types of the nodes in postorder, and joins the type of each assignment into its variable.
+   */
+  private class TypeVisitor implements ICodeVisitor {
+
+    /** true if the type of a variable changed during the walk. */
+    boolean changed;
+
+    @Override
+    public boolean enter(ICodeNode node, List<ICodeNode> children) {
+      return true;
+    }
+
+    @Override
+    public void leave(ICodeNode node, List<ICodeNode> children) {
+      if (!(node.getType() instanceof ICodeNodeTypeImpl)) {
+        return;
+      }
+
+      ICodeNodeTypeImpl nodeType = (ICodeNodeTypeImpl) node.getType();
+      if (nodeType == ICodeNodeTypeImpl.ASSIGN) {
+        SymTableEntry variableId = (SymTableEntry) children.get(0).getAttribute(ID);
+        ValueType oldType = variableTypes.get(variableId);
+        ValueType newType = join(oldType, typeOf(children.get(1)));
+        if (newType != oldType) {
+          variableTypes.put(variableId, newType);
+          changed = true;
+        }
+      }
+
+      ValueType type = type(node, nodeType, children);
+      nodeTypes.set(node, (type != null) ? type.ordinal() : NO_TYPE);
+    }
+
+    /**
+     * Gets the type computed for a child node during this walk.
+     * @param node the node.
+     * @return the type, or null if it has none yet.
+     */
+    private ValueType typeOf(ICodeNode node) {
+      int ordinal = nodeTypes.get(node);
+      return (ordinal != NO_TYPE) ? TYPES[ordinal] : null;
+    }
+
+    /**
+     * Computes the type of a node from the types of its children.
+     * @param node the node.
+     * @param nodeType the node type.
+     * @param children the children.
+     * @return the type, or null if it has none yet.
+     */
+    private ValueType type(ICodeNode node, ICodeNodeTypeImpl nodeType, List<ICodeNode> children) {
+      switch (nodeType) {
+        case INTEGER_CONSTANT: return INTEGER;
+        case REAL_CONSTANT: return REAL;
+        case STRING_CONSTANT: return STRING;
+        case VARIABLE: return variableTypes.get((SymTableEntry) node.getAttribute(ID));
+
+        case NEGATE: {
+          ValueType type = typeOf(children.get(0));
+          return ((type == null) || type.isNumeric()) ? type : DYNAMIC;
+        }
+        case NOT: {
+          ValueType type = typeOf(children.get(0));
+          return ((type == null) || (type == BOOLEAN)) ? type : DYNAMIC;
+        }
+
+        case ADD:
+        case SUBTRACT:
+        case MULTIPLY:
+        case FLOAT_DIVIDE:
+        case AND:
+        case OR:
+        case EQ:
+        case NE:
+        case LT:
+        case LE:
+        case GT:
+        case GE: {
+          ValueType type1 = typeOf(children.get(0));
+          ValueType type2 = typeOf(children.get(1));
+          if ((type1 == null) || (type2 == null)) {
+            return ((type1 == DYNAMIC) || (type2 == DYNAMIC)) ? DYNAMIC : null;
+          }
+          return binaryType(nodeType, type1, type2);
+        }
+
+        default: return DYNAMIC;
+      }
+    }
+
+    /**
+     * Computes the type of a binary operator node from the types of its operands.
+     * @param nodeType the node type.
+     * @param type1 the type of the first operand.
+     * @param type2 the type of the second operand.
+     * @return the type.
+     */
+    private ValueType binaryType(ICodeNodeTypeImpl nodeType, ValueType type1, ValueType type2) {
+      switch (nodeType) {
+        case AND:
+        case OR:
+          return ((type1 == BOOLEAN) && (type2 == BOOLEAN)) ? BOOLEAN : DYNAMIC;
+        case FLOAT_DIVIDE:
+          return (type1.isNumeric() && type2.isNumeric() && ((type1 == REAL) || (type2 == REAL))) ? REAL : DYNAMIC;
+        case ADD:
+        case SUBTRACT:
+        case MULTIPLY:
+          return (type1.isNumeric() && type2.isNumeric()) ? ((type1 == INTEGER) && (type2 == INTEGER) ? INTEGER : REAL)
+                                                          : DYNAMIC;
+        default:
+          return (type1.isNumeric() && type2.isNumeric()) ? BOOLEAN : DYNAMIC;
+      }
+    }
+  }
+}
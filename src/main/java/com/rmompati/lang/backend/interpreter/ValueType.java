@@ -0,0 +1,21 @@
+package com.rmompati.lang.backend.interpreter;
+
+/**
+ * <h1>ValueType</h1>
+ *
+ * <p>The static types of the values of expressions and variables that the interpreter can evaluate without boxing.</p>
+ */
+public enum ValueType {
+  /** Not known statically: the value is an Object that must be checked at runtime. */
+  DYNAMIC,
+
+  INTEGER, REAL, BOOLEAN, STRING;
+
+  /**
+   * Test if the type is numeric.
+   * @return true if it is INTEGER or REAL.
+   */
+  public boolean isNumeric() {
+    return (this == INTEGER) || (this == REAL);
+  }
+}
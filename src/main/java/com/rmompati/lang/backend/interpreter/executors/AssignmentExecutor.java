@@ -1,6 +1,8 @@
 package com.rmompati.lang.backend.interpreter.executors;
 
+import com.rmompati.lang.backend.interpreter.ActivationRecord;
 import com.rmompati.lang.backend.interpreter.Executor;
+import com.rmompati.lang.backend.interpreter.ValueType;
 import com.rmompati.lang.intermediate.ICodeNode;
 import com.rmompati.lang.intermediate.SymTableEntry;
 import com.rmompati.lang.message.Message;
@@ -9,7 +11,6 @@ import java.util.ArrayList;
 
 import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.ID;
 import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.LINE;
-import static com.rmompati.lang.intermediate.symtableimpl.SymTableKeyImpl.DATA_VALUE;
 import static com.rmompati.lang.message.MessageType.ASSIGN;
 
 /**
@@ -18,6 +19,9 @@ import static com.rmompati.lang.message.MessageType.ASSIGN;
  * <p>Executes assignment statements.</p>
  */
 public class AssignmentExecutor extends StatementExecutor {
+
+  private final ExpressionExecutor expressionExecutor;
+
   /**
    * Constructor.
    *
@@ -25,6 +29,7 @@ public class AssignmentExecutor extends StatementExecutor {
    */
   public AssignmentExecutor(Executor parent) {
     super(parent);
+    this.expressionExecutor = new ExpressionExecutor(this);
   }
 
   /**
@@ -40,15 +45,32 @@ public class AssignmentExecutor extends StatementExecutor {
     ICodeNode variableNode = children.get(0);
     ICodeNode expressionNode = children.get(1);
 
-    // Execute the expression and get its value.
-    ExpressionExecutor expressionExecutor = new ExpressionExecutor(this);
-    Object value = expressionExecutor.execute(expressionNode);
-
-    // Set the value as an attribute of the variable's symbol table.
-    SymTableEntry variableId = (SymTableEntry) variableNode.getAttribute(ID);
-    variableId.setAttribute(DATA_VALUE, value);
+    // Execute the expression and set its value into the slot of the variable's activation record. The value of a
+    // variable of a static primitive type is computed and stored unboxed, and only boxed for the message, unless it is
+    // copied from a variable that holds no unboxed value.
+    ActivationRecord record = runtimeStack.getRecord(scopeResolver.getLevel(variableNode));
+    int slot = scopeResolver.getSlot(variableNode);
+    ValueType type = expressionExecutor.isBoxedVariable(expressionNode) ? ValueType.DYNAMIC
+                                                                        : typeResolver.getType(variableNode);
+    switch (type) {
+      case INTEGER:
+        record.setInt(slot, expressionExecutor.evalInt(expressionNode));
+        break;
+      case REAL:
+        record.setFloat(slot, expressionExecutor.evalFloat(expressionNode));
+        break;
+      case BOOLEAN:
+        record.setBoolean(slot, expressionExecutor.evalBoolean(expressionNode));
+        break;
+      default:
+        record.set(slot, expressionExecutor.execute(expressionNode));
+        break;
+    }
 
-    sendMessage(node, variableId.getName(), value);
+    if (messageHandler.hasListeners()) {
+      SymTableEntry variableId = (SymTableEntry) variableNode.getAttribute(ID);
+      sendMessage(node, variableId.getName(), expressionExecutor.execute(variableNode));
+    }
 
     ++executionCount;
     return null;
@@ -11,6 +11,9 @@ import java.util.ArrayList;
  * <p>Executes compound statements.</p>
  */
 public class CompoundExecutor extends StatementExecutor {
+
+  private final StatementExecutor statementExecutor;
+
   /**
    * Constructor.
    *
@@ -18,6 +21,7 @@ public class CompoundExecutor extends StatementExecutor {
    */
   public CompoundExecutor(Executor parent) {
     super(parent);
+    this.statementExecutor = new StatementExecutor(this);
   }
 
   /**
@@ -28,11 +32,10 @@ public class CompoundExecutor extends StatementExecutor {
    */
   @Override
   public Object execute(ICodeNode node) {
-    // Loop over the children of the COMPOUND node and execute each child.
-    StatementExecutor statementExecutor = new StatementExecutor(this);
+    // Loop over the children of the COMPOUND node and execute each child, by index so that no iterator is allocated.
     ArrayList<ICodeNode> children = node.getChildren();
-    for (ICodeNode child : children) {
-      statementExecutor.execute(child);
+    for (int i = 0; i < children.size(); ++i) {
+      statementExecutor.execute(children.get(i));
     }
 
     return null;
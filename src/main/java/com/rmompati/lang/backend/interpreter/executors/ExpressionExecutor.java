@@ -1,8 +1,9 @@
 package com.rmompati.lang.backend.interpreter.executors;
 
+import com.rmompati.lang.backend.interpreter.ActivationRecord;
 import com.rmompati.lang.backend.interpreter.Executor;
+import com.rmompati.lang.backend.interpreter.ValueType;
 import com.rmompati.lang.intermediate.ICodeNode;
-import com.rmompati.lang.intermediate.SymTableEntry;
 import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
 
 import java.util.ArrayList;
@@ -10,10 +11,8 @@ import java.util.EnumSet;
 import java.util.List;
 
 import static com.rmompati.lang.backend.interpreter.RuntimeErrorCode.DIVISION_BY_ZERO;
-import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.ID;
 import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.VALUE;
 import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.*;
-import static com.rmompati.lang.intermediate.symtableimpl.SymTableKeyImpl.DATA_VALUE;
 
 /**
  * <h1>ExpressionExecutor</h1>
@@ -48,9 +47,17 @@ public class ExpressionExecutor extends StatementExecutor {
 
     switch (nodeType) {
       case VARIABLE: {
-        // Get the variable's symbol table entry, and it's value.
-        SymTableEntry entry = (SymTableEntry) node.getAttribute(ID);
-        return entry.getAttribute(DATA_VALUE);
+        // Get the variable's value from the slot of its activation record, boxing it if it is unboxed there.
+        ActivationRecord record = runtimeStack.getRecord(scopeResolver.getLevel(node));
+        int slot = scopeResolver.getSlot(node);
+        if (!record.isUnboxed(slot)) {
+          return record.get(slot);
+        }
+        switch (typeResolver.getType(node)) {
+          case INTEGER: return record.getInt(slot);
+          case REAL: return record.getFloat(slot);
+          default: return record.getBoolean(slot);
+        }
       }
       case INTEGER_CONSTANT: {
         // Return the integer value
@@ -89,6 +96,181 @@ public class ExpressionExecutor extends StatementExecutor {
     }
   }
 
+  /**
+   * Test if an expression is a variable that holds no unboxed value, such as a variable that was never assigned. The
+   * value of such a variable is null, which only the generic evaluation can copy into another variable.
+   *
+   * @param node the root node of the expression.
+   * @return true if it is such a variable.
+   */
+  public boolean isBoxedVariable(ICodeNode node) {
+    return (node.getType() == VARIABLE)
+           && !runtimeStack.getRecord(scopeResolver.getLevel(node)).isUnboxed(scopeResolver.getSlot(node));
+  }
+
+  /**
+   * Evaluate an expression of the static type INTEGER without boxing.
+   *
+   * @param node the root node of the expression.
+   * @return the value of the expression.
+   */
+  public int evalInt(ICodeNode node) {
+    switch ((ICodeNodeTypeImpl) node.getType()) {
+      case VARIABLE: {
+        // A variable that holds no unboxed value, such as one that was never assigned, is read as an Object.
+        ActivationRecord record = runtimeStack.getRecord(scopeResolver.getLevel(node));
+        int slot = scopeResolver.getSlot(node);
+        return record.isUnboxed(slot) ? record.getInt(slot) : (Integer) execute(node);
+      }
+      case INTEGER_CONSTANT:
+        return (Integer) node.getAttribute(VALUE);
+      case NEGATE:
+        return -evalInt(node.getChildren().get(0));
+      case ADD: {
+        List<ICodeNode> children = node.getChildren();
+        return evalInt(children.get(0)) + evalInt(children.get(1));
+      }
+      case SUBTRACT: {
+        List<ICodeNode> children = node.getChildren();
+        return evalInt(children.get(0)) - evalInt(children.get(1));
+      }
+      case MULTIPLY: {
+        List<ICodeNode> children = node.getChildren();
+        return evalInt(children.get(0)) * evalInt(children.get(1));
+      }
+      default:
+        return (Integer) execute(node);
+    }
+  }
+
+  /**
+   * Evaluate an expression of the static type INTEGER or REAL without boxing.
+   *
+   * @param node the root node of the expression.
+   * @return the value of the expression, converted to a float if it is an integer.
+   */
+  public float evalFloat(ICodeNode node) {
+    if (typeResolver.getType(node) == ValueType.INTEGER) {
+      return evalInt(node);
+    }
+
+    switch ((ICodeNodeTypeImpl) node.getType()) {
+      case VARIABLE: {
+        // A variable that holds no unboxed value, such as one that was never assigned, is read as an Object.
+        ActivationRecord record = runtimeStack.getRecord(scopeResolver.getLevel(node));
+        int slot = scopeResolver.getSlot(node);
+        return record.isUnboxed(slot) ? record.getFloat(slot) : (Float) execute(node);
+      }
+      case REAL_CONSTANT:
+        return (Float) node.getAttribute(VALUE);
+      case NEGATE:
+        return -evalFloat(node.getChildren().get(0));
+      case ADD: {
+        List<ICodeNode> children = node.getChildren();
+        return evalFloat(children.get(0)) + evalFloat(children.get(1));
+      }
+      case SUBTRACT: {
+        List<ICodeNode> children = node.getChildren();
+        return evalFloat(children.get(0)) - evalFloat(children.get(1));
+      }
+      case MULTIPLY: {
+        List<ICodeNode> children = node.getChildren();
+        return evalFloat(children.get(0)) * evalFloat(children.get(1));
+      }
+      case FLOAT_DIVIDE: {
+        List<ICodeNode> children = node.getChildren();
+        float value1 = evalFloat(children.get(0));
+        float value2 = evalFloat(children.get(1));
+
+        // Check division by zero
+        if (value2 != 0.0f) {
+          return value1 / value2;
+        } else {
+          errorHandler.flag(node, DIVISION_BY_ZERO, this);
+          return 0.0f;
+        }
+      }
+      default:
+        return (Float) execute(node);
+    }
+  }
+
+  /**
+   * Evaluate an expression of the static type BOOLEAN without boxing.
+   *
+   * @param node the root node of the expression.
+   * @return the value of the expression.
+   */
+  public boolean evalBoolean(ICodeNode node) {
+    ICodeNodeTypeImpl nodeType = (ICodeNodeTypeImpl) node.getType();
+    switch (nodeType) {
+      case VARIABLE: {
+        // A variable that holds no unboxed value, such as one that was never assigned, is read as an Object.
+        ActivationRecord record = runtimeStack.getRecord(scopeResolver.getLevel(node));
+        int slot = scopeResolver.getSlot(node);
+        return record.isUnboxed(slot) ? record.getBoolean(slot) : (Boolean) execute(node);
+      }
+      case NOT:
+        return !evalBoolean(node.getChildren().get(0));
+      case AND:
+      case OR: {
+        // Both operands are evaluated, as in the generic evaluation.
+        List<ICodeNode> children = node.getChildren();
+        boolean value1 = evalBoolean(children.get(0));
+        boolean value2 = evalBoolean(children.get(1));
+        return (nodeType == AND) ? value1 && value2 : value1 || value2;
+      }
+      case EQ:
+      case NE:
+      case LT:
+      case LE:
+      case GT:
+      case GE:
+        return evalComparison(node, nodeType);
+      default:
+        return (Boolean) execute(node);
+    }
+  }
+
+  /**
+   * Evaluate a comparison of two operands of the static types INTEGER or REAL without boxing.
+   * @param node the root node of the expression.
+   * @param nodeType the node type.
+   * @return the value of the comparison.
+   */
+  private boolean evalComparison(ICodeNode node, ICodeNodeTypeImpl nodeType) {
+    List<ICodeNode> children = node.getChildren();
+    ICodeNode operandNode1 = children.get(0);
+    ICodeNode operandNode2 = children.get(1);
+
+    if ((typeResolver.getType(operandNode1) == ValueType.INTEGER)
+        && (typeResolver.getType(operandNode2) == ValueType.INTEGER)) {
+      int value1 = evalInt(operandNode1);
+      int value2 = evalInt(operandNode2);
+
+      switch (nodeType) {
+        case EQ: return value1 == value2;
+        case NE: return value1 != value2;
+        case LT: return value1 < value2;
+        case LE: return value1 <= value2;
+        case GT: return value1 > value2;
+        default: return value1 >= value2;
+      }
+    } else {
+      float value1 = evalFloat(operandNode1);
+      float value2 = evalFloat(operandNode2);
+
+      switch (nodeType) {
+        case EQ: return value1 == value2;
+        case NE: return value1 != value2;
+        case LT: return value1 < value2;
+        case LE: return value1 <= value2;
+        case GT: return value1 > value2;
+        default: return value1 >= value2;
+      }
+    }
+  }
+
   /**
    * Execute a binary operator.
    * @param node the root node of the expression.
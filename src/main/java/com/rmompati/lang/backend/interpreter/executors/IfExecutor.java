@@ -1,6 +1,7 @@
 package com.rmompati.lang.backend.interpreter.executors;
 
 import com.rmompati.lang.backend.interpreter.Executor;
+import com.rmompati.lang.backend.interpreter.ValueType;
 import com.rmompati.lang.intermediate.ICodeNode;
 
 import java.util.List;
@@ -12,6 +13,9 @@ import java.util.List;
  */
 public class IfExecutor extends StatementExecutor {
 
+  private final ExpressionExecutor expressionExecutor;
+  private final StatementExecutor statementExecutor;
+
   /**
    * Constructor.
    *
@@ -19,6 +23,8 @@ public class IfExecutor extends StatementExecutor {
    */
   public IfExecutor(Executor parent) {
     super(parent);
+    this.expressionExecutor = new ExpressionExecutor(this);
+    this.statementExecutor = new StatementExecutor(this);
   }
 
   /**
@@ -35,11 +41,9 @@ public class IfExecutor extends StatementExecutor {
     ICodeNode thenStmtNode = children.get(1);
     ICodeNode elseStmtNode = children.size() > 2 ? children.get(2) : null;
 
-    ExpressionExecutor expressionExecutor = new ExpressionExecutor(this);
-    StatementExecutor statementExecutor = new StatementExecutor(this);
-
     // Evaluate the expression to determine which statement to execute.
-    boolean b = (Boolean) expressionExecutor.execute(exprNode);
+    boolean b = (typeResolver.getType(exprNode) == ValueType.BOOLEAN) ? expressionExecutor.evalBoolean(exprNode)
+                                                                      : (Boolean) expressionExecutor.execute(exprNode);
     if (b) {
       statementExecutor.execute(thenStmtNode);
     } else if (elseStmtNode != null) {
@@ -1,6 +1,7 @@
 package com.rmompati.lang.backend.interpreter.executors;
 
 import com.rmompati.lang.backend.interpreter.Executor;
+import com.rmompati.lang.backend.interpreter.ValueType;
 import com.rmompati.lang.intermediate.ICodeNode;
 import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
 
@@ -15,6 +16,9 @@ import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.TEST;
  */
 public class LoopExecutor extends StatementExecutor {
 
+  private final ExpressionExecutor expressionExecutor;
+  private final StatementExecutor statementExecutor;
+
   /**
    * Constructor.
    *
@@ -22,6 +26,8 @@ public class LoopExecutor extends StatementExecutor {
    */
   public LoopExecutor(Executor parent) {
     super(parent);
+    this.expressionExecutor = new ExpressionExecutor(this);
+    this.statementExecutor = new StatementExecutor(this);
   }
 
   /**
@@ -34,25 +40,26 @@ public class LoopExecutor extends StatementExecutor {
   public Object execute(ICodeNode node) {
     boolean exitLoop = false;
     ICodeNode exprNode = null;
+    boolean booleanTest = false;
     List<ICodeNode> loopChildren = node.getChildren();
 
-    ExpressionExecutor expressionExecutor = new ExpressionExecutor(this);
-    StatementExecutor statementExecutor = new StatementExecutor(this);
-
     // Loop until the "TEST" value is true.
     while (!exitLoop) {
       ++executionCount;
 
-      // Execute the children of the loop.
-      for (ICodeNode child : loopChildren) {
+      // Execute the children of the loop, by index so that no iterator is allocated.
+      for (int i = 0; i < loopChildren.size(); ++i) {
+        ICodeNode child = loopChildren.get(i);
         ICodeNodeTypeImpl childType = (ICodeNodeTypeImpl) child.getType();
 
         // TEST node?
         if (childType == TEST) {
           if (exprNode == null) {
             exprNode = child.getChildren().get(0);
+            booleanTest = typeResolver.getType(exprNode) == ValueType.BOOLEAN;
           }
-          exitLoop = (Boolean) expressionExecutor.execute(exprNode);
+          exitLoop = booleanTest ? expressionExecutor.evalBoolean(exprNode)
+                                 : (Boolean) expressionExecutor.execute(exprNode);
         } else {
           statementExecutor.execute(child);
         }
@@ -2,6 +2,7 @@ package com.rmompati.lang.backend.interpreter.executors;
 
 import com.rmompati.lang.backend.interpreter.Executor;
 import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.NodeTable;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -15,8 +16,11 @@ import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.VALUE;
  */
 public class SelectExecutor extends StatementExecutor {
 
-  private static HashMap<ICodeNode, HashMap<Object, ICodeNode>> jumpCache =
-      new HashMap<>();
+  // The jump tables of the "SELECT" nodes of the intermediate code being executed.
+  private static NodeTable<HashMap<Object, ICodeNode>> jumpCache = null;
+
+  private final ExpressionExecutor expressionExecutor;
+  private final StatementExecutor statementExecutor;
 
   /**
    * Constructor.
@@ -25,6 +29,8 @@ public class SelectExecutor extends StatementExecutor {
    */
   public SelectExecutor(Executor parent) {
     super(parent);
+    this.expressionExecutor = new ExpressionExecutor(this);
+    this.statementExecutor = new StatementExecutor(this);
   }
 
   /**
@@ -35,11 +41,14 @@ public class SelectExecutor extends StatementExecutor {
    */
   @Override
   public Object execute(ICodeNode node) {
-    HashMap<Object, ICodeNode> jumpTable =
-        jumpCache.get(node);
+    if ((jumpCache == null) || (jumpCache.getICode() != iCode)) {
+      jumpCache = new NodeTable<>(iCode);
+    }
+
+    HashMap<Object, ICodeNode> jumpTable = jumpCache.get(node);
     if (jumpTable == null) {
       jumpTable = createJumpTable(node);
-      jumpCache.put(node, jumpTable);
+      jumpCache.set(node, jumpTable);
     }
 
     // Get the "SELECT" node's children.
@@ -47,13 +56,11 @@ public class SelectExecutor extends StatementExecutor {
     ICodeNode exprNode = selectChildren.get(0);
 
     // Evaluate the "SELECT" expression.
-    ExpressionExecutor expressionExecutor = new ExpressionExecutor(this);
     Object selectValue = expressionExecutor.execute(exprNode);
 
     // If there is a selection, execute the SELECT_BRANCH's statement.
     ICodeNode statementNode = jumpTable.get(selectValue);
     if (statementNode != null) {
-      StatementExecutor statementExecutor = new StatementExecutor(this);
       statementExecutor.execute(statementNode);
     }
 
@@ -15,6 +15,14 @@ import static com.rmompati.lang.message.MessageType.SOURCE_LINE;
  * <p>The statement executor.</p>*/
 public class StatementExecutor extends Executor {
 
+  // The executors of the kinds of statements, created when first needed and reused for the later statements. They keep
+  // no state between statements.
+  private CompoundExecutor compoundExecutor;
+  private AssignmentExecutor assignmentExecutor;
+  private LoopExecutor loopExecutor;
+  private IfExecutor ifExecutor;
+  private SelectExecutor selectExecutor;
+
   /**
    * Constructor for subclasses.
    *
@@ -39,23 +47,33 @@ public class StatementExecutor extends Executor {
 
     switch (nodeType) {
       case COMPOUND: {
-        CompoundExecutor compoundExecutor = new CompoundExecutor(this);
+        if (compoundExecutor == null) {
+          compoundExecutor = new CompoundExecutor(this);
+        }
         return compoundExecutor.execute(node);
       }
       case ASSIGN: {
-        AssignmentExecutor assignmentExecutor = new AssignmentExecutor(this);
+        if (assignmentExecutor == null) {
+          assignmentExecutor = new AssignmentExecutor(this);
+        }
         return assignmentExecutor.execute(node);
       }
       case LOOP: {
-        LoopExecutor loopExecutor = new LoopExecutor(this);
+        if (loopExecutor == null) {
+          loopExecutor = new LoopExecutor(this);
+        }
         return loopExecutor.execute(node);
       }
       case IF: {
-        IfExecutor ifExecutor = new IfExecutor(this);
+        if (ifExecutor == null) {
+          ifExecutor = new IfExecutor(this);
+        }
         return ifExecutor.execute(node);
       }
       case SELECT: {
-        SelectExecutor selectExecutor = new SelectExecutor(this);
+        if (selectExecutor == null) {
+          selectExecutor = new SelectExecutor(this);
+        }
         return selectExecutor.execute(node);
       }
       case NO_OP: return null;
@@ -70,7 +88,7 @@ public class StatementExecutor extends Executor {
     Object lineNumber = node.getAttribute(LINE);
 
     // Send the SOURCE_LINE message.
-    if (lineNumber != null) {
+    if ((lineNumber != null) && messageHandler.hasListeners()) {
       sendMessage(new Message(SOURCE_LINE, lineNumber));
     }
   }
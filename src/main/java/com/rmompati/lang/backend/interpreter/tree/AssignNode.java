@@ -0,0 +1,65 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.backend.interpreter.ValueType;
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.SymTableEntry;
+import com.rmompati.lang.message.Message;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.ID;
+import static com.rmompati.lang.message.MessageType.ASSIGN;
+
+/**
+ * <h1>AssignNode</h1>
+ *
+ * <p>Executes an assignment statement. The value of a variable of a static primitive type is computed and stored
+ * unboxed, unless it is copied from a variable that holds no unboxed value.</p>
+ */
+public class AssignNode extends StatementNode {
+
+  private final VariableNode variable;
+  private final ExpressionNode expression;
+  private final String variableName;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the ASSIGN node.
+   * @param variable the target variable.
+   * @param expression the expression.
+   */
+  public AssignNode(TreeExecutor executor, ICodeNode iCodeNode, VariableNode variable, ExpressionNode expression) {
+    super(executor, iCodeNode);
+    this.variable = variable;
+    this.expression = expression;
+    this.variableName = ((SymTableEntry) variable.iCodeNode.getAttribute(ID)).getName();
+  }
+
+  @Override
+  protected void executeStatement() {
+    // A variable that holds no unboxed value, such as one that was never assigned, is copied as an Object.
+    ValueType type = ((expression instanceof VariableNode) && !((VariableNode) expression).isUnboxed())
+                     ? ValueType.DYNAMIC : variable.getType();
+    switch (type) {
+      case INTEGER:
+        variable.setInt(expression.executeInt());
+        break;
+      case REAL:
+        variable.setFloat(expression.executeFloat());
+        break;
+      case BOOLEAN:
+        variable.setBoolean(expression.executeBoolean());
+        break;
+      default:
+        variable.set(expression.execute());
+        break;
+    }
+
+    // Send an ASSIGN message.
+    if ((lineNumber != null) && executor.hasListeners()) {
+      executor.sendMessage(new Message(ASSIGN, new Object[]{lineNumber, variableName, variable.execute()}));
+    }
+
+    executor.countExecution();
+  }
+}
@@ -0,0 +1,165 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
+
+import static com.rmompati.lang.backend.interpreter.RuntimeErrorCode.DIVISION_BY_ZERO;
+
+/**
+ * <h1>BinaryOperatorNode</h1>
+ *
+ * <p>Evaluates an arithmetic or relational operator whose operands are not of known static types, checking the types
+ * of the operand values as {@link com.rmompati.lang.backend.interpreter.executors.ExpressionExecutor} does.</p>
+ */
+public class BinaryOperatorNode extends ExpressionNode {
+
+  private final ICodeNodeTypeImpl operator;
+  private final ExpressionNode operand1;
+  private final ExpressionNode operand2;
+  private final boolean arithmetic;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the operator node.
+   * @param operand1 the first operand.
+   * @param operand2 the second operand.
+   */
+  public BinaryOperatorNode(TreeExecutor executor, ICodeNode iCodeNode, ExpressionNode operand1,
+                            ExpressionNode operand2) {
+    super(executor, iCodeNode);
+    this.operator = (ICodeNodeTypeImpl) iCodeNode.getType();
+    this.operand1 = operand1;
+    this.operand2 = operand2;
+
+    switch (operator) {
+      case ADD:
+      case SUBTRACT:
+      case MULTIPLY:
+      case FLOAT_DIVIDE:
+      case INTEGER_DIVIDE:
+        this.arithmetic = true;
+        break;
+      default:
+        this.arithmetic = false;  // A relational operator, or MOD.
+    }
+  }
+
+  @Override
+  public Object execute() {
+    return evaluate(operand1.execute(), operand2.execute());
+  }
+
+  /**
+   * Evaluate the operator on the values of its operands.
+   *
+   * @param value1 the value of the first operand.
+   * @param value2 the value of the second operand.
+   * @return the value of the operator.
+   */
+  Object evaluate(Object value1, Object value2) {
+    if ((value1 instanceof Integer) && (value2 instanceof Integer)) {
+      return evaluateIntegers((Integer) value1, (Integer) value2);
+    } else {
+      return evaluateFloats(toFloat(value1), toFloat(value2));
+    }
+  }
+
+  /**
+   * Evaluate the operator on two integer operands.
+   *
+   * @param value1 the value of the first operand.
+   * @param value2 the value of the second operand.
+   * @return the value of the operator.
+   */
+  Object evaluateIntegers(int value1, int value2) {
+    return arithmetic ? executeInteger(value1, value2) : compare(Integer.compare(value1, value2));
+  }
+
+  /**
+   * Evaluate the operator on two operands that are not both integers, converted to floats.
+   *
+   * @param value1 the value of the first operand.
+   * @param value2 the value of the second operand.
+   * @return the value of the operator.
+   */
+  Object evaluateFloats(float value1, float value2) {
+    return arithmetic ? executeFloat(value1, value2) : compare(value1, value2);
+  }
+
+  /**
+   * Execute an arithmetic operator on two integers.
+   */
+  private Object executeInteger(int value1, int value2) {
+    switch (operator) {
+      case ADD: return value1 + value2;
+      case SUBTRACT: return value1 - value2;
+      case MULTIPLY: return value1 * value2;
+      default: {
+        // Check division by zero
+        if (value2 != 0) {
+          return (((float) value1) / ((float) value2));
+        } else {
+          executor.flag(iCodeNode, DIVISION_BY_ZERO);
+          return 0;
+        }
+      }
+    }
+  }
+
+  /**
+   * Execute an arithmetic operator on two numbers that are not both integers.
+   */
+  private Object executeFloat(float value1, float value2) {
+    switch (operator) {
+      case ADD: return value1 + value2;
+      case SUBTRACT: return value1 - value2;
+      case MULTIPLY: return value1 * value2;
+      case FLOAT_DIVIDE: {
+        // Check division by zero
+        if (value2 != 0.0f) {
+          return value1 / value2;
+        } else {
+          executor.flag(iCodeNode, DIVISION_BY_ZERO);
+          return 0.0f;
+        }
+      }
+      default: return null;
+    }
+  }
+
+  /**
+   * Execute a relational operator on two integers, given the sign of their comparison.
+   */
+  private Object compare(int comparison) {
+    switch (operator) {
+      case EQ: return comparison == 0;
+      case NE: return comparison != 0;
+      case LT: return comparison < 0;
+      case LE: return comparison <= 0;
+      case GT: return comparison > 0;
+      case GE: return comparison >= 0;
+      default: return 0; // MOD evaluates to 0, as in ExpressionExecutor.
+    }
+  }
+
+  /**
+   * Execute a relational operator on two floats.
+   */
+  private Object compare(float value1, float value2) {
+    switch (operator) {
+      case EQ: return value1 == value2;
+      case NE: return value1 != value2;
+      case LT: return value1 < value2;
+      case LE: return value1 <= value2;
+      case GT: return value1 > value2;
+      case GE: return value1 >= value2;
+      default: return 0; // MOD evaluates to 0, as in ExpressionExecutor.
+    }
+  }
+
+  private static float toFloat(Object value) {
+    return (value instanceof Integer) ? (Integer) value : (Float) value;
+  }
+}
@@ -0,0 +1,70 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
+
+/**
+ * <h1>ComparisonNode</h1>
+ *
+ * <p>Evaluates a comparison of two expressions of the static types INTEGER or REAL. The operands are compared as
+ * integers if both are integers, and as floats otherwise.</p>
+ */
+public class ComparisonNode extends ExpressionNode {
+
+  private final ICodeNodeTypeImpl operator;
+  private final ExpressionNode operand1;
+  private final ExpressionNode operand2;
+  private final boolean integerMode;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the operator node.
+   * @param operand1 the first operand.
+   * @param operand2 the second operand.
+   * @param integerMode true if both operands are of the static type INTEGER.
+   */
+  public ComparisonNode(TreeExecutor executor, ICodeNode iCodeNode, ExpressionNode operand1, ExpressionNode operand2,
+                        boolean integerMode) {
+    super(executor, iCodeNode);
+    this.operator = (ICodeNodeTypeImpl) iCodeNode.getType();
+    this.operand1 = operand1;
+    this.operand2 = operand2;
+    this.integerMode = integerMode;
+  }
+
+  @Override
+  public Object execute() {
+    return executeBoolean();
+  }
+
+  @Override
+  public boolean executeBoolean() {
+    if (integerMode) {
+      int value1 = operand1.executeInt();
+      int value2 = operand2.executeInt();
+
+      switch (operator) {
+        case EQ: return value1 == value2;
+        case NE: return value1 != value2;
+        case LT: return value1 < value2;
+        case LE: return value1 <= value2;
+        case GT: return value1 > value2;
+        default: return value1 >= value2;
+      }
+    } else {
+      float value1 = operand1.executeFloat();
+      float value2 = operand2.executeFloat();
+
+      switch (operator) {
+        case EQ: return value1 == value2;
+        case NE: return value1 != value2;
+        case LT: return value1 < value2;
+        case LE: return value1 <= value2;
+        case GT: return value1 > value2;
+        default: return value1 >= value2;
+      }
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+
+/**
+ * <h1>CompoundNode</h1>
+ *
+ * <p>Executes a compound statement.</p>
+ */
+public class CompoundNode extends StatementNode {
+
+  private final StatementNode[] statements;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the COMPOUND node.
+   * @param statements the statements of the compound statement.
+   */
+  public CompoundNode(TreeExecutor executor, ICodeNode iCodeNode, StatementNode[] statements) {
+    super(executor, iCodeNode);
+    this.statements = statements;
+  }
+
+  @Override
+  protected void executeStatement() {
+    for (StatementNode statement : statements) {
+      statement.execute();
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.VALUE;
+
+/**
+ * <h1>ConstantNode</h1>
+ *
+ * <p>Evaluates an integer, real or string constant.</p>
+ */
+public class ConstantNode extends ExpressionNode {
+
+  private final Object value;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the constant node.
+   */
+  public ConstantNode(TreeExecutor executor, ICodeNode iCodeNode) {
+    super(executor, iCodeNode);
+    this.value = iCodeNode.getAttribute(VALUE);
+  }
+
+  @Override
+  public Object execute() {
+    return value;
+  }
+}
@@ -0,0 +1,151 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.backend.interpreter.ValueType;
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import static com.rmompati.lang.backend.interpreter.RuntimeErrorCode.UNIMPLEMENTED_FEATURE;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.VALUE;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.TEST;
+
+/**
+ * <h1>ExecutionTreeBuilder</h1>
+ *
+ * <p>Builds the execution tree of intermediate code. The children, the constants and the variable addresses of each
+ * node are looked up once here, and the operators of the expressions of static primitive types are built as nodes that
+ * evaluate them unboxed. The other operators are built as nodes that check the types of the operand values, or as
+ * nodes that specialize themselves to them if the executor is specializing.</p>
+ */
+public class ExecutionTreeBuilder {
+
+  private final TreeExecutor executor;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree, whose variables and types are resolved.
+   */
+  public ExecutionTreeBuilder(TreeExecutor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Builds the node of a statement.
+   *
+   * @param node the root node of the statement.
+   * @return the statement node.
+   */
+  public StatementNode buildStatement(ICodeNode node) {
+    ArrayList<ICodeNode> children = node.getChildren();
+
+    switch ((ICodeNodeTypeImpl) node.getType()) {
+      case COMPOUND: {
+        StatementNode[] statements = new StatementNode[children.size()];
+        for (int i = 0; i < statements.length; ++i) {
+          statements[i] = buildStatement(children.get(i));
+        }
+        return new CompoundNode(executor, node, statements);
+      }
+      case ASSIGN: {
+        VariableNode variable = new VariableNode(executor, children.get(0));
+        return new AssignNode(executor, node, variable, buildExpression(children.get(1)));
+      }
+      case LOOP: {
+        StatementNode[] statements = new StatementNode[children.size()];
+        ExpressionNode[] tests = new ExpressionNode[children.size()];
+        for (int i = 0; i < statements.length; ++i) {
+          ICodeNode child = children.get(i);
+          if (child.getType() == TEST) {
+            tests[i] = buildExpression(child.getChildren().get(0));
+          } else {
+            statements[i] = buildStatement(child);
+          }
+        }
+        return new LoopNode(executor, node, statements, tests);
+      }
+      case IF: {
+        StatementNode elseStatement = (children.size() > 2) ? buildStatement(children.get(2)) : null;
+        return new IfNode(executor, node, buildExpression(children.get(0)), buildStatement(children.get(1)),
+                          elseStatement);
+      }
+      case SELECT: {
+        // The jump table from the constants of each SELECT_BRANCH to its statement.
+        HashMap<Object, StatementNode> jumpTable = new HashMap<>();
+        for (int i = 1; i < children.size(); ++i) {
+          ICodeNode branchNode = children.get(i);
+          ICodeNode constantsNode = branchNode.getChildren().get(0);
+          StatementNode statement = buildStatement(branchNode.getChildren().get(1));
+
+          for (ICodeNode constantNode : constantsNode.getChildren()) {
+            jumpTable.put(constantNode.getAttribute(VALUE), statement);
+          }
+        }
+        return new SelectNode(executor, node, buildExpression(children.get(0)), jumpTable);
+      }
+      case NO_OP:
+        return new NoOpNode(executor, node, null);
+      default:
+        return new NoOpNode(executor, node, UNIMPLEMENTED_FEATURE);
+    }
+  }
+
+  /**
+   * Builds the node of an expression.
+   *
+   * @param node the root node of the expression.
+   * @return the expression node.
+   */
+  public ExpressionNode buildExpression(ICodeNode node) {
+    ICodeNodeTypeImpl nodeType = (ICodeNodeTypeImpl) node.getType();
+    ArrayList<ICodeNode> children = node.getChildren();
+
+    switch (nodeType) {
+      case VARIABLE:
+        return new VariableNode(executor, node);
+      case INTEGER_CONSTANT:
+      case REAL_CONSTANT:
+      case STRING_CONSTANT:
+        return new ConstantNode(executor, node);
+      case NEGATE:
+        return new NegateNode(executor, node, buildExpression(children.get(0)));
+      case NOT:
+        return new NotNode(executor, node, buildExpression(children.get(0)));
+      case AND:
+      case OR:
+        return new LogicalNode(executor, node, buildExpression(children.get(0)), buildExpression(children.get(1)));
+      default:
+        return buildBinaryOperator(node, children);
+    }
+  }
+
+  /**
+   * Builds the node of an arithmetic or relational operator, typed by the static types of the operator and of its
+   * operands.
+   *
+   * @param node the operator node.
+   * @param children the operand nodes.
+   * @return the expression node.
+   */
+  private ExpressionNode buildBinaryOperator(ICodeNode node, ArrayList<ICodeNode> children) {
+    ExpressionNode operand1 = buildExpression(children.get(0));
+    ExpressionNode operand2 = buildExpression(children.get(1));
+
+    switch (executor.getType(node)) {
+      case INTEGER:
+        return new IntArithmeticNode(executor, node, operand1, operand2);
+      case REAL:
+        return new FloatArithmeticNode(executor, node, operand1, operand2);
+      case BOOLEAN: {
+        boolean integerMode = (executor.getType(children.get(0)) == ValueType.INTEGER)
+                              && (executor.getType(children.get(1)) == ValueType.INTEGER);
+        return new ComparisonNode(executor, node, operand1, operand2, integerMode);
+      }
+      default:
+        return executor.isSpecializing() ? new SpecializingNode(executor, node, operand1, operand2)
+                                         : new BinaryOperatorNode(executor, node, operand1, operand2);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+
+/**
+ * <h1>ExpressionNode</h1>
+ *
+ * <p>An expression node of the execution tree. An expression of a static primitive type is evaluated without boxing
+ * through the typed execute methods, which the nodes of that type override. The default typed methods unbox the value
+ * of {@link #execute()}.</p>
+ *
+ * <p>The speculative execute methods are for callers that do not know the type statically, but expect one: they return
+ * the value unboxed if it is of the expected type, and throw an {@link UnexpectedResultException} with the value
+ * otherwise.</p>
+ */
+public abstract class ExpressionNode {
+
+  /** The executor that runs the tree. */
+  protected final TreeExecutor executor;
+  /** The intermediate code node of the expression. */
+  protected final ICodeNode iCodeNode;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the intermediate code node of the expression.
+   */
+  protected ExpressionNode(TreeExecutor executor, ICodeNode iCodeNode) {
+    this.executor = executor;
+    this.iCodeNode = iCodeNode;
+  }
+
+  /**
+   * Execute the expression.
+   *
+   * @return the value of the expression.
+   */
+  public abstract Object execute();
+
+  /**
+   * Execute an expression of the static type INTEGER.
+   *
+   * @return the value of the expression.
+   */
+  public int executeInt() {
+    return (Integer) execute();
+  }
+
+  /**
+   * Execute an expression of the static type INTEGER or REAL.
+   *
+   * @return the value of the expression, converted to a float if it is an integer.
+   */
+  public float executeFloat() {
+    Object value = execute();
+    return (value instanceof Integer) ? (Integer) value : (Float) value;
+  }
+
+  /**
+   * Execute an expression of the static type BOOLEAN.
+   *
+   * @return the value of the expression.
+   */
+  public boolean executeBoolean() {
+    return (Boolean) execute();
+  }
+
+  /**
+   * Execute an expression that is expected to be an integer.
+   *
+   * @return the value of the expression.
+   * @throws UnexpectedResultException if the value is not an integer.
+   */
+  public int speculateInt() throws UnexpectedResultException {
+    Object value = execute();
+    if (value instanceof Integer) {
+      return (Integer) value;
+    }
+    throw new UnexpectedResultException(value);
+  }
+
+  /**
+   * Execute an expression that is expected to be a float.
+   *
+   * @return the value of the expression.
+   * @throws UnexpectedResultException if the value is not a float.
+   */
+  public float speculateFloat() throws UnexpectedResultException {
+    Object value = execute();
+    if (value instanceof Float) {
+      return (Float) value;
+    }
+    throw new UnexpectedResultException(value);
+  }
+}
@@ -0,0 +1,66 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
+
+import static com.rmompati.lang.backend.interpreter.RuntimeErrorCode.DIVISION_BY_ZERO;
+
+/**
+ * <h1>FloatArithmeticNode</h1>
+ *
+ * <p>Evaluates an addition, a subtraction, a multiplication or a division of the static type REAL, whose operands are
+ * of the static types INTEGER or REAL.</p>
+ */
+public class FloatArithmeticNode extends ExpressionNode {
+
+  private final ICodeNodeTypeImpl operator;
+  private final ExpressionNode operand1;
+  private final ExpressionNode operand2;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the operator node.
+   * @param operand1 the first operand.
+   * @param operand2 the second operand.
+   */
+  public FloatArithmeticNode(TreeExecutor executor, ICodeNode iCodeNode, ExpressionNode operand1,
+                             ExpressionNode operand2) {
+    super(executor, iCodeNode);
+    this.operator = (ICodeNodeTypeImpl) iCodeNode.getType();
+    this.operand1 = operand1;
+    this.operand2 = operand2;
+  }
+
+  @Override
+  public Object execute() {
+    return executeFloat();
+  }
+
+  @Override
+  public float executeFloat() {
+    float value1 = operand1.executeFloat();
+    float value2 = operand2.executeFloat();
+
+    switch (operator) {
+      case ADD: return value1 + value2;
+      case SUBTRACT: return value1 - value2;
+      case MULTIPLY: return value1 * value2;
+      default: {
+        // Check division by zero
+        if (value2 != 0.0f) {
+          return value1 / value2;
+        } else {
+          executor.flag(iCodeNode, DIVISION_BY_ZERO);
+          return 0.0f;
+        }
+      }
+    }
+  }
+
+  @Override
+  public float speculateFloat() {
+    return executeFloat();
+  }
+}
@@ -0,0 +1,43 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+
+/**
+ * <h1>IfNode</h1>
+ *
+ * <p>Executes an if statement.</p>
+ */
+public class IfNode extends StatementNode {
+
+  private final ExpressionNode condition;
+  private final StatementNode thenStatement;
+  private final StatementNode elseStatement;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the IF node.
+   * @param condition the condition.
+   * @param thenStatement the THEN statement.
+   * @param elseStatement the ELSE statement, or null.
+   */
+  public IfNode(TreeExecutor executor, ICodeNode iCodeNode, ExpressionNode condition, StatementNode thenStatement,
+                StatementNode elseStatement) {
+    super(executor, iCodeNode);
+    this.condition = condition;
+    this.thenStatement = thenStatement;
+    this.elseStatement = elseStatement;
+  }
+
+  @Override
+  protected void executeStatement() {
+    if (condition.executeBoolean()) {
+      thenStatement.execute();
+    } else if (elseStatement != null) {
+      elseStatement.execute();
+    }
+
+    executor.countExecution();
+  }
+}
@@ -0,0 +1,59 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
+
+/**
+ * <h1>IntArithmeticNode</h1>
+ *
+ * <p>Evaluates an addition, a subtraction or a multiplication of two expressions of the static type INTEGER.</p>
+ */
+public class IntArithmeticNode extends ExpressionNode {
+
+  private final ICodeNodeTypeImpl operator;
+  private final ExpressionNode operand1;
+  private final ExpressionNode operand2;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the operator node.
+   * @param operand1 the first operand.
+   * @param operand2 the second operand.
+   */
+  public IntArithmeticNode(TreeExecutor executor, ICodeNode iCodeNode, ExpressionNode operand1,
+                           ExpressionNode operand2) {
+    super(executor, iCodeNode);
+    this.operator = (ICodeNodeTypeImpl) iCodeNode.getType();
+    this.operand1 = operand1;
+    this.operand2 = operand2;
+  }
+
+  @Override
+  public Object execute() {
+    return executeInt();
+  }
+
+  @Override
+  public int executeInt() {
+    int value1 = operand1.executeInt();
+    int value2 = operand2.executeInt();
+
+    switch (operator) {
+      case ADD: return value1 + value2;
+      case SUBTRACT: return value1 - value2;
+      default: return value1 * value2;
+    }
+  }
+
+  @Override
+  public float executeFloat() {
+    return executeInt();
+  }
+
+  @Override
+  public int speculateInt() {
+    return executeInt();
+  }
+}
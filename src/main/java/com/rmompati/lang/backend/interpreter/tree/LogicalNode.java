@@ -0,0 +1,43 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
+
+/**
+ * <h1>LogicalNode</h1>
+ *
+ * <p>Evaluates the AND or the OR of two boolean expressions. Both operands are always evaluated.</p>
+ */
+public class LogicalNode extends ExpressionNode {
+
+  private final boolean and;
+  private final ExpressionNode operand1;
+  private final ExpressionNode operand2;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the AND or OR node.
+   * @param operand1 the first operand.
+   * @param operand2 the second operand.
+   */
+  public LogicalNode(TreeExecutor executor, ICodeNode iCodeNode, ExpressionNode operand1, ExpressionNode operand2) {
+    super(executor, iCodeNode);
+    this.and = iCodeNode.getType() == ICodeNodeTypeImpl.AND;
+    this.operand1 = operand1;
+    this.operand2 = operand2;
+  }
+
+  @Override
+  public Object execute() {
+    return executeBoolean();
+  }
+
+  @Override
+  public boolean executeBoolean() {
+    boolean value1 = operand1.executeBoolean();
+    boolean value2 = operand2.executeBoolean();
+    return and ? value1 && value2 : value1 || value2;
+  }
+}
@@ -0,0 +1,47 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+
+/**
+ * <h1>LoopNode</h1>
+ *
+ * <p>Executes a loop statement. The parts of the loop are its statements and its TEST expressions, in the order of the
+ * LOOP node's children, and the loop exits as soon as a TEST expression is true.</p>
+ */
+public class LoopNode extends StatementNode {
+
+  // The parts of the loop: at each index either a statement or a TEST expression.
+  private final StatementNode[] statements;
+  private final ExpressionNode[] tests;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the LOOP node.
+   * @param statements the statements of the parts, null for the TEST parts.
+   * @param tests the expressions of the TEST parts, null for the statement parts.
+   */
+  public LoopNode(TreeExecutor executor, ICodeNode iCodeNode, StatementNode[] statements, ExpressionNode[] tests) {
+    super(executor, iCodeNode);
+    this.statements = statements;
+    this.tests = tests;
+  }
+
+  @Override
+  protected void executeStatement() {
+    while (true) {
+      executor.countExecution();
+
+      for (int i = 0; i < statements.length; ++i) {
+        if (tests[i] != null) {
+          if (tests[i].executeBoolean()) {
+            return;
+          }
+        } else {
+          statements[i].execute();
+        }
+      }
+    }
+  }
+}
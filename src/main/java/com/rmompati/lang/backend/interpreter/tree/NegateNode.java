@@ -0,0 +1,54 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.backend.interpreter.ValueType;
+import com.rmompati.lang.intermediate.ICodeNode;
+
+/**
+ * <h1>NegateNode</h1>
+ *
+ * <p>Evaluates the negation of an integer or real expression.</p>
+ */
+public class NegateNode extends ExpressionNode {
+
+  private final ExpressionNode operand;
+  private final ValueType type;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the NEGATE node.
+   * @param operand the operand.
+   */
+  public NegateNode(TreeExecutor executor, ICodeNode iCodeNode, ExpressionNode operand) {
+    super(executor, iCodeNode);
+    this.operand = operand;
+    this.type = executor.getType(iCodeNode);
+  }
+
+  @Override
+  public Object execute() {
+    switch (type) {
+      case INTEGER: return executeInt();
+      case REAL: return executeFloat();
+      default: {
+        Object value = operand.execute();
+        if (value instanceof Integer) {
+          return -((Integer) value);
+        } else {
+          return -((Float) value);
+        }
+      }
+    }
+  }
+
+  @Override
+  public int executeInt() {
+    return -operand.executeInt();
+  }
+
+  @Override
+  public float executeFloat() {
+    return (type == ValueType.INTEGER) ? executeInt() : -operand.executeFloat();
+  }
+}
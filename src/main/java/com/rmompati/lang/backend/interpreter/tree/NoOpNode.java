@@ -0,0 +1,33 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.backend.interpreter.RuntimeErrorCode;
+import com.rmompati.lang.intermediate.ICodeNode;
+
+/**
+ * <h1>NoOpNode</h1>
+ *
+ * <p>Executes an empty statement, or flags a runtime error for a statement the interpreter does not implement.</p>
+ */
+public class NoOpNode extends StatementNode {
+
+  private final RuntimeErrorCode errorCode;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the statement node.
+   * @param errorCode the runtime error to flag, or null for an empty statement.
+   */
+  public NoOpNode(TreeExecutor executor, ICodeNode iCodeNode, RuntimeErrorCode errorCode) {
+    super(executor, iCodeNode);
+    this.errorCode = errorCode;
+  }
+
+  @Override
+  protected void executeStatement() {
+    if (errorCode != null) {
+      executor.flag(iCodeNode, errorCode);
+    }
+  }
+}
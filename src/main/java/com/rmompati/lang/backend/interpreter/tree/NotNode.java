@@ -0,0 +1,35 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+
+/**
+ * <h1>NotNode</h1>
+ *
+ * <p>Evaluates the negation of a boolean expression.</p>
+ */
+public class NotNode extends ExpressionNode {
+
+  private final ExpressionNode operand;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the NOT node.
+   * @param operand the operand.
+   */
+  public NotNode(TreeExecutor executor, ICodeNode iCodeNode, ExpressionNode operand) {
+    super(executor, iCodeNode);
+    this.operand = operand;
+  }
+
+  @Override
+  public Object execute() {
+    return executeBoolean();
+  }
+
+  @Override
+  public boolean executeBoolean() {
+    return !operand.executeBoolean();
+  }
+}
@@ -0,0 +1,42 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+
+import java.util.HashMap;
+
+/**
+ * <h1>SelectNode</h1>
+ *
+ * <p>Executes a select statement through a jump table from the values of the branch constants to the branch
+ * statements.</p>
+ */
+public class SelectNode extends StatementNode {
+
+  private final ExpressionNode expression;
+  private final HashMap<Object, StatementNode> jumpTable;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the SELECT node.
+   * @param expression the select expression.
+   * @param jumpTable the jump table.
+   */
+  public SelectNode(TreeExecutor executor, ICodeNode iCodeNode, ExpressionNode expression,
+                    HashMap<Object, StatementNode> jumpTable) {
+    super(executor, iCodeNode);
+    this.expression = expression;
+    this.jumpTable = jumpTable;
+  }
+
+  @Override
+  protected void executeStatement() {
+    StatementNode statement = jumpTable.get(expression.execute());
+    if (statement != null) {
+      statement.execute();
+    }
+
+    executor.countExecution();
+  }
+}
@@ -0,0 +1,346 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
+
+import static com.rmompati.lang.backend.interpreter.RuntimeErrorCode.DIVISION_BY_ZERO;
+
+/**
+ * <h1>SpecializingNode</h1>
+ *
+ * <p>Evaluates an arithmetic or relational operator whose operands are not of known static types, by a specialization
+ * to the types of the operand values it has seen. The node starts uninitialized, and its first execution rewrites it to
+ * the specialization of the operand values: integer if both are integers, float if both are numbers, and generic
+ * otherwise. The integer and float specializations evaluate their operands speculatively, without checking the types
+ * of the values, and a speculation that fails respecializes the node to the values it got instead. After
+ * {@link #MAX_REWRITES} rewrites the node stays generic, and evaluates as {@link BinaryOperatorNode} does.</p>
+ *
+ * <p>The node holds its specialization and stands for it in the tree, so the parents of the node do not change when it
+ * is rewritten.</p>
+ */
+public class SpecializingNode extends ExpressionNode {
+  /** The number of rewrites of a node after which it stays generic. */
+  static final int MAX_REWRITES = 4;
+
+  private final ICodeNodeTypeImpl operator;
+  private final ExpressionNode operand1;
+  private final ExpressionNode operand2;
+  private final BinaryOperatorNode generic;
+
+  private Specialization specialization;
+  private int rewrites;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the operator node.
+   * @param operand1 the first operand.
+   * @param operand2 the second operand.
+   */
+  public SpecializingNode(TreeExecutor executor, ICodeNode iCodeNode, ExpressionNode operand1,
+                          ExpressionNode operand2) {
+    super(executor, iCodeNode);
+    this.operator = (ICodeNodeTypeImpl) iCodeNode.getType();
+    this.operand1 = operand1;
+    this.operand2 = operand2;
+    this.generic = new BinaryOperatorNode(executor, iCodeNode, operand1, operand2);
+    this.specialization = UNINITIALIZED;
+    this.rewrites = 0;
+  }
+
+  @Override
+  public Object execute() {
+    return specialization.execute(this);
+  }
+
+  @Override
+  public int speculateInt() throws UnexpectedResultException {
+    return specialization.speculateInt(this);
+  }
+
+  @Override
+  public float speculateFloat() throws UnexpectedResultException {
+    return specialization.speculateFloat(this);
+  }
+
+  /**
+   * Gets the name of the current specialization.
+   *
+   * @return the name.
+   */
+  public String getSpecializationName() {
+    return specialization.toString();
+  }
+
+  /**
+   * Rewrites the node to the specialization of the values of its operands, and evaluates the operator on them.
+   *
+   * @param value1 the value of the first operand.
+   * @param value2 the value of the second operand.
+   * @return the value of the operator.
+   */
+  private Object respecialize(Object value1, Object value2) {
+    specialization = (++rewrites < MAX_REWRITES) ? specializationOf(value1, value2) : GENERIC;
+    return generic.evaluate(value1, value2);
+  }
+
+  /**
+   * Gets the specialization of the values of the operands.
+   */
+  private static Specialization specializationOf(Object value1, Object value2) {
+    boolean integer1 = value1 instanceof Integer;
+    boolean integer2 = value2 instanceof Integer;
+
+    if (!(integer1 || (value1 instanceof Float)) || !(integer2 || (value2 instanceof Float))) {
+      return GENERIC;
+    } else if (integer1) {
+      return integer2 ? INTEGER : INTEGER_FLOAT;
+    } else {
+      return integer2 ? FLOAT_INTEGER : FLOAT;
+    }
+  }
+
+  /**
+   * Evaluate an operator that is ADD, SUBTRACT or MULTIPLY on two integers.
+   */
+  private int intArithmetic(int value1, int value2) {
+    switch (operator) {
+      case ADD: return value1 + value2;
+      case SUBTRACT: return value1 - value2;
+      default: return value1 * value2;
+    }
+  }
+
+  /**
+   * Evaluate an operator that is ADD, SUBTRACT, MULTIPLY or FLOAT_DIVIDE on two floats.
+   */
+  private float floatArithmetic(float value1, float value2) {
+    switch (operator) {
+      case ADD: return value1 + value2;
+      case SUBTRACT: return value1 - value2;
+      case MULTIPLY: return value1 * value2;
+      default: {
+        // Check division by zero
+        if (value2 != 0.0f) {
+          return value1 / value2;
+        } else {
+          executor.flag(iCodeNode, DIVISION_BY_ZERO);
+          return 0.0f;
+        }
+      }
+    }
+  }
+
+  /**
+   * Test if the value of the operator on two integers is an integer.
+   */
+  private boolean isIntArithmetic() {
+    return (operator == ICodeNodeTypeImpl.ADD) || (operator == ICodeNodeTypeImpl.SUBTRACT)
+           || (operator == ICodeNodeTypeImpl.MULTIPLY);
+  }
+
+  /**
+   * Test if the value of the operator on two numbers that are not both integers is a float.
+   */
+  private boolean isFloatArithmetic() {
+    return isIntArithmetic() || (operator == ICodeNodeTypeImpl.FLOAT_DIVIDE);
+  }
+
+  private static int expectInt(Object value) throws UnexpectedResultException {
+    if (value instanceof Integer) {
+      return (Integer) value;
+    }
+    throw new UnexpectedResultException(value);
+  }
+
+  private static float expectFloat(Object value) throws UnexpectedResultException {
+    if (value instanceof Float) {
+      return (Float) value;
+    }
+    throw new UnexpectedResultException(value);
+  }
+
+  private static final Specialization UNINITIALIZED = new Uninitialized();
+  private static final Specialization INTEGER = new IntSpecialization();
+  private static final Specialization INTEGER_FLOAT = new FloatSpecialization(true, false);
+  private static final Specialization FLOAT_INTEGER = new FloatSpecialization(false, true);
+  private static final Specialization FLOAT = new FloatSpecialization(false, false);
+  private static final Specialization GENERIC = new Generic();
+
+  /**
+   * The evaluation of the operator of a node for the types of the operand values it has seen.
+   */
+  private abstract static class Specialization {
+
+    abstract Object execute(SpecializingNode node);
+
+    int speculateInt(SpecializingNode node) throws UnexpectedResultException {
+      return expectInt(execute(node));
+    }
+
+    float speculateFloat(SpecializingNode node) throws UnexpectedResultException {
+      return expectFloat(execute(node));
+    }
+  }
+
+  /**
+   * The specialization of a node that has not been executed.
+   */
+  private static class Uninitialized extends Specialization {
+
+    @Override
+    Object execute(SpecializingNode node) {
+      Object value1 = node.operand1.execute();
+      Object value2 = node.operand2.execute();
+      return node.respecialize(value1, value2);
+    }
+
+    @Override
+    public String toString() {
+      return "uninitialized";
+    }
+  }
+
+  /**
+   * The specialization to two integer operands.
+   */
+  private static class IntSpecialization extends Specialization {
+
+    @Override
+    Object execute(SpecializingNode node) {
+      int value1;
+      try {
+        value1 = node.operand1.speculateInt();
+      } catch (UnexpectedResultException ex) {
+        return node.respecialize(ex.getResult(), node.operand2.execute());
+      }
+
+      int value2;
+      try {
+        value2 = node.operand2.speculateInt();
+      } catch (UnexpectedResultException ex) {
+        return node.respecialize(value1, ex.getResult());
+      }
+
+      return node.generic.evaluateIntegers(value1, value2);
+    }
+
+    @Override
+    int speculateInt(SpecializingNode node) throws UnexpectedResultException {
+      if (!node.isIntArithmetic()) {
+        return super.speculateInt(node);
+      }
+
+      int value1;
+      try {
+        value1 = node.operand1.speculateInt();
+      } catch (UnexpectedResultException ex) {
+        return expectInt(node.respecialize(ex.getResult(), node.operand2.execute()));
+      }
+
+      int value2;
+      try {
+        value2 = node.operand2.speculateInt();
+      } catch (UnexpectedResultException ex) {
+        return expectInt(node.respecialize(value1, ex.getResult()));
+      }
+
+      return node.intArithmetic(value1, value2);
+    }
+
+    @Override
+    public String toString() {
+      return "integer";
+    }
+  }
+
+  /**
+   * The specialization to two numeric operands that are not both integers. Each operand is speculated to be either an
+   * integer or a float, and an integer is converted.
+   */
+  private static class FloatSpecialization extends Specialization {
+    private final boolean integer1;
+    private final boolean integer2;
+
+    FloatSpecialization(boolean integer1, boolean integer2) {
+      this.integer1 = integer1;
+      this.integer2 = integer2;
+    }
+
+    @Override
+    Object execute(SpecializingNode node) {
+      int intValue1 = 0;
+      float value1;
+      try {
+        if (integer1) {
+          intValue1 = node.operand1.speculateInt();
+          value1 = intValue1;
+        } else {
+          value1 = node.operand1.speculateFloat();
+        }
+      } catch (UnexpectedResultException ex) {
+        return node.respecialize(ex.getResult(), node.operand2.execute());
+      }
+
+      float value2;
+      try {
+        value2 = integer2 ? node.operand2.speculateInt() : node.operand2.speculateFloat();
+      } catch (UnexpectedResultException ex) {
+        return node.respecialize(integer1 ? (Object) intValue1 : (Object) value1, ex.getResult());
+      }
+
+      return node.generic.evaluateFloats(value1, value2);
+    }
+
+    @Override
+    float speculateFloat(SpecializingNode node) throws UnexpectedResultException {
+      if (!node.isFloatArithmetic()) {
+        return super.speculateFloat(node);
+      }
+
+      int intValue1 = 0;
+      float value1;
+      try {
+        if (integer1) {
+          intValue1 = node.operand1.speculateInt();
+          value1 = intValue1;
+        } else {
+          value1 = node.operand1.speculateFloat();
+        }
+      } catch (UnexpectedResultException ex) {
+        return expectFloat(node.respecialize(ex.getResult(), node.operand2.execute()));
+      }
+
+      float value2;
+      try {
+        value2 = integer2 ? node.operand2.speculateInt() : node.operand2.speculateFloat();
+      } catch (UnexpectedResultException ex) {
+        return expectFloat(node.respecialize(integer1 ? (Object) intValue1 : (Object) value1, ex.getResult()));
+      }
+
+      return node.floatArithmetic(value1, value2);
+    }
+
+    @Override
+    public String toString() {
+      return (integer1 ? "integer" : "float") + "-" + (integer2 ? "integer" : "float");
+    }
+  }
+
+  /**
+   * The specialization of a node that has seen operand values of other types, or that has been rewritten too often.
+   */
+  private static class Generic extends Specialization {
+
+    @Override
+    Object execute(SpecializingNode node) {
+      return node.generic.execute();
+    }
+
+    @Override
+    public String toString() {
+      return "generic";
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.message.Message;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.LINE;
+import static com.rmompati.lang.message.MessageType.SOURCE_LINE;
+
+/**
+ * <h1>StatementNode</h1>
+ *
+ * <p>A statement node of the execution tree.</p>
+ */
+public abstract class StatementNode {
+
+  /** The executor that runs the tree. */
+  protected final TreeExecutor executor;
+  /** The intermediate code node of the statement. */
+  protected final ICodeNode iCodeNode;
+  /** The source line number of the statement, or null. */
+  protected final Object lineNumber;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the intermediate code node of the statement.
+   */
+  protected StatementNode(TreeExecutor executor, ICodeNode iCodeNode) {
+    this.executor = executor;
+    this.iCodeNode = iCodeNode;
+    this.lineNumber = iCodeNode.getAttribute(LINE);
+  }
+
+  /**
+   * Execute the statement, after sending a message about its source line.
+   */
+  public final void execute() {
+    if ((lineNumber != null) && executor.hasListeners()) {
+      executor.sendMessage(new Message(SOURCE_LINE, lineNumber));
+    }
+
+    executeStatement();
+  }
+
+  /**
+   * Execute the statement itself.
+   */
+  protected abstract void executeStatement();
+}
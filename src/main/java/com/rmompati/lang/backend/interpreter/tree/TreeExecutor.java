@@ -0,0 +1,80 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.backend.interpreter.Executor;
+import com.rmompati.lang.backend.interpreter.RuntimeErrorCode;
+import com.rmompati.lang.backend.interpreter.RuntimeStack;
+import com.rmompati.lang.backend.interpreter.ValueType;
+import com.rmompati.lang.intermediate.ICodeNode;
+
+/**
+ * <h1>TreeExecutor</h1>
+ *
+ * <p>A backend component that executes the source program through an execution tree. The tree is built once from the
+ * intermediate code by {@link ExecutionTreeBuilder}, and each of its nodes executes itself through direct calls to its
+ * children, so the execution does not allocate an executor per statement nor look up children and attributes.</p>
+ */
+public class TreeExecutor extends Executor {
+
+  private final boolean specializing;
+
+  public TreeExecutor() {
+    this(false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param specializing true to build the operators whose operands are not of known static types as nodes that
+   *                     specialize themselves to the types of the operand values.
+   */
+  public TreeExecutor(boolean specializing) {
+    super(null);
+    this.specializing = specializing;
+  }
+
+  /**
+   * Builds the execution tree of the program and executes it.
+   *
+   * @param rootNode the root node of the intermediate code.
+   * @throws Exception if an exception occurs.
+   */
+  @Override
+  protected void executeProgram(ICodeNode rootNode) throws Exception {
+    StatementNode root = new ExecutionTreeBuilder(this).buildStatement(rootNode);
+    root.execute();
+  }
+
+  // The services of the executor to the nodes of the execution tree.
+
+  boolean isSpecializing() {
+    return specializing;
+  }
+
+  RuntimeStack getRuntimeStack() {
+    return runtimeStack;
+  }
+
+  int getLevel(ICodeNode node) {
+    return scopeResolver.getLevel(node);
+  }
+
+  int getSlot(ICodeNode node) {
+    return scopeResolver.getSlot(node);
+  }
+
+  ValueType getType(ICodeNode node) {
+    return typeResolver.getType(node);
+  }
+
+  boolean hasListeners() {
+    return messageHandler.hasListeners();
+  }
+
+  void countExecution() {
+    ++executionCount;
+  }
+
+  void flag(ICodeNode node, RuntimeErrorCode errorCode) {
+    errorHandler.flag(node, errorCode, this);
+  }
+}
@@ -0,0 +1,32 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+/**
+ * <h1>UnexpectedResultException</h1>
+ *
+ * <p>Thrown by a speculative execute method of an expression node when the value of the expression is not of the
+ * speculated type. It carries the value, so the caller can go on with it without evaluating the expression again.</p>
+ */
+public class UnexpectedResultException extends Exception {
+  private static final long serialVersionUID = 1L;
+
+  private final Object result;
+
+  /**
+   * Constructor.
+   *
+   * @param result the value of the expression.
+   */
+  public UnexpectedResultException(Object result) {
+    super(null, null, false, false);
+    this.result = result;
+  }
+
+  /**
+   * Gets the value of the expression.
+   *
+   * @return the value.
+   */
+  public Object getResult() {
+    return result;
+  }
+}
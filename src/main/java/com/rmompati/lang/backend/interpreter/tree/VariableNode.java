@@ -0,0 +1,120 @@
+package com.rmompati.lang.backend.interpreter.tree;
+
+import com.rmompati.lang.backend.interpreter.ActivationRecord;
+import com.rmompati.lang.backend.interpreter.RuntimeStack;
+import com.rmompati.lang.backend.interpreter.ValueType;
+import com.rmompati.lang.intermediate.ICodeNode;
+
+/**
+ * <h1>VariableNode</h1>
+ *
+ * <p>Reads and writes a variable at its static address in the runtime stack. A variable of a static primitive type
+ * is kept unboxed once it is assigned, and only boxed when it is read as an Object.</p>
+ */
+public class VariableNode extends ExpressionNode {
+
+  private final RuntimeStack runtimeStack;
+  private final int level;
+  private final int slot;
+  private final ValueType type;
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor that runs the tree.
+   * @param iCodeNode the VARIABLE node.
+   */
+  public VariableNode(TreeExecutor executor, ICodeNode iCodeNode) {
+    super(executor, iCodeNode);
+    this.runtimeStack = executor.getRuntimeStack();
+    this.level = executor.getLevel(iCodeNode);
+    this.slot = executor.getSlot(iCodeNode);
+    this.type = executor.getType(iCodeNode);
+  }
+
+  /**
+   * Gets the static type of the variable.
+   *
+   * @return the type.
+   */
+  public ValueType getType() {
+    return type;
+  }
+
+  /**
+   * Test if the variable holds an unboxed value. Until it does, such as before it is first assigned, it is read as an
+   * Object, as in the generic evaluation.
+   *
+   * @return true if it does.
+   */
+  public boolean isUnboxed() {
+    return runtimeStack.getRecord(level).isUnboxed(slot);
+  }
+
+  @Override
+  public Object execute() {
+    ActivationRecord record = runtimeStack.getRecord(level);
+    if (!record.isUnboxed(slot)) {
+      return record.get(slot);
+    }
+    switch (type) {
+      case INTEGER: return record.getInt(slot);
+      case REAL: return record.getFloat(slot);
+      default: return record.getBoolean(slot);
+    }
+  }
+
+  @Override
+  public int executeInt() {
+    ActivationRecord record = runtimeStack.getRecord(level);
+    return ((type == ValueType.INTEGER) && record.isUnboxed(slot)) ? record.getInt(slot) : super.executeInt();
+  }
+
+  @Override
+  public float executeFloat() {
+    ActivationRecord record = runtimeStack.getRecord(level);
+    if (!record.isUnboxed(slot)) {
+      return super.executeFloat();
+    }
+    switch (type) {
+      case INTEGER: return record.getInt(slot);
+      case REAL: return record.getFloat(slot);
+      default: return super.executeFloat();
+    }
+  }
+
+  @Override
+  public boolean executeBoolean() {
+    // A statement test may be of any type, and must then fail as in the generic evaluation.
+    ActivationRecord record = runtimeStack.getRecord(level);
+    return ((type == ValueType.BOOLEAN) && record.isUnboxed(slot)) ? record.getBoolean(slot) : super.executeBoolean();
+  }
+
+  @Override
+  public int speculateInt() throws UnexpectedResultException {
+    ActivationRecord record = runtimeStack.getRecord(level);
+    return ((type == ValueType.INTEGER) && record.isUnboxed(slot)) ? record.getInt(slot) : super.speculateInt();
+  }
+
+  @Override
+  public float speculateFloat() throws UnexpectedResultException {
+    ActivationRecord record = runtimeStack.getRecord(level);
+    return ((type == ValueType.REAL) && record.isUnboxed(slot)) ? record.getFloat(slot) : super.speculateFloat();
+  }
+
+  void set(Object value) {
+    runtimeStack.getRecord(level).set(slot, value);
+  }
+
+  void setInt(int value) {
+    runtimeStack.getRecord(level).setInt(slot, value);
+  }
+
+  void setFloat(float value) {
+    runtimeStack.getRecord(level).setFloat(slot, value);
+  }
+
+  void setBoolean(boolean value) {
+    runtimeStack.getRecord(level).setBoolean(slot, value);
+  }
+}
@@ -0,0 +1,45 @@
+package com.rmompati.lang.frontend;
+
+/**
+ * <h1>BatchScanner</h1>
+ *
+ * <p>A scanner that keeps its tokens in {@link TokenBuffer}s, which it gets a batch at a time. The current token is a
+ * {@link TokenCursor} over the current batch that is reused for every token, so the parser does not get a new token
+ * object for each lexeme.</p>
+ */
+public abstract class BatchScanner extends Scanner {
+
+  private final TokenCursor cursor;
+
+  /**
+   * Constructor
+   * @param source the source to be used with the scanner.
+   */
+  public BatchScanner(Source source) {
+    super(source);
+    this.cursor = new TokenCursor(source, new TokenBuffer());
+  }
+
+  /**
+   * Move the cursor to the next token, getting the next batch once the cursor has moved past the current batch.
+   * @return the cursor, which is the same token object for every token.
+   * @throws Exception if an error occurs.
+   */
+  @Override
+  protected Token extractToken() throws Exception {
+    if (!cursor.next()) {
+      cursor.reset(nextBatch());
+      cursor.next();
+    }
+
+    return cursor;
+  }
+
+  /**
+   * Get the next batch of tokens once the cursor has moved past the current batch. Implemented by scanner
+   * subclasses.
+   * @return the buffer of the next batch, which holds at least one token.
+   * @throws Exception if an error occurs.
+   */
+  protected abstract TokenBuffer nextBatch() throws Exception;
+}
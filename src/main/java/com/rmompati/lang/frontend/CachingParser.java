@@ -0,0 +1,124 @@
+package com.rmompati.lang.frontend;
+
+import com.rmompati.lang.message.Message;
+import com.rmompati.lang.message.MessageListener;
+import com.rmompati.lang.message.MessageType;
+
+import java.security.MessageDigest;
+
+/**
+ * <h1>CachingParser</h1>
+ *
+ * <p>A parser that looks up the parse result of its source in a {@link ParseCache} before it parses. The key is a
+ * SHA-256 hash of the parser version and of the source content. On a hit the cached intermediate code and symbol
+ * table stack are used and the source is not scanned, though its lines are still read and sent to the listeners of
+ * the source, if any, for the listing. On a miss the source is parsed by the wrapped parser, and the result is stored
+ * if there were no syntax errors.</p>
+ */
+public class CachingParser extends Parser {
+
+  private final Parser parser;
+  private final MappedSource source;
+  private final ParseCache cache;
+  private final String version;
+  /** true if the last parse was loaded from the cache. */
+  private boolean cached;
+
+  /**
+   * Constructor.
+   * @param parser the parser that parses on a cache miss.
+   * @param source the memory-mapped source of the parser.
+   * @param cache the parse cache.
+   * @param version the version of the parser, which changes whenever the parse results may change.
+   */
+  public CachingParser(Parser parser, MappedSource source, ParseCache cache, String version) {
+    super(parser.getScanner());
+    this.parser = parser;
+    this.source = source;
+    this.cache = cache;
+    this.version = version;
+    this.cached = false;
+  }
+
+  /**
+   * Load the parse result from the cache, or parse the source and store the result in the cache.
+   *
+   * @throws Exception if an error occurs.
+   */
+  @Override
+  public void parse() throws Exception {
+    long startTime = System.currentTimeMillis();
+    String key = key();
+
+    ParseCache.Entry entry = cache.load(key);
+    if (entry != null) {
+      cached = true;
+      iCode = entry.getiCode();
+      symTabStack = entry.getSymTabStack();
+      if (source.hasMessageListeners()) {
+        source.readLines();
+      }
+
+      float elapsedTime = (System.currentTimeMillis() - startTime) / 1000f;
+      sendMessage(new Message(MessageType.PARSER_SUMMARY, new Number[]{entry.getLineCount(), 0, elapsedTime}));
+      return;
+    }
+
+    // Note the line count of the parser summary to store it with the parse result.
+    int[] lineCount = new int[1];
+    MessageListener summaryListener = message -> {
+      if (message.getType() == MessageType.PARSER_SUMMARY) {
+        lineCount[0] = ((Number[]) message.getBody())[0].intValue();
+      }
+    };
+
+    addMessageListener(summaryListener);
+    try {
+      parser.parse();
+    } finally {
+      removeMessageListener(summaryListener);
+    }
+
+    cached = false;
+    iCode = parser.getiCode();
+    if (parser.getErrorCount() == 0) {
+      cache.store(key, new ParseCache.Entry(iCode, parser.getSymTabStack(), lineCount[0]));
+    }
+  }
+
+  /**
+   * Return the number of syntax errors found by the parser.
+   *
+   * @return the error count, which is zero for a parse result loaded from the cache.
+   */
+  @Override
+  public int getErrorCount() {
+    return cached ? 0 : parser.getErrorCount();
+  }
+
+  /**
+   * Test if the last parse result was loaded from the cache.
+   * @return true if it was.
+   */
+  public boolean isCached() {
+    return cached;
+  }
+
+  /**
+   * Compute the cache key of the source.
+   * @return the key, as hexadecimal digits.
+   * @throws Exception if an error occurs.
+   */
+  private String key() throws Exception {
+    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    digest.update(version.getBytes("UTF-8"));
+    digest.update((byte) 0);
+    source.digest(digest);
+
+    StringBuilder key = new StringBuilder();
+    for (byte b : digest.digest()) {
+      key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return key.toString();
+  }
+}
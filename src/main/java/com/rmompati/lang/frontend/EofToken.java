@@ -12,6 +12,7 @@ public class EofToken extends Token {
    */
   public EofToken(Source source, TokenType tokenType) throws Exception {
     super(source);
+    this.type = tokenType;
     this.tokenType = tokenType;
   }
 
@@ -1,25 +1,80 @@
 package com.rmompati.lang.frontend;
 
+import com.rmompati.lang.pascal.frontend.PascalDfaScanner;
 import com.rmompati.lang.pascal.frontend.PascalParserTD;
 import com.rmompati.lang.pascal.frontend.PascalScanner;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /**
  * <h1>FrontendFactory</h1>
  *
- * <p>A factory class that creates parsers for specific languages.</p>
+ * <p>A factory class that creates sources and parsers for specific languages.</p>
  */
 public class FrontendFactory {
 
+  /** The source file path that stands for the standard input. */
+  public static final String STANDARD_INPUT = "-";
+
   /**
-   * Creates a parser.
+   * Creates a source for a source file. Regular files that fit into a single mapping are
+   * memory-mapped, anything else, such as a pipe, is streamed.
+   * @param filePath the source file path, or "-" for the standard input.
+   * @return the source object.
+   * @throws Exception if an exception occurs.
+   */
+  public static Source createSource(String filePath) throws Exception {
+    if (filePath.equals(STANDARD_INPUT)) {
+      return new StreamingSource(System.in);
+    }
+
+    Path path = Paths.get(filePath);
+    if (Files.isRegularFile(path) && (Files.size(path) <= MappedSource.MAX_MAPPED_SIZE)) {
+      return new MappedSource(path);
+    } else {
+      return new StreamingSource(Files.newByteChannel(path));
+    }
+  }
+
+  /**
+   * Creates a parser that uses the standard scanner.
    * @param language the name of the source language (e.g., "Pascal")
    * @param type the type of parser (e.g., "top-down")
    * @param source the source object.
    * @throws Exception if an exception occurs.
    */
   public static Parser createParser(String language, String type, Source source) throws Exception {
+    return createParser(language, type, "standard", source);
+  }
+
+  /**
+   * Creates a parser.
+   * @param language the name of the source language (e.g., "Pascal")
+   * @param type the type of parser (e.g., "top-down")
+   * @param scannerType the type of scanner (e.g., "standard" or "table-driven")
+   * @param source the source object.
+   * @throws Exception if an exception occurs.
+   */
+  public static Parser createParser(String language, String type, String scannerType, Source source)
+      throws Exception {
+    return createParser(language, type, scannerType, "sequential", source);
+  }
+
+  /**
+   * Creates a parser.
+   * @param language the name of the source language (e.g., "Pascal")
+   * @param type the type of parser (e.g., "top-down")
+   * @param scannerType the type of scanner (e.g., "standard" or "table-driven")
+   * @param scannerMode how the scanner runs: "sequential", or "pipelined" on a thread of its own.
+   * @param source the source object.
+   * @throws Exception if an exception occurs.
+   */
+  public static Parser createParser(String language, String type, String scannerType, String scannerMode,
+                                    Source source) throws Exception {
     if (language.equalsIgnoreCase("Pascal") && type.equalsIgnoreCase("top-down")) {
-      Scanner scanner = new PascalScanner(source);
+      Scanner scanner = createScanner(language, scannerType, scannerMode, source);
       return new PascalParserTD(scanner);
     } else if (!language.equalsIgnoreCase("Pascal")) {
       throw new Exception("Parser factory: Invalid language \"" + language + "\"");
@@ -27,4 +82,77 @@ public class FrontendFactory {
       throw new Exception("Parser factory: Invalid type \"" + type + "\"");
     }
   }
+
+  /**
+   * Creates a parser that looks up its parse result in a parse cache. Only memory-mapped sources are cached, a
+   * parser of any other source parses it every time.
+   * @param language the name of the source language (e.g., "Pascal")
+   * @param type the type of parser (e.g., "top-down")
+   * @param scannerType the type of scanner (e.g., "standard" or "table-driven")
+   * @param scannerMode how the scanner runs: "sequential" or "pipelined".
+   * @param source the source object.
+   * @param cache the parse cache.
+   * @throws Exception if an exception occurs.
+   */
+  public static Parser createParser(String language, String type, String scannerType, String scannerMode,
+                                    Source source, ParseCache cache) throws Exception {
+    Parser parser = createParser(language, type, scannerType, scannerMode, source);
+    if (source instanceof MappedSource) {
+      String version = language.toLowerCase() + "/" + type.toLowerCase() + "/" + PascalParserTD.VERSION;
+      return new CachingParser(parser, (MappedSource) source, cache, version);
+    } else {
+      return parser;
+    }
+  }
+
+  /**
+   * Creates a scanner.
+   * @param language the name of the source language (e.g., "Pascal")
+   * @param type the type of scanner: "standard" or "table-driven"
+   * @param mode how the scanner runs: "sequential" or "pipelined". A pipelined scanner needs more than one processor,
+   *             otherwise the source is scanned sequentially.
+   * @param source the source object.
+   * @throws Exception if an exception occurs.
+   */
+  public static Scanner createScanner(String language, String type, String mode, Source source) throws Exception {
+    if (mode.equalsIgnoreCase("sequential")) {
+      return createScanner(language, type, source);
+    } else if (mode.equalsIgnoreCase("pipelined")) {
+      if (canPipelineScanner()) {
+        return new PipelinedScanner(createScanner(language, type, source));
+      } else {
+        return createScanner(language, type, source);
+      }
+    } else {
+      throw new Exception("Scanner factory: Invalid mode \"" + mode + "\"");
+    }
+  }
+
+  /**
+   * Whether a pipelined scanner can run beside the parser. With a single processor the scanner thread would only take
+   * turns with the parser, so the pipelined mode scans sequentially instead.
+   * @return true if more than one processor is available.
+   */
+  public static boolean canPipelineScanner() {
+    return Runtime.getRuntime().availableProcessors() > 1;
+  }
+
+  /**
+   * Creates a scanner.
+   * @param language the name of the source language (e.g., "Pascal")
+   * @param type the type of scanner: "standard" or "table-driven"
+   * @param source the source object.
+   * @throws Exception if an exception occurs.
+   */
+  public static Scanner createScanner(String language, String type, Source source) throws Exception {
+    if (!language.equalsIgnoreCase("Pascal")) {
+      throw new Exception("Scanner factory: Invalid language \"" + language + "\"");
+    } else if (type.equalsIgnoreCase("standard")) {
+      return new PascalScanner(source);
+    } else if (type.equalsIgnoreCase("table-driven")) {
+      return new PascalDfaScanner(source);
+    } else {
+      throw new Exception("Scanner factory: Invalid type \"" + type + "\"");
+    }
+  }
 }
@@ -0,0 +1,239 @@
+package com.rmompati.lang.frontend;
+
+import com.rmompati.lang.intermediate.InternedName;
+
+import java.util.HashMap;
+
+/**
+ * <h1>IdentifierPool</h1>
+ *
+ * <p>Interns the spellings of the words extracted by a scanner. Each distinct spelling is turned into a string once,
+ * and every spelling maps to the canonical {@link InternedName} of its lower-cased text, so repeated occurrences of a
+ * word share one string and one name. The table is open-addressed on the spelling's hash, which is the same hash as
+ * {@link String#hashCode()}.</p>
+ */
+public class IdentifierPool {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  /** Canonical spelling strings, indexed by slot. */
+  private String[] spellings;
+  /** Interned names of the spellings, indexed by slot. */
+  private InternedName[] names;
+  /** Number of spellings in the pool. */
+  private int size;
+
+  /** Interned names keyed by their lower-cased text. */
+  private final HashMap<String, InternedName> canonicalNames;
+
+  /**
+   * Constructor.
+   */
+  public IdentifierPool() {
+    this.spellings = new String[INITIAL_CAPACITY];
+    this.names = new InternedName[INITIAL_CAPACITY];
+    this.size = 0;
+    this.canonicalNames = new HashMap<>();
+  }
+
+  /**
+   * Gets the canonical string of a spelling held in a character buffer.
+   * @param buffer the character buffer.
+   * @param offset the offset of the first character.
+   * @param length the number of characters.
+   * @return the canonical spelling string.
+   */
+  public String spelling(char[] buffer, int offset, int length) {
+    int hash = 0;
+    for (int i = offset; i < offset + length; ++i) {
+      hash = 31 * hash + buffer[i];
+    }
+
+    int mask = spellings.length - 1;
+    int slot = mix(hash) & mask;
+    String spelling;
+    while ((spelling = spellings[slot]) != null) {
+      if ((spelling.hashCode() == hash) && matches(spelling, buffer, offset, length)) {
+        return spelling;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    return add(slot, new String(buffer, offset, length));
+  }
+
+  /**
+   * Gets the canonical string of a spelling.
+   * @param text the spelling.
+   * @return the canonical spelling string.
+   */
+  public String spelling(CharSequence text) {
+    int length = text.length();
+    int hash = 0;
+    for (int i = 0; i < length; ++i) {
+      hash = 31 * hash + text.charAt(i);
+    }
+
+    int mask = spellings.length - 1;
+    int slot = mix(hash) & mask;
+    String spelling;
+    while ((spelling = spellings[slot]) != null) {
+      if ((spelling.hashCode() == hash) && matches(spelling, text)) {
+        return spelling;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    return add(slot, text.toString());
+  }
+
+  /**
+   * Gets the interned name of a spelling.
+   * @param text the spelling, preferably a canonical spelling string from this pool.
+   * @return the interned name.
+   */
+  public InternedName intern(String text) {
+    int mask = spellings.length - 1;
+    int slot = mix(text.hashCode()) & mask;
+    String spelling;
+    while ((spelling = spellings[slot]) != null) {
+      if ((spelling == text) || spelling.equals(text)) {
+        return names[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    return names[indexOf(add(slot, text))];
+  }
+
+  /**
+   * Gets the number of distinct spellings in the pool.
+   * @return the number of spellings.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the number of distinct interned names in the pool.
+   * @return the number of names.
+   */
+  public int nameCount() {
+    return canonicalNames.size();
+  }
+
+  /**
+   * Add a new spelling into an empty slot.
+   * @param slot the empty slot.
+   * @param spelling the spelling.
+   * @return the spelling.
+   */
+  private String add(int slot, String spelling) {
+    spellings[slot] = spelling;
+    names[slot] = canonicalName(spelling);
+
+    if (++size > (spellings.length >> 1)) {
+      grow();
+    }
+    return spelling;
+  }
+
+  /**
+   * Find the slot of a spelling that is in the pool.
+   * @param spelling the canonical spelling string.
+   * @return the slot.
+   */
+  private int indexOf(String spelling) {
+    int mask = spellings.length - 1;
+    int slot = mix(spelling.hashCode()) & mask;
+    while (spellings[slot] != spelling) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Gets the interned name of a spelling's lower-cased text.
+   * @param spelling the spelling.
+   * @return the interned name.
+   */
+  private InternedName canonicalName(String spelling) {
+    String text = toLowerCase(spelling);
+    InternedName name = canonicalNames.get(text);
+    if (name == null) {
+      name = new InternedName(text);
+      canonicalNames.put(text, name);
+    }
+    return name;
+  }
+
+  /**
+   * Double the capacity of the table and rehash the spellings.
+   */
+  private void grow() {
+    String[] oldSpellings = spellings;
+    InternedName[] oldNames = names;
+    spellings = new String[oldSpellings.length << 1];
+    names = new InternedName[oldNames.length << 1];
+
+    int mask = spellings.length - 1;
+    for (int i = 0; i < oldSpellings.length; ++i) {
+      String spelling = oldSpellings[i];
+      if (spelling != null) {
+        int slot = mix(spelling.hashCode()) & mask;
+        while (spellings[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        spellings[slot] = spelling;
+        names[slot] = oldNames[i];
+      }
+    }
+  }
+
+  /**
+   * Lower-case a spelling. ASCII spellings that are already lower case are returned as is.
+   * @param spelling the spelling.
+   * @return the lower-cased text.
+   */
+  private static String toLowerCase(String spelling) {
+    for (int i = 0; i < spelling.length(); ++i) {
+      char c = spelling.charAt(i);
+      if ((c >= 128) || ((c >= 'A') && (c <= 'Z'))) {
+        return spelling.toLowerCase();
+      }
+    }
+    return spelling;
+  }
+
+  private static boolean matches(String spelling, char[] buffer, int offset, int length) {
+    if (spelling.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; ++i) {
+      if (spelling.charAt(i) != buffer[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean matches(String spelling, CharSequence text) {
+    int length = text.length();
+    if (spelling.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; ++i) {
+      if (spelling.charAt(i) != text.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Spread the bits of a string hash code over the low bits used as a slot index.
+   */
+  private static int mix(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,540 @@
+package com.rmompati.lang.frontend;
+
+import com.rmompati.lang.message.Message;
+import com.rmompati.lang.message.MessageType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * <h1>MappedSource</h1>
+ *
+ * <p>A source program backed by a memory-mapped file. Characters are decoded directly from the mapped bytes as
+ * UTF-8, with a fast path for ASCII, and the line number and position are tracked over the mapped bytes. The text of
+ * a source line is only materialized as a string when it is asked for or when a listener wants the SOURCE_LINE
+ * message.</p>
+ *
+ * <p>Blanks, and the characters up to a comment's terminator, are skipped in bulk by testing eight bytes at a time
+ * with word-at-a-time (SWAR) bit tricks. When nobody listens for source lines, a skip that crosses lines counts them in
+ * bulk instead of reading them one by one.</p>
+ */
+public class MappedSource extends Source {
+  /** The largest file that can be mapped into a single buffer. */
+  public static final long MAX_MAPPED_SIZE = Integer.MAX_VALUE;
+
+  /** Character returned for malformed or non-BMP UTF-8 sequences. */
+  private static final char REPLACEMENT_CHAR = '\uFFFD';
+
+  // Word-at-a-time constants.
+  private static final long ONES = 0x0101010101010101L;
+  private static final long HIGHS = 0x8080808080808080L;
+  private static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+
+  /** the mapped source bytes. */
+  private final ByteBuffer buffer;
+  /** number of mapped bytes. */
+  private final int limit;
+  /** offset of the first byte of the current line. */
+  private int lineStart;
+  /** offset of the line terminator (or the end of the buffer) of the current line. */
+  private int lineEnd;
+  /** offset of the first byte of the next line. */
+  private int nextLineStart;
+  /** offset of the current character. */
+  private int offset;
+  /** true when the end of the file has been reached. */
+  private boolean eof;
+
+  /**
+   * Constructor.
+   *
+   * @param path the path of the source file.
+   * @throws IOException if an I/O error occurs or the file is too large to map.
+   */
+  public MappedSource(Path path) throws IOException {
+    super();
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > MAX_MAPPED_SIZE) {
+        throw new IOException("Source file too large to map: " + path);
+      }
+
+      // The mapping stays valid after the channel is closed.
+      this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      this.limit = (int) size;
+    }
+
+    this.lineStart = 0;
+    this.lineEnd = 0;
+    this.nextLineStart = 0;
+    this.offset = 0;
+    this.eof = false;
+  }
+
+  /**
+   * Update a message digest with the mapped bytes.
+   *
+   * @param digest the message digest.
+   */
+  public void digest(MessageDigest digest) {
+    ByteBuffer bytes = buffer.duplicate();
+    bytes.position(0).limit(limit);
+    digest.update(bytes);
+  }
+
+  /**
+   * Count the line terminators in a range of the mapped bytes.
+   *
+   * @param from the offset of the first byte.
+   * @param to the offset after the last byte.
+   * @return the number of terminators.
+   */
+  private int countLines(int from, int to) {
+    int count = 0;
+    int i = from;
+    while (i + Long.BYTES <= to) {
+      long word = buffer.getLong(i);
+      if (matchBytes(word, '\r') == 0) {
+        count += Long.bitCount(matchBytes(word, '\n'));
+        i += Long.BYTES;
+      } else {
+        // Count the bytes of a word with a carriage return one by one.
+        for (int end = i + Long.BYTES; i < end; ++i) {
+          count += isLineEnd(i) ? 1 : 0;
+        }
+      }
+    }
+    for (; i < to; ++i) {
+      count += isLineEnd(i) ? 1 : 0;
+    }
+
+    return count;
+  }
+
+  /**
+   * Return the source character at the current position.
+   *
+   * @return the source character at the current position.
+   * @throws Exception if an error occurred.
+   */
+  @Override
+  public char currentChar() throws Exception {
+    if (currentPos == -2) {
+      readLine();
+      return nextChar();
+    } else if (eof) {
+      return EOF;
+    } else if ((currentPos == -1) || (offset == lineEnd)) {
+      return EOL;
+    } else if (offset > lineEnd) {
+      readLine();
+      return nextChar();
+    } else {
+      return decodeChar(offset);
+    }
+  }
+
+  /**
+   * Consume the current source character and return the next character.
+   *
+   * @return next source character.
+   * @throws Exception if an error occurred.
+   */
+  @Override
+  public char nextChar() throws Exception {
+    if (currentPos == -2) {
+      return currentChar();
+    }
+
+    // Position -1 is the end of the previous line, so the offset already addresses the first character.
+    if ((currentPos >= 0) && !eof) {
+      offset += (offset < lineEnd) ? charWidth(offset) : 1;
+    }
+
+    ++currentPos;
+    return currentChar();
+  }
+
+  /**
+   * Return the source character following the current character without consuming the current character.
+   *
+   * @return the following character.
+   * @throws Exception if an error occurred.
+   */
+  @Override
+  public char peekChar() throws Exception {
+    currentChar();
+
+    if (eof) {
+      return EOF;
+    }
+
+    int nextOffset;
+    if (currentPos == -1) {
+      nextOffset = lineStart;
+    } else if (offset >= lineEnd) {
+      return EOL;
+    } else {
+      nextOffset = offset + charWidth(offset);
+    }
+
+    return nextOffset < lineEnd ? decodeChar(nextOffset) : EOL;
+  }
+
+  /**
+   * Advance to the next source line. The line terminator may be "\n", "\r" or "\r\n".
+   */
+  @Override
+  public void readLine() {
+    currentPos = -1;
+    line = null;
+
+    if (nextLineStart >= limit) {
+      eof = true;
+      offset = lineEnd = lineStart = limit;
+      return;
+    }
+
+    setLine(nextLineStart);
+    offset = lineStart;
+    ++lineNum;
+
+    if (messageHandler.hasListeners()) {
+      sendMessage(new Message(MessageType.SOURCE_LINE, new Object[]{lineNum, getLine()}));
+    }
+  }
+
+  /**
+   * Read the remaining source lines without scanning them, which sends their source line messages.
+   */
+  public void readLines() {
+    do {
+      readLine();
+    } while (!eof);
+  }
+
+  /**
+   * Make the line that starts at an offset the current line.
+   * @param start the offset of the first byte of the line.
+   */
+  private void setLine(int start) {
+    int end = indexOfLineTerminator(start);
+
+    lineStart = start;
+    lineEnd = end;
+    if (end == limit) {
+      nextLineStart = limit;
+    } else if ((buffer.get(end) == '\r') && (end + 1 < limit) && (buffer.get(end + 1) == '\n')) {
+      nextLineStart = end + 2;
+    } else {
+      nextLineStart = end + 1;
+    }
+  }
+
+  /**
+   * Consume blanks and tabs up to the next other character on the line, eight bytes at a time.
+   *
+   * @return the source character at the new current position.
+   * @throws Exception if an error occurred.
+   */
+  @Override
+  public char skipBlanks() throws Exception {
+    char c = currentChar();
+    if ((c != ' ') && (c != '\t')) {
+      return c;
+    }
+
+    int i = offset;
+    while (i + Long.BYTES <= lineEnd) {
+      long word = buffer.getLong(i);
+      long others = ~(matchBytes(word, ' ') | matchBytes(word, '\t')) & HIGHS;
+      if (others != 0) {
+        i += firstMarkedByte(others);
+        break;
+      }
+      i += Long.BYTES;
+    }
+    while ((i < lineEnd) && ((buffer.get(i) == ' ') || (buffer.get(i) == '\t'))) {
+      ++i;
+    }
+
+    // Blanks and tabs are single bytes.
+    currentPos += i - offset;
+    offset = i;
+    return currentChar();
+  }
+
+  /**
+   * Consume characters, across lines, up to the next occurrence of a character or the end of the file,
+   * searching eight bytes at a time.
+   *
+   * @param terminator the character to stop at, an ASCII character that is not a line terminator.
+   * @return the terminator, or EOF.
+   * @throws Exception if an error occurred.
+   */
+  @Override
+  public char skipTo(char terminator) throws Exception {
+    char c = currentChar();
+    if ((c == terminator) || (c == EOF)) {
+      return c;
+    }
+
+    // Search the rest of the current line.
+    if (offset < lineEnd) {
+      int found = indexOf(terminator, offset, lineEnd);
+      if (found >= 0) {
+        // At position -1 the offset addresses the character at position 0.
+        currentPos = Math.max(currentPos, 0) + charCount(offset, found);
+        offset = found;
+        return terminator;
+      }
+    }
+
+    // Search the following lines one by one if they must be listed.
+    if (messageHandler.hasListeners()) {
+      while (true) {
+        readLine();
+        if (eof) {
+          return nextChar();
+        }
+
+        int found = indexOf(terminator, lineStart, lineEnd);
+        if (found >= 0) {
+          currentPos = charCount(lineStart, found);
+          offset = found;
+          return terminator;
+        }
+      }
+    }
+
+    // Otherwise search the rest of the file and count the lines skipped.
+    int from = nextLineStart;
+    int found = indexOf(terminator, from, limit);
+    line = null;
+
+    if (found < 0) {
+      if (from < limit) {
+        lineNum += countLines(from, limit);
+        if (!isLineTerminator(buffer.get(limit - 1))) {
+          ++lineNum;  // the last line has no terminator.
+        }
+      }
+      nextLineStart = limit;
+      readLine();
+      return nextChar();
+    }
+
+    int start = found;
+    while ((start > from) && !isLineTerminator(buffer.get(start - 1))) {
+      --start;
+    }
+
+    lineNum += 1 + countLines(from, start);
+    setLine(start);
+    currentPos = charCount(start, found);
+    offset = found;
+    return terminator;
+  }
+
+  /**
+   * Gets the text of the current line, decoding it from the mapped bytes on first use.
+   *
+   * @return the current line, or null at the end of the file.
+   */
+  @Override
+  public String getLine() {
+    if ((line == null) && !eof && (lineNum > 0)) {
+      byte[] bytes = new byte[lineEnd - lineStart];
+      ByteBuffer view = buffer.duplicate();
+      view.position(lineStart);
+      view.get(bytes);
+      line = new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    return line;
+  }
+
+  /**
+   * Close the source. The mapping is released when the source is garbage collected.
+   */
+  @Override
+  public void close() {}
+
+  /**
+   * Test if the byte at an offset ends a line. A carriage return followed by a newline does not.
+   * @param at the byte offset.
+   * @return true if the byte ends a line.
+   */
+  private boolean isLineEnd(int at) {
+    byte b = buffer.get(at);
+    return (b == '\n') || ((b == '\r') && ((at + 1 >= limit) || (buffer.get(at + 1) != '\n')));
+  }
+
+  private static boolean isLineTerminator(byte b) {
+    return (b == '\n') || (b == '\r');
+  }
+
+  /**
+   * Find the first line terminator at or after an offset, eight bytes at a time.
+   * @param from the offset where to start looking.
+   * @return the offset of the terminator, or the size of the source if there is none.
+   */
+  private int indexOfLineTerminator(int from) {
+    int i = from;
+    while (i + Long.BYTES <= limit) {
+      long word = buffer.getLong(i);
+      long terminators = matchBytes(word, '\n') | matchBytes(word, '\r');
+      if (terminators != 0) {
+        return i + firstMarkedByte(terminators);
+      }
+      i += Long.BYTES;
+    }
+    while ((i < limit) && !isLineTerminator(buffer.get(i))) {
+      ++i;
+    }
+
+    return i;
+  }
+
+  /**
+   * Find the first occurrence of an ASCII character in a range of bytes, eight bytes at a time.
+   * @param c the character.
+   * @param from the offset of the first byte.
+   * @param to the offset after the last byte.
+   * @return the offset of the character, or -1 if it does not occur.
+   */
+  private int indexOf(char c, int from, int to) {
+    int i = from;
+    while (i + Long.BYTES <= to) {
+      long matches = matchBytes(buffer.getLong(i), c);
+      if (matches != 0) {
+        return i + firstMarkedByte(matches);
+      }
+      i += Long.BYTES;
+    }
+    for (; i < to; ++i) {
+      if (buffer.get(i) == c) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Count the characters that a range of bytes of the current line decodes to.
+   * @param from the offset of the first byte.
+   * @param to the offset after the last byte.
+   * @return the number of characters.
+   */
+  private int charCount(int from, int to) {
+    int i = from;
+    while ((i + Long.BYTES <= to) && ((buffer.getLong(i) & HIGHS) == 0)) {
+      i += Long.BYTES;
+    }
+
+    int count = i - from;
+    while (i < to) {
+      i += charWidth(i);
+      ++count;
+    }
+
+    return count;
+  }
+
+  /**
+   * Mark with its high bit each byte of a word that equals an ASCII character. Unlike the shorter
+   * zero-byte test, this one has no false positives, so any marked byte can be trusted.
+   * @param word eight bytes.
+   * @param c the character.
+   * @return the marks.
+   */
+  private static long matchBytes(long word, char c) {
+    long x = word ^ (ONES * c);
+    return ~(((x & LOWS) + LOWS) | x | LOWS);
+  }
+
+  /**
+   * Gets the index of the first marked byte in memory order. The buffer reads words big-endian,
+   * so the first byte is the most significant one.
+   * @param marks the marks.
+   * @return the byte index.
+   */
+  private static int firstMarkedByte(long marks) {
+    return Long.numberOfLeadingZeros(marks) >>> 3;
+  }
+
+  /**
+   * Decode the character that starts at a byte offset.
+   * @param at the byte offset.
+   * @return the decoded character.
+   */
+  private char decodeChar(int at) {
+    int b = buffer.get(at);
+    if (b >= 0) {
+      return (char) b;
+    }
+
+    return decodeMultiByte(at);
+  }
+
+  /**
+   * Decode a multibyte UTF-8 sequence. Characters outside the basic multilingual plane
+   * and malformed sequences decode to the replacement character.
+   * @param at the byte offset of the lead byte.
+   * @return the decoded character.
+   */
+  private char decodeMultiByte(int at) {
+    int lead = buffer.get(at) & 0xFF;
+    int width = charWidth(at);
+
+    if (width == 2) {
+      return (char) (((lead & 0x1F) << 6) | (buffer.get(at + 1) & 0x3F));
+    } else if (width == 3) {
+      return (char) (((lead & 0x0F) << 12) | ((buffer.get(at + 1) & 0x3F) << 6) | (buffer.get(at + 2) & 0x3F));
+    } else {
+      return REPLACEMENT_CHAR;
+    }
+  }
+
+  /**
+   * Compute the width in bytes of the UTF-8 sequence that starts at a byte offset.
+   * A sequence never extends past the end of the line.
+   * @param at the byte offset of the lead byte.
+   * @return the sequence width.
+   */
+  private int charWidth(int at) {
+    int lead = buffer.get(at) & 0xFF;
+    int width;
+
+    if (lead < 0x80) {
+      return 1;
+    } else if ((lead & 0xE0) == 0xC0) {
+      width = 2;
+    } else if ((lead & 0xF0) == 0xE0) {
+      width = 3;
+    } else if ((lead & 0xF8) == 0xF0) {
+      width = 4;
+    } else {
+      return 1;
+    }
+
+    // Malformed sequences consume only the lead byte.
+    if (at + width > lineEnd) {
+      return 1;
+    }
+    for (int i = 1; i < width; ++i) {
+      if ((buffer.get(at + i) & 0xC0) != 0x80) {
+        return 1;
+      }
+    }
+
+    return width;
+  }
+}
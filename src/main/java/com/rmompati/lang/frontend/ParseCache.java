@@ -0,0 +1,217 @@
+package com.rmompati.lang.frontend;
+
+import com.rmompati.lang.intermediate.ICode;
+import com.rmompati.lang.intermediate.SymTabStack;
+import com.rmompati.lang.intermediate.SymTableFactory;
+import com.rmompati.lang.util.ICodeReader;
+import com.rmompati.lang.util.ICodeWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <h1>ParseCache</h1>
+ *
+ * <p>An on-disk cache of parse results. Each entry holds the intermediate code and the local symbol table of a parse,
+ * and is stored in a file of the cache directory named after its key, a hash of the source content and of the parser
+ * version. The intermediate code is stored in the format of {@link ICodeWriter}, and the file is memory-mapped to load
+ * it. An entry is written to a temporary file that is then atomically moved into place, so a reader never sees a
+ * partial entry. Reading an entry refreshes its modification time, and the least recently used entries are evicted
+ * whenever the directory grows past its size bound.</p>
+ */
+public class ParseCache {
+  /** Default bound on the total size of the cache entries. */
+  public static final long DEFAULT_MAX_SIZE = 256L << 20;
+
+  private static final String SUFFIX = ".parse";
+  private static final int MAGIC = 0x50505243; // "PPRC"
+  private static final int FORMAT_VERSION = 2;
+
+  private final Path directory;
+  private final long maxSize;
+
+  /**
+   * A cached parse result.
+   */
+  public static class Entry {
+    private final ICode iCode;
+    private final SymTabStack symTabStack;
+    private final int lineCount;
+
+    /**
+     * Constructor.
+     * @param iCode the intermediate code.
+     * @param symTabStack the symbol table stack.
+     * @param lineCount the number of source lines parsed.
+     */
+    public Entry(ICode iCode, SymTabStack symTabStack, int lineCount) {
+      this.iCode = iCode;
+      this.symTabStack = symTabStack;
+      this.lineCount = lineCount;
+    }
+
+    public ICode getiCode() {
+      return iCode;
+    }
+
+    public SymTabStack getSymTabStack() {
+      return symTabStack;
+    }
+
+    public int getLineCount() {
+      return lineCount;
+    }
+  }
+
+  /**
+   * A file of the cache directory.
+   */
+  private static class CacheFile {
+    final Path path;
+    final FileTime lastModifiedTime;
+    final long size;
+
+    CacheFile(Path path, BasicFileAttributes attributes) {
+      this.path = path;
+      this.lastModifiedTime = attributes.lastModifiedTime();
+      this.size = attributes.size();
+    }
+  }
+
+  /**
+   * Constructor.
+   * @param directory the cache directory, created if it does not exist.
+   * @param maxSize the bound on the total size of the cache entries.
+   * @throws IOException if the directory cannot be created.
+   */
+  public ParseCache(Path directory, long maxSize) throws IOException {
+    this.directory = Files.createDirectories(directory);
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Load the parse result stored under a key.
+   * @param key the key.
+   * @return the parse result, or null if there is none or it cannot be read.
+   */
+  public Entry load(String key) {
+    Path path = directory.resolve(key + SUFFIX);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if ((buffer.getInt() != MAGIC) || (buffer.getInt() != FORMAT_VERSION) || !key.equals(readKey(buffer))) {
+        return null;
+      }
+
+      int lineCount = buffer.getInt();
+      SymTabStack symTabStack = SymTableFactory.createSymTabStack();
+      ICode iCode = new ICodeReader(buffer).read(symTabStack.getLocalSymTab());
+
+      touch(path);
+      return new Entry(iCode, symTabStack, lineCount);
+    } catch (IOException | RuntimeException exc) {
+      // A damaged or incompatible entry is a miss.
+      return null;
+    }
+  }
+
+  /**
+   * Store a parse result under a key, then evict the least recently used entries if the cache is too large.
+   * Parse results whose attribute values cannot be encoded are not stored.
+   * @param key the key.
+   * @param entry the parse result.
+   * @throws IOException if an I/O error occurs.
+   */
+  public void store(String key, Entry entry) throws IOException {
+    Path temp = Files.createTempFile(directory, key, ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(16 + keyBytes.length);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(keyBytes.length).put(keyBytes);
+        header.putInt(entry.getLineCount()).flip();
+        while (header.hasRemaining()) {
+          channel.write(header);
+        }
+
+        new ICodeWriter(channel).write(entry.getiCode(), entry.getSymTabStack().getLocalSymTab());
+      }
+
+      Files.move(temp, directory.resolve(key + SUFFIX),
+                 StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IllegalArgumentException exc) {
+      // Not an encodable parse result.
+      return;
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+
+    evict();
+  }
+
+  /**
+   * Read the key of an entry.
+   * @param buffer the buffer of the entry, at its key.
+   * @return the key, or null if its length is damaged.
+   */
+  private static String readKey(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if ((length < 0) || (length > buffer.remaining())) {
+      return null;
+    }
+
+    byte[] keyBytes = new byte[length];
+    buffer.get(keyBytes);
+    return new String(keyBytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Mark a cache file as the most recently used one.
+   * @param path the path of the file.
+   */
+  private static void touch(Path path) {
+    try {
+      Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException exc) {
+      // Evicted by another run.
+    }
+  }
+
+  /**
+   * Delete the least recently used entries until the total size of the entries is within the bound.
+   * @throws IOException if an I/O error occurs.
+   */
+  private void evict() throws IOException {
+    List<Path> paths;
+    try (Stream<Path> files = Files.list(directory)) {
+      paths = files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).collect(Collectors.toList());
+    }
+
+    ArrayList<CacheFile> files = new ArrayList<>(paths.size());
+    long size = 0;
+    for (Path path : paths) {
+      try {
+        CacheFile file = new CacheFile(path, Files.readAttributes(path, BasicFileAttributes.class));
+        files.add(file);
+        size += file.size;
+      } catch (NoSuchFileException exc) {
+        // Evicted by another run.
+      }
+    }
+
+    files.sort(Comparator.comparing(file -> file.lastModifiedTime));
+    for (int i = 0; (i < files.size()) && (size > maxSize); ++i) {
+      Files.deleteIfExists(files.get(i).path);
+      size -= files.get(i).size;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package com.rmompati.lang.frontend;
+
+/**
+ * <h1>PipelinedScanner</h1>
+ *
+ * <p>A scanner that runs another scanner on a thread of its own. The scanner thread publishes batches of tokens into
+ * a {@link TokenRing}, and the parser consumes them through the usual {@link #nextToken()} calls, so that lexing and
+ * parsing overlap. An error that stops the scanner thread is thrown by the parser's next call that needs a token the
+ * thread did not produce. The parser closes the scanner when it is done, which stops the scanner thread and waits
+ * for it, whether or not the source was scanned to the end.</p>
+ *
+ * <p>Since the source is read ahead of the parser, source line messages are sent from the scanner thread before the
+ * parser's messages about the tokens on the lines.</p>
+ */
+public class PipelinedScanner extends BatchScanner {
+
+  /** Number of tokens scanned into each buffer. */
+  public static final int BATCH_SIZE = 1024;
+  /** Number of buffers in the ring. */
+  public static final int RING_CAPACITY = 8;
+
+  private final Scanner scanner;
+  private final TokenRing ring;
+  private Thread scannerThread;
+  /** True while the consumer holds a buffer taken from the ring. */
+  private boolean holding;
+  /** The end of file token, served again once the last batch has been consumed. Set by the scanner thread. */
+  private volatile TokenBuffer eofBuffer;
+
+  /**
+   * Constructor.
+   * @param scanner the scanner to run on the scanner thread.
+   */
+  public PipelinedScanner(Scanner scanner) {
+    super(scanner.source);
+    this.scanner = scanner;
+    this.ring = new TokenRing(RING_CAPACITY);
+    this.scannerThread = null;
+    this.holding = false;
+    this.eofBuffer = null;
+  }
+
+  /**
+   * Gets the identifier pool of the scanner that runs on the scanner thread.
+   * @return the pool that interns the scanned words.
+   */
+  @Override
+  public IdentifierPool getIdentifierPool() {
+    return scanner.getIdentifierPool();
+  }
+
+  /**
+   * Get the next batch of tokens from the ring, starting the scanner thread on the first call.
+   * @return the buffer of the next batch.
+   * @throws Exception the error that stopped the scanner thread.
+   */
+  @Override
+  protected TokenBuffer nextBatch() throws Exception {
+    if (scannerThread == null) {
+      start();
+    }
+
+    if (holding) {
+      ring.release();
+      holding = false;
+    }
+
+    TokenBuffer buffer = ring.take();
+    if (buffer == null) {
+      Throwable failure = ring.getFailure();
+      if (failure == null) {
+        return eofBuffer;
+      } else if (failure instanceof Exception) {
+        throw (Exception) failure;
+      } else if (failure instanceof Error) {
+        throw (Error) failure;
+      } else {
+        throw new IllegalStateException("Scanner thread stopped before the end of file", failure);
+      }
+    }
+
+    holding = true;
+    return buffer;
+  }
+
+  /**
+   * Stop the scanner thread and wait for it. The thread stops once it has filled the batch it is scanning.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  @Override
+  public void close() throws InterruptedException {
+    if (scannerThread != null) {
+      ring.cancel();
+      scannerThread.join();
+    }
+  }
+
+  /**
+   * Start the scanner thread.
+   */
+  private void start() {
+    scannerThread = new Thread(this::produce, "pipelined-scanner");
+    scannerThread.setDaemon(true);
+    scannerThread.start();
+  }
+
+  /**
+   * Scan batches of tokens into the ring until the end of file, an error or the scanner is closed. Runs on the
+   * scanner thread.
+   */
+  private void produce() {
+    try {
+      boolean more;
+      do {
+        TokenBuffer buffer = ring.claim();
+        if (buffer == null) {
+          return;
+        }
+        more = scanner.scan(buffer, BATCH_SIZE);
+
+        // Keep the end of file token for the parser calls after the last batch.
+        if (!more) {
+          int last = buffer.size() - 1;
+          TokenBuffer eof = new TokenBuffer();
+          eof.add(buffer.getType(last), buffer.getLineNum(last), buffer.getPosition(last),
+                  buffer.getText(last), buffer.getValue(last));
+          eofBuffer = eof;
+        }
+        ring.publish();
+      } while (more);
+
+      ring.close(null);
+    } catch (Throwable failure) {
+      ring.close(failure);
+    }
+  }
+}
@@ -5,9 +5,15 @@ package com.rmompati.lang.frontend;
  *
  * <p>A language-independent framework class. This abstract scanner class will be implemented by language-specific
  * subclasses.</p>
+ *
+ * <p>A scanner can also scan tokens into a {@link TokenBuffer}, which is how the pipelined scanner collects the
+ * tokens of another scanner. Scanners that keep their own tokens in buffers extend
+ * {@link BatchScanner}.</p>
  * */
 public abstract class Scanner {
   protected Source source;
+  /** The pool that interns the scanned words. */
+  protected IdentifierPool identifierPool;
   private Token currentToken;
 
   /**
@@ -16,6 +22,8 @@ public abstract class Scanner {
    */
   public Scanner(Source source) {
     this.source = source;
+    this.identifierPool = new IdentifierPool();
+    this.currentToken = null;
   }
 
   /**
@@ -42,6 +50,53 @@ public abstract class Scanner {
    */
   protected abstract Token extractToken() throws Exception;
 
+  /**
+   * Scan tokens from the source into a token buffer. Scanning stops after the end of file token.
+   * @param buffer the token buffer.
+   * @param count the maximum number of tokens to scan.
+   * @return false if the end of file token was scanned, else true.
+   * @throws Exception if an error occurs.
+   */
+  public boolean scan(TokenBuffer buffer, int count) throws Exception {
+    for (int i = 0; i < count; ++i) {
+      if (!scanToken(buffer)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Scan the next token from the source into a token buffer. The default implementation adds the token
+   * extracted by {@link #extractToken()}; scanner subclasses can add the token without creating a token object.
+   * @param buffer the token buffer.
+   * @return false if the token is the end of file, else true.
+   * @throws Exception if an error occurs.
+   */
+  protected boolean scanToken(TokenBuffer buffer) throws Exception {
+    Token token = extractToken();
+    buffer.add(token);
+
+    return !(token instanceof EofToken);
+  }
+
+  /**
+   * Stop scanning and release what the scanner holds. The parser calls this when it is done with the scanner,
+   * whether or not it parsed to the end of the source. The default implementation does nothing.
+   * @throws Exception if an error occurs.
+   */
+  public void close() throws Exception {
+  }
+
+  /**
+   * Gets the identifier pool.
+   * @return the pool that interns the scanned words.
+   */
+  public IdentifierPool getIdentifierPool() {
+    return identifierPool;
+  }
+
   /**
    * Call the source's {@link Source#currentChar()} method.
    * @return the current character from the source.
@@ -20,13 +20,13 @@ public class Source implements MessageProducer {
   /** reader for the source program. */
   private BufferedReader reader;
   /** source line. */
-  private String line;
+  protected String line;
   /** current source line number. */
-  private int lineNum;
+  protected int lineNum;
   /** current source line position. */
-  private int currentPos;
+  protected int currentPos;
 
-  private static MessageHandler messageHandler;
+  protected static MessageHandler messageHandler;
 
   static {
     messageHandler = new MessageHandler();
@@ -44,6 +44,15 @@ public class Source implements MessageProducer {
     this.reader = reader;
   }
 
+  /**
+   * Constructor for subclasses that do not read from a {@link BufferedReader}.
+   */
+  protected Source() {
+    this.lineNum = 0;
+    this.currentPos = -2;
+    this.reader = null;
+  }
+
   /**
    * Return the source character at the current position.
    * @return the source character at the current position.
@@ -92,6 +101,37 @@ public class Source implements MessageProducer {
     return nextPos < line.length() ? line.charAt(nextPos) : EOL;
   }
 
+  /**
+   * Consume blanks and tabs up to the next other character on the line.
+   * Subclasses can skip them in bulk.
+   * @return the source character at the new current position.
+   * @throws Exception if an error occurred.
+   */
+  public char skipBlanks() throws Exception {
+    char c = currentChar();
+    while ((c == ' ') || (c == '\t')) {
+      c = nextChar();
+    }
+
+    return c;
+  }
+
+  /**
+   * Consume characters, across lines, up to the next occurrence of a character or the end of the file.
+   * Subclasses can skip them in bulk.
+   * @param terminator the character to stop at, an ASCII character that is not a line terminator.
+   * @return the terminator, or EOF.
+   * @throws Exception if an error occurred.
+   */
+  public char skipTo(char terminator) throws Exception {
+    char c = currentChar();
+    while ((c != terminator) && (c != EOF)) {
+      c = nextChar();
+    }
+
+    return c;
+  }
+
   /**
    * Read the next source line.
    * @throws IOException if an I/O error occurred.
@@ -175,6 +215,15 @@ public class Source implements MessageProducer {
     messageHandler.removeListener(listener);
   }
 
+  /**
+   * Whether any listener gets the messages of the sources, such as the source lines.
+   *
+   * @return true if there is a listener.
+   */
+  public boolean hasMessageListeners() {
+    return messageHandler.hasListeners();
+  }
+
   /**
    * Notify listeners after setting the message.
    *
@@ -0,0 +1,332 @@
+package com.rmompati.lang.frontend;
+
+import com.rmompati.lang.message.Message;
+import com.rmompati.lang.message.MessageType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h1>StreamingSource</h1>
+ *
+ * <p>A source program read from a stream, such as standard input or a pipe. The bytes are read from a blocking
+ * channel into a fixed byte buffer and decoded as UTF-8 into a fixed ring buffer of characters, which the scanner
+ * consumes as they arrive. Scanning can therefore start before the producer of the stream is done, and the memory
+ * used does not depend on the length of the program or of its lines.</p>
+ *
+ * <p>A line is only materialized as a string when a listener wants the SOURCE_LINE message, since the message
+ * carries the whole line. The characters of such a line are then served from the string.</p>
+ */
+public class StreamingSource extends Source {
+  /** Default number of characters in the ring buffer. */
+  public static final int RING_CAPACITY = 1 << 13;
+  /** Number of bytes in the read buffer and of characters in the decode buffer. */
+  private static final int READ_CAPACITY = 1 << 13;
+
+  /** the channel the source bytes are read from. */
+  private final ReadableByteChannel channel;
+  /** decoder of the source bytes. */
+  private final CharsetDecoder decoder;
+  /** bytes read but not yet decoded. */
+  private final ByteBuffer bytes;
+  /** the ring buffer of decoded characters. */
+  private final char[] ring;
+  /** characters decoded but not yet copied into the ring buffer. */
+  private final CharBuffer chars;
+  /** mask of a ring buffer index. */
+  private final int mask;
+  /** count of the characters consumed from the ring buffer. */
+  private long head;
+  /** count of the characters decoded into the ring buffer. */
+  private long tail;
+  /** true when the channel has no more bytes. */
+  private boolean endOfInput;
+  /** true when the decoder has been flushed after the end of input. */
+  private boolean flushed;
+  /** true when the end of the source has been reached. */
+  private boolean eof;
+  /** true when the ring buffer starts at a line that has not been read yet. */
+  private boolean atNextLine;
+  /** builder of the materialized lines. */
+  private final StringBuilder lineBuilder;
+
+  /**
+   * Constructor.
+   *
+   * @param in the stream of the source program.
+   */
+  public StreamingSource(InputStream in) {
+    this(Channels.newChannel(in), RING_CAPACITY);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param channel the blocking channel of the source program.
+   */
+  public StreamingSource(ReadableByteChannel channel) {
+    this(channel, RING_CAPACITY);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param channel the blocking channel of the source program.
+   * @param capacity the number of characters in the ring buffer, a power of two of at least 2.
+   */
+  public StreamingSource(ReadableByteChannel channel, int capacity) {
+    if ((capacity < 2) || (Integer.bitCount(capacity) != 1)) {
+      throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+    }
+
+    this.channel = channel;
+    this.decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.bytes = ByteBuffer.allocate(READ_CAPACITY);
+    this.bytes.flip();
+    this.ring = new char[capacity];
+    this.chars = CharBuffer.allocate(READ_CAPACITY);
+    this.chars.flip();
+    this.mask = capacity - 1;
+    this.head = 0;
+    this.tail = 0;
+    this.endOfInput = false;
+    this.flushed = false;
+    this.eof = false;
+    this.atNextLine = true;
+    this.lineBuilder = new StringBuilder();
+  }
+
+  /**
+   * Return the source character at the current position.
+   *
+   * @return the source character at the current position.
+   * @throws Exception if an error occurred.
+   */
+  @Override
+  public char currentChar() throws Exception {
+    if (currentPos == -2) {
+      readLine();
+      return nextChar();
+    } else if (eof) {
+      return EOF;
+    } else if (line != null) {
+      return super.currentChar();
+    } else if ((currentPos == -1) || atLineEnd()) {
+      return EOL;
+    } else {
+      return ring[(int) head & mask];
+    }
+  }
+
+  /**
+   * Consume the current source character and return the next character.
+   *
+   * @return next source character.
+   * @throws Exception if an error occurred.
+   */
+  @Override
+  public char nextChar() throws Exception {
+    if ((currentPos == -2) || eof || (line != null)) {
+      return super.nextChar();
+    }
+
+    if (currentPos == -1) {
+      // Position -1 is the end of the previous line, so the ring buffer already starts at the first character.
+      ++currentPos;
+    } else if (atLineEnd()) {
+      skipLineTerminator();
+      readLine();
+      return nextChar();
+    } else {
+      ++head;
+      ++currentPos;
+    }
+
+    return currentChar();
+  }
+
+  /**
+   * Return the source character following the current character without consuming the current character.
+   *
+   * @return the following character.
+   * @throws Exception if an error occurred.
+   */
+  @Override
+  public char peekChar() throws Exception {
+    currentChar();
+
+    if (eof) {
+      return EOF;
+    } else if (line != null) {
+      return super.peekChar();
+    } else if (currentPos == -1) {
+      return atLineEnd() ? EOL : ring[(int) head & mask];
+    } else if (atLineEnd() || (fill(2) < 2) || isLineTerminator(ring[(int) (head + 1) & mask])) {
+      return EOL;
+    } else {
+      return ring[(int) (head + 1) & mask];
+    }
+  }
+
+  /**
+   * Advance to the next source line, skipping what is left of the current line. The line terminator may be "\n",
+   * "\r" or "\r\n".
+   *
+   * @throws IOException if an I/O error occurred.
+   */
+  @Override
+  public void readLine() throws IOException {
+    if (!atNextLine) {
+      while (!atLineEnd()) {
+        ++head;
+      }
+      skipLineTerminator();
+    }
+
+    currentPos = -1;
+    line = null;
+
+    if (fill(1) == 0) {
+      eof = true;
+      return;
+    }
+
+    ++lineNum;
+    atNextLine = false;
+
+    if (messageHandler.hasListeners()) {
+      line = materializeLine();
+      sendMessage(new Message(MessageType.SOURCE_LINE, new Object[]{lineNum, line}));
+    }
+  }
+
+  /**
+   * Close the source and its channel.
+   *
+   * @throws Exception if an error occurred.
+   */
+  @Override
+  public void close() throws Exception {
+    channel.close();
+  }
+
+  /**
+   * Gets the text of the current line. Only the lines sent to listeners are materialized.
+   *
+   * @return the text of the line, or null.
+   */
+  @Override
+  public String getLine() {
+    return line;
+  }
+
+  /**
+   * Consume the rest of the current line, which must be at its start, into a string along with its terminator.
+   *
+   * @return the text of the line.
+   * @throws IOException if an I/O error occurred.
+   */
+  private String materializeLine() throws IOException {
+    lineBuilder.setLength(0);
+    while (!atLineEnd()) {
+      int start = (int) head & mask;
+      int end = start + (int) Math.min(tail - head, ring.length - start);
+      int i = start;
+      while ((i < end) && !isLineTerminator(ring[i])) {
+        ++i;
+      }
+
+      lineBuilder.append(ring, start, i - start);
+      head += i - start;
+    }
+    skipLineTerminator();
+
+    return lineBuilder.toString();
+  }
+
+  /**
+   * Test if the ring buffer is at the terminator of the current line or at the end of the input.
+   *
+   * @return true if it is.
+   * @throws IOException if an I/O error occurred.
+   */
+  private boolean atLineEnd() throws IOException {
+    return (fill(1) == 0) || isLineTerminator(ring[(int) head & mask]);
+  }
+
+  /**
+   * Consume the line terminator that the ring buffer is at, if any.
+   *
+   * @throws IOException if an I/O error occurred.
+   */
+  private void skipLineTerminator() throws IOException {
+    if (fill(1) > 0) {
+      char c = ring[(int) head & mask];
+      ++head;
+      if ((c == '\r') && (fill(1) > 0) && (ring[(int) head & mask] == '\n')) {
+        ++head;
+      }
+    }
+    atNextLine = true;
+  }
+
+  /**
+   * Read and decode until the ring buffer holds a number of unconsumed characters or the input ends.
+   *
+   * @param count the number of characters wanted, at most the capacity of the ring buffer.
+   * @return the number of unconsumed characters, which is less than the count only at the end of the input.
+   * @throws IOException if an I/O error occurred.
+   */
+  private int fill(int count) throws IOException {
+    while (tail - head < count) {
+      if (chars.hasRemaining()) {
+        // Copy decoded characters into the free part of the ring buffer, which may wrap around.
+        int start = (int) tail & mask;
+        int length = (int) Math.min(chars.remaining(), Math.min(ring.length - (tail - head), ring.length - start));
+        chars.get(ring, start, length);
+        tail += length;
+      } else if (flushed) {
+        break;
+      } else {
+        decode();
+      }
+    }
+
+    return (int) (tail - head);
+  }
+
+  /**
+   * Decode the bytes read so far into the decode buffer, reading more bytes from the channel if there are not
+   * enough of them to decode a character.
+   *
+   * @throws IOException if an I/O error occurred.
+   */
+  private void decode() throws IOException {
+    chars.clear();
+    CoderResult result = decoder.decode(bytes, chars, endOfInput);
+    if (result.isUnderflow() && endOfInput) {
+      flushed = decoder.flush(chars).isUnderflow();
+    }
+    chars.flip();
+
+    if (result.isUnderflow() && !endOfInput && !chars.hasRemaining()) {
+      bytes.compact();
+      endOfInput = channel.read(bytes) < 0;
+      bytes.flip();
+    }
+  }
+
+  private static boolean isLineTerminator(char c) {
+    return (c == '\n') || (c == '\r');
+  }
+}
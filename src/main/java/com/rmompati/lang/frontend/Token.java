@@ -27,6 +27,18 @@ public class Token {
     extract();
   }
 
+  /**
+   * Constructor for a token whose characters have already been consumed by the scanner.
+   * @param source the source the token was extracted from.
+   * @param lineNum the line number of the token's first character.
+   * @param position the position of the token's first character.
+   */
+  protected Token(Source source, int lineNum, int position) {
+    this.source = source;
+    this.lineNum = lineNum;
+    this.position = position;
+  }
+
   /**
    * Default method to extract exactly one-character tokens from the source.
    * Subclasses can override this method to construct language-specific tokens. After extracting the token, the
@@ -0,0 +1,201 @@
+package com.rmompati.lang.frontend;
+
+import java.util.Arrays;
+
+/**
+ * <h1>TokenBuffer</h1>
+ *
+ * <p>A compact buffer of scanned tokens. Each token is a row across parallel primitive arrays holding the ordinal of
+ * its type, its line number, its position, and the offset and length of its text in a shared character array. Token
+ * values are held in a side table, and the text of a token is only turned into a string when it is asked for, unless
+ * the scanner already had the string. Once the arrays have grown to their working size, a cleared buffer is refilled
+ * without allocating.</p>
+ */
+public class TokenBuffer {
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int INITIAL_CHARS_CAPACITY = 256;
+
+  /** Length of a token without text, such as the end of file. */
+  private static final int NO_TEXT = -1;
+
+  /** Token types indexed by ordinal. */
+  private TokenType[] typeTable = new TokenType[64];
+
+  private int[] types = new int[INITIAL_CAPACITY];
+  private int[] lineNums = new int[INITIAL_CAPACITY];
+  private int[] positions = new int[INITIAL_CAPACITY];
+  private int[] starts = new int[INITIAL_CAPACITY];
+  private int[] lengths = new int[INITIAL_CAPACITY];
+  /** Token values, the side table. */
+  private Object[] values = new Object[INITIAL_CAPACITY];
+  /** Token text strings, either supplied by the scanner or materialized on demand. */
+  private String[] texts = new String[INITIAL_CAPACITY];
+  /** Number of tokens in the buffer. */
+  private int size = 0;
+
+  /** The characters of the token texts. */
+  private char[] chars = new char[INITIAL_CHARS_CAPACITY];
+  private int charsLength = 0;
+
+  /**
+   * Add a token whose text is held in a character buffer.
+   * @param type the token type.
+   * @param lineNum the line number of the token's first character.
+   * @param position the position of the token's first character.
+   * @param text the character buffer.
+   * @param offset the offset of the text's first character.
+   * @param length the length of the text.
+   * @param value the token value, if any.
+   * @return the index of the token.
+   */
+  public int add(TokenType type, int lineNum, int position, char[] text, int offset, int length, Object value) {
+    int index = addRow(type, lineNum, position, value);
+    appendChars(index, length);
+    System.arraycopy(text, offset, chars, starts[index], length);
+    texts[index] = null;
+
+    return index;
+  }
+
+  /**
+   * Add a token whose text is already a string.
+   * @param type the token type.
+   * @param lineNum the line number of the token's first character.
+   * @param position the position of the token's first character.
+   * @param text the token text, or null if the token has no text.
+   * @param value the token value, if any.
+   * @return the index of the token.
+   */
+  public int add(TokenType type, int lineNum, int position, String text, Object value) {
+    int index = addRow(type, lineNum, position, value);
+    if (text != null) {
+      appendChars(index, text.length());
+      text.getChars(0, text.length(), chars, starts[index]);
+    } else {
+      starts[index] = charsLength;
+      lengths[index] = NO_TEXT;
+    }
+    texts[index] = text;
+
+    return index;
+  }
+
+  /**
+   * Add a token object.
+   * @param token the token.
+   * @return the index of the token.
+   */
+  public int add(Token token) {
+    return add(token.getType(), token.getLineNum(), token.getPosition(), token.getText(), token.getValue());
+  }
+
+  /**
+   * Remove all the tokens, keeping the arrays for reuse.
+   */
+  public void clear() {
+    Arrays.fill(values, 0, size, null);
+    Arrays.fill(texts, 0, size, null);
+    size = 0;
+    charsLength = 0;
+  }
+
+  /**
+   * Gets the number of tokens in the buffer.
+   * @return the number of tokens.
+   */
+  public int size() {
+    return size;
+  }
+
+  public TokenType getType(int index) {
+    return typeTable[types[index]];
+  }
+
+  public int getLineNum(int index) {
+    return lineNums[index];
+  }
+
+  public int getPosition(int index) {
+    return positions[index];
+  }
+
+  public int getStart(int index) {
+    return starts[index];
+  }
+
+  public int getLength(int index) {
+    return lengths[index];
+  }
+
+  public Object getValue(int index) {
+    return values[index];
+  }
+
+  /**
+   * Gets the character array that holds the token texts.
+   * @return the character array, valid until the next token is added.
+   */
+  public char[] getChars() {
+    return chars;
+  }
+
+  /**
+   * Gets the text of a token, turning it into a string on first use.
+   * @param index the index of the token.
+   * @return the text, or null if the token has no text.
+   */
+  public String getText(int index) {
+    String text = texts[index];
+    if ((text == null) && (lengths[index] != NO_TEXT)) {
+      text = new String(chars, starts[index], lengths[index]);
+      texts[index] = text;
+    }
+
+    return text;
+  }
+
+  /**
+   * Add the row of a token, growing the arrays if necessary.
+   * @return the index of the row.
+   */
+  private int addRow(TokenType type, int lineNum, int position, Object value) {
+    if (size == types.length) {
+      int capacity = 2 * size;
+      types = Arrays.copyOf(types, capacity);
+      lineNums = Arrays.copyOf(lineNums, capacity);
+      positions = Arrays.copyOf(positions, capacity);
+      starts = Arrays.copyOf(starts, capacity);
+      lengths = Arrays.copyOf(lengths, capacity);
+      values = Arrays.copyOf(values, capacity);
+      texts = Arrays.copyOf(texts, capacity);
+    }
+
+    int ordinal = type.ordinal();
+    if (ordinal >= typeTable.length) {
+      typeTable = Arrays.copyOf(typeTable, Math.max(2 * typeTable.length, ordinal + 1));
+    }
+    typeTable[ordinal] = type;
+
+    int index = size++;
+    types[index] = ordinal;
+    lineNums[index] = lineNum;
+    positions[index] = position;
+    values[index] = value;
+
+    return index;
+  }
+
+  /**
+   * Reserve room for the characters of a token's text.
+   */
+  private void appendChars(int index, int length) {
+    if (charsLength + length > chars.length) {
+      chars = Arrays.copyOf(chars, Math.max(2 * chars.length, charsLength + length));
+    }
+
+    starts[index] = charsLength;
+    lengths[index] = length;
+    charsLength += length;
+  }
+}
@@ -0,0 +1,71 @@
+package com.rmompati.lang.frontend;
+
+/**
+ * <h1>TokenCursor</h1>
+ *
+ * <p>A token that is a movable view of the tokens in a {@link TokenBuffer}. A scanner hands out the same cursor for
+ * every token, so a parser that needs a field of a token after moving on, such as its line number, must copy that
+ * field first.</p>
+ */
+public class TokenCursor extends Token {
+
+  private TokenBuffer buffer;
+  /** The index of the current token in the buffer, or -1 before the first token. */
+  private int index;
+
+  /**
+   * Constructor.
+   * @param source the source the tokens are extracted from.
+   * @param buffer the token buffer.
+   */
+  public TokenCursor(Source source, TokenBuffer buffer) {
+    super(source, 0, 0);
+    this.buffer = buffer;
+    this.index = -1;
+  }
+
+  /**
+   * Move the cursor to before the first token of a buffer.
+   * @param buffer the token buffer.
+   */
+  public void reset(TokenBuffer buffer) {
+    this.buffer = buffer;
+    this.index = -1;
+  }
+
+  /**
+   * Move the cursor to the next token of the buffer.
+   * @return true if the cursor is on a token, false if it has moved past the last token.
+   */
+  public boolean next() {
+    if (index + 1 >= buffer.size()) {
+      return false;
+    }
+
+    ++index;
+    type = buffer.getType(index);
+    text = null;
+    value = buffer.getValue(index);
+    lineNum = buffer.getLineNum(index);
+    position = buffer.getPosition(index);
+
+    return true;
+  }
+
+  /**
+   * Gets the index of the current token in the buffer.
+   * @return the index.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  @Override
+  public String getText() {
+    if (text == null) {
+      text = buffer.getText(index);
+    }
+
+    return text;
+  }
+}
@@ -0,0 +1,147 @@
+package com.rmompati.lang.frontend;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h1>TokenRing</h1>
+ *
+ * <p>A bounded single-producer, single-consumer ring of token buffers. The producer claims a free buffer, fills it
+ * with a batch of tokens and publishes it; the consumer takes the published buffers in order and releases each one
+ * when it is done with it. A producer that gets too far ahead waits for the consumer to release a buffer. The counters
+ * are volatile, so publishing a buffer also publishes its contents to the consumer.</p>
+ */
+public class TokenRing {
+
+  /** Number of busy-wait iterations before a waiting thread parks. */
+  private static final int SPIN_LIMIT = 100;
+  /** How long a waiting thread parks before checking the ring again. */
+  private static final long PARK_NANOS = 20_000L;
+
+  private final TokenBuffer[] slots;
+  private final int mask;
+
+  /** Number of buffers published by the producer. */
+  private volatile long published;
+  /** Number of buffers released by the consumer. */
+  private volatile long released;
+  /** Set by the producer once it will publish no more buffers. */
+  private volatile boolean closed;
+  /** The error that stopped the producer, if any. */
+  private volatile Throwable failure;
+  /** Set by the consumer once it will take no more buffers. */
+  private volatile boolean cancelled;
+
+  /**
+   * Constructor.
+   * @param capacity the number of buffers, which must be a power of two.
+   */
+  public TokenRing(int capacity) {
+    if (Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Token ring capacity must be a power of two: " + capacity);
+    }
+
+    this.slots = new TokenBuffer[capacity];
+    this.mask = capacity - 1;
+    for (int i = 0; i < capacity; ++i) {
+      slots[i] = new TokenBuffer();
+    }
+
+    this.published = 0;
+    this.released = 0;
+    this.closed = false;
+    this.failure = null;
+    this.cancelled = false;
+  }
+
+  /**
+   * Claim the next free buffer for the producer to fill, waiting while the ring is full.
+   * @return the cleared buffer, or null if the consumer has cancelled the ring.
+   */
+  public TokenBuffer claim() {
+    int spins = 0;
+    while (published - released == slots.length) {
+      if (cancelled) {
+        return null;
+      }
+      spins = pause(spins);
+    }
+    if (cancelled) {
+      return null;
+    }
+
+    TokenBuffer buffer = slots[(int) published & mask];
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Publish the claimed buffer to the consumer.
+   */
+  public void publish() {
+    published = published + 1;
+  }
+
+  /**
+   * Tell the consumer that no more buffers will be published.
+   * @param failure the error that stopped the producer, or null if it reached the end of the tokens.
+   */
+  public void close(Throwable failure) {
+    this.failure = failure;
+    this.closed = true;
+  }
+
+  /**
+   * Take the next published buffer, waiting while the ring is empty. The consumer releases the buffer
+   * with {@link #release()} before it takes the next one.
+   * @return the buffer, or null if the producer has closed the ring and every buffer has been taken.
+   */
+  public TokenBuffer take() {
+    int spins = 0;
+    while (released == published) {
+      if (closed) {
+        // Check again, the producer may have published before closing.
+        return (released == published) ? null : slots[(int) released & mask];
+      }
+      spins = pause(spins);
+    }
+
+    return slots[(int) released & mask];
+  }
+
+  /**
+   * Release the buffer that was taken last, so that the producer can refill it.
+   */
+  public void release() {
+    released = released + 1;
+  }
+
+  /**
+   * Tell the producer that no more buffers will be taken, so that it stops at its next claim.
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Gets the error that stopped the producer.
+   * @return the error, or null if there was none.
+   */
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  /**
+   * Wait a little for the other thread, first by spinning and then by parking.
+   * @param spins the number of times the caller has waited so far.
+   * @return the updated number of times.
+   */
+  private int pause(int spins) {
+    if (spins < SPIN_LIMIT) {
+      Thread.onSpinWait();
+    } else {
+      LockSupport.parkNanos(this, PARK_NANOS);
+    }
+
+    return spins + 1;
+  }
+}
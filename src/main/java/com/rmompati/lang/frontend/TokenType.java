@@ -1,4 +1,11 @@
 package com.rmompati.lang.frontend;
 
 public interface TokenType {
+
+  /**
+   * Gets the ordinal of the token type. The ordinals of a language's token types are distinct small integers, which
+   * the enum implementations get for free.
+   * @return the ordinal.
+   */
+  public int ordinal();
 }
@@ -19,4 +19,10 @@ public interface ICode {
    * @return the root node.
    */
   ICodeNode getRoot();
+
+  /**
+   * Gets the number of node IDs handed out, which bounds the IDs of the nodes.
+   * @return the number of node IDs.
+   */
+  int getNodeCount();
 }
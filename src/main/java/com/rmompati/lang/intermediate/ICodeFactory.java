@@ -1,5 +1,7 @@
 package com.rmompati.lang.intermediate;
 
+import com.rmompati.lang.intermediate.icodeimpl.FlatICodeImpl;
+import com.rmompati.lang.intermediate.icodeimpl.HashConser;
 import com.rmompati.lang.intermediate.icodeimpl.ICodeImpl;
 import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeImpl;
 
@@ -18,6 +20,27 @@ public class ICodeFactory {
     return new ICodeImpl();
   }
 
+  /**
+   * Creates and returns a flat copy of intermediate code, whose nodes are stored in arenas of ints.
+   * @param iCode the intermediate code to copy, which must not be hash-consed.
+   * @return the flat intermediate code implementation.
+   * @throws IllegalArgumentException if the intermediate code is hash-consed.
+   */
+  public static ICode createFlatICode(ICode iCode) {
+    return new FlatICodeImpl(iCode);
+  }
+
+  /**
+   * Shares the structurally identical subtrees of intermediate code that only read variables and constants. The
+   * shared nodes can no longer change, and have no parent.
+   * @param iCode the intermediate code, which is changed in place.
+   * @return the intermediate code.
+   */
+  public static ICode hashCons(ICode iCode) {
+    new HashConser().share(iCode);
+    return iCode;
+  }
+
   /**
    * Creates and returns a node implementation.
    * @param type the type of the node.
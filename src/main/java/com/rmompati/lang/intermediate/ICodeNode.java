@@ -15,6 +15,12 @@ public interface ICodeNode {
    */
   ICodeNodeType getType();
 
+  /**
+   * Gets the dense ID of the node, which indexes the side tables of its intermediate code.
+   * @return the ID, or -1 if the node is not yet part of intermediate code.
+   */
+  int getNodeId();
+
   /**
    * Gets the parent of this node.
    * @return the parent of this node.
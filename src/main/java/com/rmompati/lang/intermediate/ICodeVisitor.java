@@ -0,0 +1,26 @@
+package com.rmompati.lang.intermediate;
+
+import java.util.List;
+
+/**
+ * <h1>ICodeVisitor</h1>
+ *
+ * <p>The interface for a pass over the intermediate code driven by an {@link ICodeWalker}.</p>
+ */
+public interface ICodeVisitor {
+
+  /**
+   * Called when the walk enters a node, before its children.
+   * @param node the node.
+   * @param children the children of the node, as returned by {@link ICodeNode#getChildren()}.
+   * @return true to walk the children of the node, or false to skip them.
+   */
+  boolean enter(ICodeNode node, List<ICodeNode> children);
+
+  /**
+   * Called when the walk leaves a node, after its children. It is called whether or not the children were walked.
+   * @param node the node.
+   * @param children the children of the node, as passed to {@link #enter}.
+   */
+  void leave(ICodeNode node, List<ICodeNode> children);
+}
@@ -0,0 +1,97 @@
+package com.rmompati.lang.intermediate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h1>ICodeWalker</h1>
+ *
+ * <p>Walks a tree of intermediate code depth first, calling a visitor in preorder and in postorder. The walk keeps the
+ * path from the root to the current node on an explicit stack instead of recursing, so it takes constant Java stack
+ * depth however deep the tree is.</p>
+ */
+public class ICodeWalker {
+
+  // The stack of the nodes on the path to the current node, of their children and of the indexes of their next
+  // children to walk.
+  private ICodeNode[] nodes;
+  private List<ICodeNode>[] childLists;
+  private int[] nextChildren;
+  private int depth;
+
+  @SuppressWarnings("unchecked")
+  public ICodeWalker() {
+    this.nodes = new ICodeNode[16];
+    this.childLists = (List<ICodeNode>[]) new List<?>[16];
+    this.nextChildren = new int[16];
+    this.depth = 0;
+  }
+
+  /**
+   * Walks the tree of intermediate code.
+   * @param iCode the intermediate code.
+   * @param visitor the visitor.
+   */
+  public void walk(ICode iCode, ICodeVisitor visitor) {
+    if (iCode.getRoot() != null) {
+      walk(iCode.getRoot(), visitor);
+    }
+  }
+
+  /**
+   * Walks a tree.
+   * @param root the root node of the tree.
+   * @param visitor the visitor.
+   */
+  public void walk(ICodeNode root, ICodeVisitor visitor) {
+    depth = 0;
+    push(root, visitor);
+
+    while (depth > 0) {
+      int top = depth - 1;
+      List<ICodeNode> children = childLists[top];
+
+      if (nextChildren[top] < children.size()) {
+        push(children.get(nextChildren[top]++), visitor);
+      } else {
+        visitor.leave(nodes[top], children);
+        nodes[top] = null;
+        childLists[top] = null;
+        --depth;
+      }
+    }
+  }
+
+  /**
+   * Gets the depth of the node being entered or left.
+   * @return the number of its ancestors.
+   */
+  public int getDepth() {
+    return depth - 1;
+  }
+
+  /**
+   * Enters a node and pushes it on the stack.
+   */
+  private void push(ICodeNode node, ICodeVisitor visitor) {
+    if (depth == nodes.length) {
+      nodes = Arrays.copyOf(nodes, 2 * depth);
+      childLists = Arrays.copyOf(childLists, 2 * depth);
+      nextChildren = Arrays.copyOf(nextChildren, 2 * depth);
+    }
+
+    List<ICodeNode> children = node.getChildren();
+    if (children == null) {
+      children = Collections.emptyList();
+    }
+    nodes[depth] = node;
+    childLists[depth] = children;
+    nextChildren[depth] = 0;
+    ++depth;
+
+    if (!visitor.enter(node, children)) {
+      nextChildren[depth - 1] = children.size();
+    }
+  }
+}
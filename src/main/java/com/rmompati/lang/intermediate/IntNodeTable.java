@@ -0,0 +1,77 @@
+package com.rmompati.lang.intermediate;
+
+import java.util.Arrays;
+
+/**
+ * <h1>IntNodeTable</h1>
+ *
+ * <p>A side table of ints indexed by the node IDs of intermediate code, such as execution counts. The ints of the
+ * nodes that were never set are zero.</p>
+ */
+public class IntNodeTable {
+
+  private final ICode iCode;
+  private int[] values;
+
+  /**
+   * Constructor.
+   * @param iCode the intermediate code whose nodes are annotated.
+   */
+  public IntNodeTable(ICode iCode) {
+    this.iCode = iCode;
+    this.values = new int[iCode.getNodeCount()];
+  }
+
+  /**
+   * Gets the intermediate code whose nodes are annotated.
+   * @return the intermediate code.
+   */
+  public ICode getICode() {
+    return iCode;
+  }
+
+  /**
+   * Gets the int of a node.
+   * @param node the node.
+   * @return the int.
+   */
+  public int get(ICodeNode node) {
+    int id = NodeTables.id(node);
+    return (id < values.length) ? values[id] : 0;
+  }
+
+  /**
+   * Sets the int of a node.
+   * @param node the node.
+   * @param value the int.
+   */
+  public void set(ICodeNode node, int value) {
+    int id = slot(node);
+    values[id] = value;
+  }
+
+  /**
+   * Adds to the int of a node.
+   * @param node the node.
+   * @param delta the amount to add.
+   * @return the new int.
+   */
+  public int add(ICodeNode node, int delta) {
+    int id = slot(node);
+    return values[id] += delta;
+  }
+
+  /**
+   * Gets the index of a node, growing the table to hold it. The caller indexes the array only after the call, since
+   * the table may replace it.
+   * @param node the node.
+   * @return the index.
+   */
+  private int slot(ICodeNode node) {
+    int id = NodeTables.id(node);
+    if (id >= values.length) {
+      values = Arrays.copyOf(values, NodeTables.capacity(iCode, id, values.length));
+    }
+    return id;
+  }
+}
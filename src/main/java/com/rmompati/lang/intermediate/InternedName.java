@@ -0,0 +1,79 @@
+package com.rmompati.lang.intermediate;
+
+/**
+ * <h1>InternedName</h1>
+ *
+ * <p>The canonical, lower-cased name of an identifier with its hash code computed once. Names handed out by an
+ * identifier pool are unique per spelling, so they usually compare equal by identity, but names created elsewhere
+ * still compare equal by their text.</p>
+ *
+ * <p>A name also holds its binding: the symbol table entry that a table last entered or found under this very name
+ * object. A table only trusts the binding if the entry is its own, so names shared by nested tables stay correct, and
+ * a lookup by a pooled name usually needs no search at all.</p>
+ */
+public final class InternedName implements Comparable<InternedName> {
+
+  private final String text;
+  private final int hash;
+  private SymTableEntry binding;
+
+  /**
+   * Constructor.
+   * @param text the canonical text of the name.
+   */
+  public InternedName(String text) {
+    this.text = text;
+    this.hash = text.hashCode();
+  }
+
+  /**
+   * Gets the canonical text of the name.
+   * @return the text.
+   */
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * Gets the binding of the name.
+   * @return the symbol table entry last bound to the name, or null.
+   */
+  public SymTableEntry getBinding() {
+    return binding;
+  }
+
+  /**
+   * Binds the name to a symbol table entry.
+   * @param binding the entry.
+   */
+  public void bind(SymTableEntry binding) {
+    this.binding = binding;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (!(other instanceof InternedName)) {
+      return false;
+    }
+
+    InternedName name = (InternedName) other;
+    return (hash == name.hash) && text.equals(name.text);
+  }
+
+  @Override
+  public int compareTo(InternedName other) {
+    return (this == other) ? 0 : text.compareTo(other.text);
+  }
+
+  @Override
+  public String toString() {
+    return text;
+  }
+}
@@ -0,0 +1,77 @@
+package com.rmompati.lang.intermediate;
+
+import java.util.Arrays;
+
+/**
+ * <h1>LongNodeTable</h1>
+ *
+ * <p>A side table of longs indexed by the node IDs of intermediate code, such as elapsed times. The longs of the
+ * nodes that were never set are zero.</p>
+ */
+public class LongNodeTable {
+
+  private final ICode iCode;
+  private long[] values;
+
+  /**
+   * Constructor.
+   * @param iCode the intermediate code whose nodes are annotated.
+   */
+  public LongNodeTable(ICode iCode) {
+    this.iCode = iCode;
+    this.values = new long[iCode.getNodeCount()];
+  }
+
+  /**
+   * Gets the intermediate code whose nodes are annotated.
+   * @return the intermediate code.
+   */
+  public ICode getICode() {
+    return iCode;
+  }
+
+  /**
+   * Gets the long of a node.
+   * @param node the node.
+   * @return the long.
+   */
+  public long get(ICodeNode node) {
+    int id = NodeTables.id(node);
+    return (id < values.length) ? values[id] : 0;
+  }
+
+  /**
+   * Sets the long of a node.
+   * @param node the node.
+   * @param value the long.
+   */
+  public void set(ICodeNode node, long value) {
+    int id = slot(node);
+    values[id] = value;
+  }
+
+  /**
+   * Adds to the long of a node.
+   * @param node the node.
+   * @param delta the amount to add.
+   * @return the new long.
+   */
+  public long add(ICodeNode node, long delta) {
+    int id = slot(node);
+    return values[id] += delta;
+  }
+
+  /**
+   * Gets the index of a node, growing the table to hold it. The caller indexes the array only after the call, since
+   * the table may replace it.
+   * @param node the node.
+   * @return the index.
+   */
+  private int slot(ICodeNode node) {
+    int id = NodeTables.id(node);
+    if (id >= values.length) {
+      values = Arrays.copyOf(values, NodeTables.capacity(iCode, id, values.length));
+    }
+    return id;
+  }
+}
@@ -0,0 +1,59 @@
+package com.rmompati.lang.intermediate;
+
+import java.util.Arrays;
+
+/**
+ * <h1>NodeTable</h1>
+ *
+ * <p>A side table of objects indexed by the node IDs of intermediate code. A backend component allocates one per
+ * analysis to annotate the nodes, and a lookup is an array access. The table grows for nodes given IDs after it was
+ * allocated.</p>
+ *
+ * @param <T> the type of the objects.
+ */
+public class NodeTable<T> {
+
+  private final ICode iCode;
+  private Object[] values;
+
+  /**
+   * Constructor.
+   * @param iCode the intermediate code whose nodes are annotated.
+   */
+  public NodeTable(ICode iCode) {
+    this.iCode = iCode;
+    this.values = new Object[iCode.getNodeCount()];
+  }
+
+  /**
+   * Gets the intermediate code whose nodes are annotated.
+   * @return the intermediate code.
+   */
+  public ICode getICode() {
+    return iCode;
+  }
+
+  /**
+   * Gets the object of a node.
+   * @param node the node.
+   * @return the object, or null if none was set.
+   */
+  @SuppressWarnings("unchecked")
+  public T get(ICodeNode node) {
+    int id = NodeTables.id(node);
+    return (id < values.length) ? (T) values[id] : null;
+  }
+
+  /**
+   * Sets the object of a node.
+   * @param node the node.
+   * @param value the object.
+   */
+  public void set(ICodeNode node, T value) {
+    int id = NodeTables.id(node);
+    if (id >= values.length) {
+      values = Arrays.copyOf(values, NodeTables.capacity(iCode, id, values.length));
+    }
+    values[id] = value;
+  }
+}
@@ -0,0 +1,33 @@
+package com.rmompati.lang.intermediate;
+
+/**
+ * <h1>NodeTables</h1>
+ *
+ * <p>Helpers of the side tables indexed by node IDs.</p>
+ */
+class NodeTables {
+
+  /**
+   * Gets the ID of a node to annotate.
+   * @param node the node.
+   * @return the ID.
+   */
+  static int id(ICodeNode node) {
+    int id = node.getNodeId();
+    if (id < 0) {
+      throw new IllegalArgumentException("Node " + node + " has no ID");
+    }
+    return id;
+  }
+
+  /**
+   * Gets the capacity that a side table grows to for an ID.
+   * @param iCode the intermediate code whose nodes are annotated.
+   * @param id the ID.
+   * @param length the current capacity.
+   * @return the capacity.
+   */
+  static int capacity(ICode iCode, int id, int length) {
+    return Math.max(Math.max(iCode.getNodeCount(), id + 1), 2 * length);
+  }
+}
@@ -0,0 +1,137 @@
+package com.rmompati.lang.intermediate;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.ID;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.VARIABLE;
+
+/**
+ * <h1>ScopeResolver</h1>
+ *
+ * <p>Resolves the variables of intermediate code to static addresses: the nesting level of the symbol table that
+ * defines a variable, and the index of its slot among the variables of that level. The parser has already looked each
+ * name up along the scope chain of the symbol table stack, so the ID of a VARIABLE node is the entry of the scope that
+ * defines it, and one walk over the tree assigns the slots in the order the variables are first met.</p>
+ *
+ * <p>The addresses are kept in a side table indexed by the node IDs, so they can be recorded on shared and flat nodes
+ * alike, and an executor reads the address of a VARIABLE node with an array index instead of hashing.</p>
+ */
+public class ScopeResolver {
+  /** The level and the slot of a node that is not a variable. */
+  public static final int UNRESOLVED = -1;
+
+  // An address packs the level plus one above the slot, so that the address of an unresolved node is zero.
+  private static final int SLOT_BITS = 24;
+  private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+  private static final int MAX_LEVEL = (Integer.MAX_VALUE >>> SLOT_BITS) - 1;
+
+  private final ICode iCode;
+  private final IntNodeTable addresses;
+  private final IdentityHashMap<SymTableEntry, Integer> entryAddresses;
+  private int[] frameSizes;
+
+  /**
+   * Constructor. Resolves the variables of intermediate code.
+   * @param iCode the intermediate code.
+   */
+  public ScopeResolver(ICode iCode) {
+    this.iCode = iCode;
+    this.addresses = new IntNodeTable(iCode);
+    this.entryAddresses = new IdentityHashMap<>();
+    this.frameSizes = new int[1];
+
+    new ICodeWalker().walk(iCode, new VariableResolver());
+  }
+
+  /**
+   * Gets the intermediate code whose variables are resolved.
+   * @return the intermediate code.
+   */
+  public ICode getICode() {
+    return iCode;
+  }
+
+  /**
+   * Gets the nesting level of the variable of a node.
+   * @param node the VARIABLE node.
+   * @return the nesting level, or UNRESOLVED if the node is not a variable.
+   */
+  public int getLevel(ICodeNode node) {
+    return (addresses.get(node) >>> SLOT_BITS) - 1;
+  }
+
+  /**
+   * Gets the slot of the variable of a node.
+   * @param node the VARIABLE node.
+   * @return the index of the slot in the frame of the variable's nesting level, or UNRESOLVED if the node is not a
+   * variable.
+   */
+  public int getSlot(ICodeNode node) {
+    int address = addresses.get(node);
+    return (address != 0) ? address & SLOT_MASK : UNRESOLVED;
+  }
+
+  /**
+   * Gets the number of nesting levels that have variables, which is one more than the deepest such level.
+   * @return the number of nesting levels.
+   */
+  public int getLevelCount() {
+    return frameSizes.length;
+  }
+
+  /**
+   * Gets the number of slots of the variables of a nesting level.
+   * @param level the nesting level.
+   * @return the number of slots.
+   */
+  public int getFrameSize(int level) {
+    return (level < frameSizes.length) ? frameSizes[level] : 0;
+  }
+
+  /**
+   * Assigns the slots of the variables and records the addresses of the VARIABLE nodes.
+   */
+  private class VariableResolver implements ICodeVisitor {
+
+    @Override
+    public boolean enter(ICodeNode node, List<ICodeNode> children) {
+      SymTableEntry entry = (SymTableEntry) node.getAttribute(ID);
+      if ((node.getType() == VARIABLE) && (entry != null)) {
+        addresses.set(node, address(entry));
+      }
+      return true;
+    }
+
+    @Override
+    public void leave(ICodeNode node, List<ICodeNode> children) {
+    }
+
+    /**
+     * Gets the address of a variable, assigning it the next slot of its nesting level when it is first met.
+     * @param entry the symbol table entry of the variable.
+     * @return the address.
+     */
+    private int address(SymTableEntry entry) {
+      Integer address = entryAddresses.get(entry);
+      if (address == null) {
+        int level = entry.getSymTable().getNestingLevel();
+        if (level > MAX_LEVEL) {
+          throw new IllegalStateException("Nesting level " + level + " of " + entry.getName() + " is too deep");
+        }
+        if (level >= frameSizes.length) {
+          frameSizes = Arrays.copyOf(frameSizes, level + 1);
+        }
+        if (frameSizes[level] > SLOT_MASK) {
+          throw new IllegalStateException("Too many variables at nesting level " + level);
+        }
+
+        address = ((level + 1) << SLOT_BITS) | frameSizes[level]++;
+        entryAddresses.put(entry, address);
+      }
+
+      return address;
+    }
+  }
+}
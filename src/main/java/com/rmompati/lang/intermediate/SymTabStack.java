@@ -18,6 +18,25 @@ public interface SymTabStack {
      */
     public SymTable getLocalSymTab();
 
+  /**
+   * Pushes a new symbol table onto the stack, one nesting level deeper.
+   * @return the pushed symbol table.
+   */
+  public SymTable push();
+
+  /**
+   * Pushes an existing symbol table onto the stack, such as the symbol table of a routine being entered again.
+   * @param symTable the symbol table to push.
+   * @return the pushed symbol table.
+   */
+  public SymTable push(SymTable symTable);
+
+  /**
+   * Pops the local symbol table off the stack.
+   * @return the popped symbol table.
+   */
+  public SymTable pop();
+
     /**
      * Creates and enters a new entry into the local symbol table.
      * @param name the of the entry.
@@ -33,9 +52,30 @@ public interface SymTabStack {
   public SymTableEntry lookupLocal(String name);
 
   /**
-   * Looks up an existing symbol table entry throughout the stack.
+   * Looks up an existing symbol table entry throughout the stack, from the local symbol table outwards.
    * @param name the name of the entry.
    * @return the entry, or null if it does not exist.
    */
   public SymTableEntry lookup(String name);
+
+  /**
+   * Creates and enters a new entry into the local symbol table.
+   * @param name the interned name of the entry.
+   * @return the new entry.
+   */
+  public SymTableEntry enterLocal(InternedName name);
+
+  /**
+   * Looks up an existing symbol table entry in the local symbol table.
+   * @param name the interned name of the entry.
+   * @return the entry, or null if it does not exist.
+   */
+  public SymTableEntry lookupLocal(InternedName name);
+
+  /**
+   * Looks up an existing symbol table entry throughout the stack, from the local symbol table outwards.
+   * @param name the interned name of the entry.
+   * @return the entry, or null if it does not exist.
+   */
+  public SymTableEntry lookup(InternedName name);
 }
@@ -29,6 +29,20 @@ public interface SymTable {
    */
   public SymTableEntry lookup(String name);
 
+  /**
+   * Creates and enters a new entry into the symbol table.
+   * @param name the interned name of the entry.
+   * @return the new entry.
+   */
+  public SymTableEntry enter(InternedName name);
+
+  /**
+   * Looks up an existing symbol table entry.
+   * @param name the interned name of the entry.
+   * @return the entry, or null if it does not exist.
+   */
+  public SymTableEntry lookup(InternedName name);
+
   /**
    * Gets a list of symbol table entries sorted by name.
    * @return a list of symbol table entries sorted by name.
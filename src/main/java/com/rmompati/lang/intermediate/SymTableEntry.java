@@ -14,6 +14,12 @@ public interface SymTableEntry {
    */
   public String getName();
 
+  /**
+   * Gets the interned name of the entry.
+   * @return the interned name of the entry.
+   */
+  public InternedName getInternedName();
+
   /**
    * Gets the symbol table.
    * @return the symbol table that contains this entry.
@@ -1,5 +1,6 @@
 package com.rmompati.lang.intermediate;
 
+import com.rmompati.lang.intermediate.symtableimpl.HashedSymTableImpl;
 import com.rmompati.lang.intermediate.symtableimpl.SymTableEntryImpl;
 import com.rmompati.lang.intermediate.symtableimpl.SymTableImpl;
 import com.rmompati.lang.intermediate.symtableimpl.SymTableStackImpl;
@@ -11,6 +12,23 @@ import com.rmompati.lang.intermediate.symtableimpl.SymTableStackImpl;
  */
 public class SymTableFactory {
 
+  /** Whether the symbol tables created are hash tables rather than sorted maps. */
+  private static boolean hashed = false;
+
+  /**
+   * Sets the type of the symbol tables created from now on.
+   * @param type the type, "sorted" or "hashed".
+   */
+  public static void setSymTableType(String type) {
+    if (type.equalsIgnoreCase("sorted")) {
+      hashed = false;
+    } else if (type.equalsIgnoreCase("hashed")) {
+      hashed = true;
+    } else {
+      throw new IllegalArgumentException("Symbol table factory: Invalid type \"" + type + "\"");
+    }
+  }
+
   /**
    * Creates and returns a symbol table stack implementation.
    */
@@ -24,16 +42,16 @@ public class SymTableFactory {
    * @return the symbol table implementation.
    */
   public static SymTable createSymTable(int nestingLevel) {
-    return new SymTableImpl(nestingLevel);
+    return hashed ? new HashedSymTableImpl(nestingLevel) : new SymTableImpl(nestingLevel);
   }
 
   /**
    * Creates and returns a symbol table entry implementation.
-   * @param name the identifier name.
+   * @param name the interned name of the identifier.
    * @param symTable the symbol table implementation.
    * @return the symbol table entry implementation.
    */
-  public static SymTableEntry createSymTableEntry(String name, SymTable symTable) {
+  public static SymTableEntry createSymTableEntry(InternedName name, SymTable symTable) {
     return new SymTableEntryImpl(name, symTable);
   }
 }
@@ -0,0 +1,372 @@
+package com.rmompati.lang.intermediate.icodeimpl;
+
+import com.rmompati.lang.intermediate.ICode;
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.ICodeNodeType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * <h1>FlatICodeImpl</h1>
+ *
+ * <p>An implementation of the intermediate code as a parse tree stored flat in arenas of ints. A node is an index
+ * into parallel arrays of its type ordinal, first child, next sibling, parent, line number and attribute row. A row
+ * of the side pool holds the ID and VALUE attributes of the nodes that have them, and rows are shared by the nodes
+ * whose attributes are equal, so each variable or constant is pooled once.</p>
+ *
+ * <p>{@link FlatICodeNodeImpl} views a node through the {@link ICodeNode} interface, so the code that works on the
+ * parse tree works on this implementation as well. The views are created as they are asked for, and two views of the
+ * same node are equal.</p>
+ *
+ * <p>A node of the arenas has a single parent and a single next sibling, so it cannot be shared by several parents,
+ * and intermediate code whose subtrees are shared by {@link HashConser} cannot be flattened.</p>
+ */
+public class FlatICodeImpl implements ICode {
+  /** The index of no node. */
+  static final int NONE = -1;
+  /** The line number of a node without a LINE attribute. */
+  private static final int NO_LINE = 0;
+  /** The attribute row of a node without ID and VALUE attributes. */
+  private static final int NO_ROW = 0;
+
+  private static final ICodeNodeTypeImpl[] TYPES = ICodeNodeTypeImpl.values();
+
+  // The node arenas.
+  private int[] types;
+  private int[] firstChildren;
+  private int[] nextSiblings;
+  private int[] parents;
+  private int[] lines;
+  private int[] rows;
+  private int nodeCount;
+
+  // The attribute pool.
+  private Object[] ids;
+  private Object[] values;
+  private int rowCount;
+  private final IdentityHashMap<Object, Integer> idRows;
+  private final HashMap<Object, Integer> valueRows;
+
+  private int root;
+
+  /**
+   * Constructor.
+   */
+  public FlatICodeImpl() {
+    this.types = new int[16];
+    this.firstChildren = new int[16];
+    this.nextSiblings = new int[16];
+    this.parents = new int[16];
+    this.lines = new int[16];
+    this.rows = new int[16];
+    this.nodeCount = 0;
+
+    this.ids = new Object[16];
+    this.values = new Object[16];
+    this.rowCount = 1;  // NO_ROW
+    this.idRows = new IdentityHashMap<>();
+    this.valueRows = new HashMap<>();
+
+    this.root = NONE;
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param iCode the intermediate code to flatten, whose subtrees must not be shared.
+   * @throws IllegalArgumentException if a subtree of the intermediate code is shared.
+   */
+  public FlatICodeImpl(ICode iCode) {
+    this();
+
+    ICodeNode rootNode = iCode.getRoot();
+    if (rootNode == null) {
+      return;
+    }
+
+    // Each node popped has already been created, so its children are created next to each other and linked.
+    root = copyNode(rootNode);
+    ArrayList<ICodeNode> nodes = new ArrayList<>();
+    ArrayList<Integer> indexes = new ArrayList<>();
+    nodes.add(rootNode);
+    indexes.add(root);
+
+    while (!nodes.isEmpty()) {
+      ICodeNode node = nodes.remove(nodes.size() - 1);
+      int index = indexes.remove(indexes.size() - 1);
+
+      int previous = NONE;
+      for (ICodeNode child : node.getChildren()) {
+        int childIndex = copyNode(child);
+        parents[childIndex] = index;
+        if (previous == NONE) {
+          firstChildren[index] = childIndex;
+        } else {
+          nextSiblings[previous] = childIndex;
+        }
+        previous = childIndex;
+
+        nodes.add(child);
+        indexes.add(childIndex);
+      }
+    }
+
+    trimToSize();
+  }
+
+  /**
+   * Set and return the root node.
+   *
+   * @param node the node to set as root, which must be a node of this intermediate code.
+   * @return the root node.
+   */
+  @Override
+  public ICodeNode setRoot(ICodeNode node) {
+    root = (node != null) ? indexOf(node) : NONE;
+    return node;
+  }
+
+  /**
+   * Gets the root node.
+   *
+   * @return the root node.
+   */
+  @Override
+  public ICodeNode getRoot() {
+    return view(root);
+  }
+
+  /**
+   * Creates a node of this intermediate code.
+   *
+   * @param type the type of the node.
+   * @return the node.
+   */
+  public ICodeNode createNode(ICodeNodeType type) {
+    return view(newNode(type));
+  }
+
+  /**
+   * Gets the number of nodes, whose IDs are their indexes.
+   *
+   * @return the number of nodes.
+   */
+  @Override
+  public int getNodeCount() {
+    return nodeCount;
+  }
+
+  /**
+   * Gets the number of bytes of the node arenas and of the attribute pool, not counting the attribute values.
+   *
+   * @return the number of bytes.
+   */
+  public long getArenaBytes() {
+    return 4L * (types.length + firstChildren.length + nextSiblings.length + parents.length + lines.length
+                 + rows.length) + 4L * (ids.length + values.length);
+  }
+
+  // The node accessors used by the views.
+
+  ICodeNodeType getType(int node) {
+    return TYPES[types[node]];
+  }
+
+  int getFirstChild(int node) {
+    return firstChildren[node];
+  }
+
+  int getNextSibling(int node) {
+    return nextSiblings[node];
+  }
+
+  int getParent(int node) {
+    return parents[node];
+  }
+
+  Object getLine(int node) {
+    return (lines[node] != NO_LINE) ? (Object) lines[node] : null;
+  }
+
+  Object getId(int node) {
+    return ids[rows[node]];
+  }
+
+  Object getValue(int node) {
+    return values[rows[node]];
+  }
+
+  void setLine(int node, Object line) {
+    if ((line != null) && (!(line instanceof Integer) || ((Integer) line == NO_LINE))) {
+      throw new IllegalArgumentException("Line " + line);
+    }
+    lines[node] = (line != null) ? (Integer) line : NO_LINE;
+  }
+
+  void setId(int node, Object id) {
+    rows[node] = row(id, values[rows[node]]);
+  }
+
+  void setValue(int node, Object value) {
+    rows[node] = row(ids[rows[node]], value);
+  }
+
+  /**
+   * Appends a child to the children of a node.
+   *
+   * @param node the node.
+   * @param child the child, which must not have a parent yet.
+   */
+  void addChild(int node, int child) {
+    if (parents[child] != NONE) {
+      throw new IllegalArgumentException("Node " + TYPES[types[child]] + " already has a parent");
+    }
+    parents[child] = node;
+
+    if (firstChildren[node] == NONE) {
+      firstChildren[node] = child;
+    } else {
+      int last = firstChildren[node];
+      while (nextSiblings[last] != NONE) {
+        last = nextSiblings[last];
+      }
+      nextSiblings[last] = child;
+    }
+  }
+
+  /**
+   * Makes a parentless copy of a node with the same type and attributes.
+   *
+   * @param node the node.
+   * @return the copy.
+   */
+  int copy(int node) {
+    int copy = newNode(TYPES[types[node]]);
+    lines[copy] = lines[node];
+    rows[copy] = rows[node];
+    return copy;
+  }
+
+  /**
+   * Gets the index of a node of this intermediate code.
+   *
+   * @param node the node.
+   * @return the index.
+   */
+  int indexOf(ICodeNode node) {
+    if (!(node instanceof FlatICodeNodeImpl) || (((FlatICodeNodeImpl) node).getICode() != this)) {
+      throw new IllegalArgumentException("Not a node of this intermediate code: " + node);
+    }
+    return ((FlatICodeNodeImpl) node).getIndex();
+  }
+
+  /**
+   * Views a node.
+   *
+   * @param node the index of the node, or NONE.
+   * @return the view, or null.
+   */
+  ICodeNode view(int node) {
+    return (node != NONE) ? new FlatICodeNodeImpl(this, node) : null;
+  }
+
+  /**
+   * Trims the arenas and the attribute pool to their sizes.
+   */
+  public void trimToSize() {
+    types = Arrays.copyOf(types, nodeCount);
+    firstChildren = Arrays.copyOf(firstChildren, nodeCount);
+    nextSiblings = Arrays.copyOf(nextSiblings, nodeCount);
+    parents = Arrays.copyOf(parents, nodeCount);
+    lines = Arrays.copyOf(lines, nodeCount);
+    rows = Arrays.copyOf(rows, nodeCount);
+    ids = Arrays.copyOf(ids, rowCount);
+    values = Arrays.copyOf(values, rowCount);
+  }
+
+  /**
+   * Creates a node without attributes, parent or children.
+   *
+   * @param type the type of the node.
+   * @return the index of the node.
+   */
+  private int newNode(ICodeNodeType type) {
+    if (!(type instanceof ICodeNodeTypeImpl)) {
+      throw new IllegalArgumentException("Node type " + type);
+    }
+
+    if (nodeCount == types.length) {
+      int capacity = Math.max(16, 2 * nodeCount);
+      types = Arrays.copyOf(types, capacity);
+      firstChildren = Arrays.copyOf(firstChildren, capacity);
+      nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+      parents = Arrays.copyOf(parents, capacity);
+      lines = Arrays.copyOf(lines, capacity);
+      rows = Arrays.copyOf(rows, capacity);
+    }
+
+    int node = nodeCount++;
+    types[node] = ((ICodeNodeTypeImpl) type).ordinal();
+    firstChildren[node] = NONE;
+    nextSiblings[node] = NONE;
+    parents[node] = NONE;
+    lines[node] = NO_LINE;
+    rows[node] = NO_ROW;
+
+    return node;
+  }
+
+  /**
+   * Creates a node with the type and the attributes of a node of another intermediate code.
+   *
+   * @param node the node to copy.
+   * @return the index of the new node.
+   */
+  private int copyNode(ICodeNode node) {
+    if ((node instanceof ICodeNodeImpl) && ((ICodeNodeImpl) node).isShared()) {
+      throw new IllegalArgumentException("Shared node " + node.getType() + " cannot be flattened");
+    }
+    int index = newNode(node.getType());
+    setLine(index, node.getAttribute(ICodeKeyImpl.LINE));
+    rows[index] = row(node.getAttribute(ICodeKeyImpl.ID), node.getAttribute(ICodeKeyImpl.VALUE));
+    return index;
+  }
+
+  /**
+   * Finds or adds the attribute row of an ID and a VALUE attribute. The rows of a single attribute are shared, and
+   * those of both attributes are not.
+   *
+   * @param id the ID attribute, or null.
+   * @param value the VALUE attribute, or null.
+   * @return the row.
+   */
+  private int row(Object id, Object value) {
+    if ((id == null) && (value == null)) {
+      return NO_ROW;
+    }
+
+    Integer row = (value == null) ? idRows.get(id) : (id == null) ? valueRows.get(value) : null;
+    if (row != null) {
+      return row;
+    }
+
+    if (rowCount == ids.length) {
+      ids = Arrays.copyOf(ids, Math.max(16, 2 * rowCount));
+      values = Arrays.copyOf(values, Math.max(16, 2 * rowCount));
+    }
+
+    int newRow = rowCount++;
+    ids[newRow] = id;
+    values[newRow] = value;
+    if (value == null) {
+      idRows.put(id, newRow);
+    } else if (id == null) {
+      valueRows.put(value, newRow);
+    }
+
+    return newRow;
+  }
+}
@@ -0,0 +1,177 @@
+package com.rmompati.lang.intermediate.icodeimpl;
+
+import com.rmompati.lang.intermediate.ICodeKey;
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.ICodeNodeType;
+
+import java.util.ArrayList;
+
+import static com.rmompati.lang.intermediate.icodeimpl.FlatICodeImpl.NONE;
+
+/**
+ * <h1>FlatICodeNodeImpl</h1>
+ *
+ * <p>A view of a node of a {@link FlatICodeImpl}. A view only holds the index of its node, so it is cheap to create
+ * and the node's data stays in the arenas.</p>
+ */
+public class FlatICodeNodeImpl implements ICodeNode {
+
+  private final FlatICodeImpl iCode;
+  private final int index;
+
+  /**
+   * Constructor.
+   *
+   * @param iCode the flat intermediate code.
+   * @param index the index of the node.
+   */
+  FlatICodeNodeImpl(FlatICodeImpl iCode, int index) {
+    this.iCode = iCode;
+    this.index = index;
+  }
+
+  /**
+   * Gets the flat intermediate code of the node.
+   *
+   * @return the intermediate code.
+   */
+  public FlatICodeImpl getICode() {
+    return iCode;
+  }
+
+  /**
+   * Gets the index of the node in the arenas.
+   *
+   * @return the index.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Gets the node type.
+   *
+   * @return the node type.
+   */
+  @Override
+  public ICodeNodeType getType() {
+    return iCode.getType(index);
+  }
+
+  /**
+   * Gets the dense ID of the node, which is its index.
+   *
+   * @return the ID.
+   */
+  @Override
+  public int getNodeId() {
+    return index;
+  }
+
+  /**
+   * Gets the parent of this node.
+   *
+   * @return the parent of this node.
+   */
+  @Override
+  public ICodeNode getParent() {
+    return iCode.view(iCode.getParent(index));
+  }
+
+  /**
+   * Adds a child node to this node.
+   *
+   * @param node the child node, a parentless node of the same intermediate code.
+   * @return the child node.
+   */
+  @Override
+  public ICodeNode addChild(ICodeNode node) {
+    if (node != null) {
+      iCode.addChild(index, iCode.indexOf(node));
+    }
+
+    return node;
+  }
+
+  /**
+   * Gets all the child nodes of this node. The list is a new list of views.
+   *
+   * @return an array list of child nodes.
+   */
+  @Override
+  public ArrayList<ICodeNode> getChildren() {
+    ArrayList<ICodeNode> children = new ArrayList<>();
+    for (int child = iCode.getFirstChild(index); child != NONE; child = iCode.getNextSibling(child)) {
+      children.add(iCode.view(child));
+    }
+
+    return children;
+  }
+
+  /**
+   * Sets a node attribute.
+   *
+   * @param key   the attribute key.
+   * @param value the attribute value.
+   */
+  @Override
+  public void setAttribute(ICodeKey key, Object value) {
+    switch ((ICodeKeyImpl) key) {
+      case LINE:
+        iCode.setLine(index, value);
+        break;
+      case ID:
+        iCode.setId(index, value);
+        break;
+      case VALUE:
+        iCode.setValue(index, value);
+        break;
+    }
+  }
+
+  /**
+   * Gets the value of a node attribute.
+   *
+   * @param key the attribute key.
+   * @return the attribute value.
+   */
+  @Override
+  public Object getAttribute(ICodeKey key) {
+    switch ((ICodeKeyImpl) key) {
+      case LINE:
+        return iCode.getLine(index);
+      case ID:
+        return iCode.getId(index);
+      case VALUE:
+        return iCode.getValue(index);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Makes a copy of this node in the same intermediate code.
+   *
+   * @return the copy.
+   */
+  @Override
+  public ICodeNode copy() {
+    return iCode.view(iCode.copy(index));
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return (obj instanceof FlatICodeNodeImpl)
+        && (((FlatICodeNodeImpl) obj).iCode == iCode) && (((FlatICodeNodeImpl) obj).index == index);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * System.identityHashCode(iCode) + index;
+  }
+
+  @Override
+  public String toString() {
+    return getType().toString();
+  }
+}
@@ -0,0 +1,167 @@
+package com.rmompati.lang.intermediate.icodeimpl;
+
+import com.rmompati.lang.intermediate.ICode;
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.ICodeNodeType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Objects;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.*;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.*;
+
+/**
+ * <h1>HashConser</h1>
+ *
+ * <p>Shares the structurally identical pure subtrees of a parse tree. A subtree is pure if it only reads variables
+ * and constants, and cannot raise a runtime error, since the runtime error handler finds the line of an error through
+ * the parents of the offending node and a shared node has no parent. Every ancestor of a node that may raise an error
+ * is impure as well, so it is never shared and keeps its parent. The first subtree of each shape becomes the shared
+ * one, and the others are replaced by it.</p>
+ */
+public class HashConser {
+
+  /** Types of the nodes that may be shared. Division and MOD are left out, since they may raise errors. */
+  private static final EnumSet<ICodeNodeTypeImpl> PURE_TYPES = EnumSet.of(
+      VARIABLE, INTEGER_CONSTANT, REAL_CONSTANT, STRING_CONSTANT, BOOLEAN_CONSTANT,
+      EQ, NE, LT, LE, GT, GE, NOT, ADD, SUBTRACT, OR, NEGATE, MULTIPLY, AND);
+
+  /** The shared subtrees, by shape. */
+  private final HashMap<Shape, ICodeNodeImpl> sharedNodes;
+
+  public HashConser() {
+    this.sharedNodes = new HashMap<>();
+  }
+
+  /**
+   * Shares the pure subtrees of a parse tree, and of the parse trees shared before by this hash conser.
+   *
+   * @param iCode the intermediate code, whose nodes must be ICodeNodeImpl nodes.
+   */
+  public void share(ICode iCode) {
+    if (iCode.getRoot() == null) {
+      return;
+    }
+
+    // Walk the tree in postorder, with a stack of the nodes, of the indexes of their next children, and of whether
+    // their children so far are all pure.
+    ICodeNodeImpl[] nodes = new ICodeNodeImpl[16];
+    int[] nextChildren = new int[16];
+    boolean[] pure = new boolean[16];
+    int top = 0;
+    nodes[0] = (ICodeNodeImpl) iCode.getRoot();
+    pure[0] = true;
+
+    while (top >= 0) {
+      ICodeNodeImpl node = nodes[top];
+      ArrayList<ICodeNode> children = node.getChildren();
+
+      if (node.isShared()) {
+        // Already shared by a previous tree or a previous parent: its children are done.
+        nextChildren[top] = children.size();
+      }
+
+      if (nextChildren[top] < children.size()) {
+        // Descend into the next child.
+        if (++top == nodes.length) {
+          nodes = Arrays.copyOf(nodes, 2 * top);
+          nextChildren = Arrays.copyOf(nextChildren, 2 * top);
+          pure = Arrays.copyOf(pure, 2 * top);
+        }
+        nodes[top] = (ICodeNodeImpl) children.get(nextChildren[top - 1]);
+        nextChildren[top] = 0;
+        pure[top] = true;
+        continue;
+      }
+
+      // All the children are done, so share the node if it is pure.
+      ICodeNodeImpl replacement = node;
+      boolean nodePure = pure[top] && isPure(node);
+      if (nodePure && !node.isShared()) {
+        Shape shape = new Shape(node);
+        ICodeNodeImpl sharedNode = sharedNodes.get(shape);
+        if (sharedNode == null) {
+          sharedNodes.put(shape, node);
+          node.share();
+        } else {
+          replacement = sharedNode;
+        }
+      }
+
+      nodes[top--] = null;
+      if (top >= 0) {
+        ArrayList<ICodeNode> parentChildren = nodes[top].getChildren();
+        if (replacement != node) {
+          parentChildren.set(nextChildren[top], replacement);
+        }
+        pure[top] &= nodePure;
+        ++nextChildren[top];
+      }
+    }
+  }
+
+  /**
+   * Test if a node may be shared when its children are all pure.
+   *
+   * @param node the node.
+   * @return true if it may.
+   */
+  private static boolean isPure(ICodeNodeImpl node) {
+    ICodeNodeType type = node.getType();
+    return (type instanceof ICodeNodeTypeImpl) && PURE_TYPES.contains(type) && (node.getAttribute(LINE) == null);
+  }
+
+  /**
+   * The shape of a pure node: its type, its attributes and its children, which are already shared.
+   */
+  private static class Shape {
+    private final ICodeNodeType type;
+    private final Object id;
+    private final Object value;
+    private final ArrayList<ICodeNode> children;
+    private final int hash;
+
+    Shape(ICodeNodeImpl node) {
+      this.type = node.getType();
+      this.id = node.getAttribute(ID);
+      this.value = node.getAttribute(VALUE);
+      this.children = node.getChildren();
+
+      int hash = type.hashCode();
+      hash = 31 * hash + System.identityHashCode(id);
+      hash = 31 * hash + Objects.hashCode(value);
+      for (ICodeNode child : children) {
+        hash = 31 * hash + System.identityHashCode(child);
+      }
+      this.hash = hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Shape)) {
+        return false;
+      }
+
+      Shape shape = (Shape) obj;
+      if ((hash != shape.hash) || (type != shape.type) || (id != shape.id) || !Objects.equals(value, shape.value)
+          || (children.size() != shape.children.size())) {
+        return false;
+      }
+      for (int i = 0; i < children.size(); ++i) {
+        if (children.get(i) != shape.children.get(i)) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
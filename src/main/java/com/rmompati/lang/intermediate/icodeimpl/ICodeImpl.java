@@ -3,17 +3,21 @@ package com.rmompati.lang.intermediate.icodeimpl;
 import com.rmompati.lang.intermediate.ICode;
 import com.rmompati.lang.intermediate.ICodeNode;
 
+import java.util.ArrayList;
+
 /**
  * <h1>ICodeImpl</h1>
  *
- * <p>An implementation of the intermediate code as a parse tree.</p>
+ * <p>An implementation of the intermediate code as a parse tree. The nodes are given dense IDs in preorder when the
+ * root is set. Setting the root again gives IDs to the nodes added since, and keeps the IDs already given.</p>
  */
 public class ICodeImpl implements ICode {
 
   private ICodeNode root;
+  private int nodeCount;
 
   /**
-   * Set and return the root node.
+   * Set and return the root node, and give IDs to the nodes of the tree that have none.
    *
    * @param node the node to set as root.
    * @return the root node.
@@ -21,6 +25,9 @@ public class ICodeImpl implements ICode {
   @Override
   public ICodeNode setRoot(ICodeNode node) {
     root = node;
+    if (node != null) {
+      numberNodes(node);
+    }
     return node;
   }
 
@@ -33,4 +40,36 @@ public class ICodeImpl implements ICode {
   public ICodeNode getRoot() {
     return root;
   }
+
+  /**
+   * Gets the number of node IDs handed out.
+   *
+   * @return the number of node IDs.
+   */
+  @Override
+  public int getNodeCount() {
+    return nodeCount;
+  }
+
+  /**
+   * Give IDs to the nodes of a tree that have none, in preorder.
+   *
+   * @param node the root of the tree.
+   */
+  private void numberNodes(ICodeNode node) {
+    ArrayList<ICodeNode> stack = new ArrayList<>();
+    stack.add(node);
+
+    while (!stack.isEmpty()) {
+      ICodeNodeImpl next = (ICodeNodeImpl) stack.remove(stack.size() - 1);
+      if (next.getNodeId() < 0) {
+        next.setNodeId(nodeCount++);
+      }
+
+      ArrayList<ICodeNode> children = next.getChildren();
+      for (int i = children.size() - 1; i >= 0; --i) {
+        stack.add(children.get(i));
+      }
+    }
+  }
 }
@@ -6,23 +6,31 @@ import com.rmompati.lang.intermediate.ICodeNode;
 import com.rmompati.lang.intermediate.ICodeNodeType;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
 
 /**
  * <h1>ICodeNodeImpl</h1>
  *
- * <p>An implementation of a node of the intermediate code.</p>
+ * <p>An implementation of a node of the intermediate code. The attributes are kept in one field per key of
+ * {@link ICodeKeyImpl}, a node being too small and too numerous to carry a hash table.</p>
  */
-public class ICodeNodeImpl extends HashMap<ICodeKey, Object> implements ICodeNode {
+public class ICodeNodeImpl implements ICodeNode {
 
   private final ICodeNodeType type;
+  private int nodeId;
   private ICodeNode parent;
   private final ArrayList<ICodeNode> children;
 
+  // Attributes.
+  private Object line;
+  private Object id;
+  private Object value;
+
+  /** true if the node is shared by several parents and must not change. */
+  private boolean shared;
+
   public ICodeNodeImpl(ICodeNodeType type) {
     this.type = type;
+    this.nodeId = -1;
     this.parent = null;
     this.children = new ArrayList<>();
   }
@@ -37,10 +45,24 @@ public class ICodeNodeImpl extends HashMap<ICodeKey, Object> implements ICodeNod
     return type;
   }
 
+  /**
+   * Gets the dense ID of the node.
+   *
+   * @return the ID, or -1 if the node is not yet part of intermediate code.
+   */
+  @Override
+  public int getNodeId() {
+    return nodeId;
+  }
+
+  void setNodeId(int nodeId) {
+    this.nodeId = nodeId;
+  }
+
   /**
    * Gets the parent of this node.
    *
-   * @return the parent of this node.
+   * @return the parent of this node, or null if it is shared by several parents.
    */
   @Override
   public ICodeNode getParent() {
@@ -55,9 +77,12 @@ public class ICodeNodeImpl extends HashMap<ICodeKey, Object> implements ICodeNod
    */
   @Override
   public ICodeNode addChild(ICodeNode node) {
+    checkNotShared();
     if (node != null) {
       children.add(node);
-      ((ICodeNodeImpl) node).parent = this;
+      if (!((ICodeNodeImpl) node).shared) {
+        ((ICodeNodeImpl) node).parent = this;
+      }
     }
 
     return node;
@@ -81,7 +106,18 @@ public class ICodeNodeImpl extends HashMap<ICodeKey, Object> implements ICodeNod
    */
   @Override
   public void setAttribute(ICodeKey key, Object value) {
-    put(key, value);
+    checkNotShared();
+    switch ((ICodeKeyImpl) key) {
+      case LINE:
+        this.line = value;
+        break;
+      case ID:
+        this.id = value;
+        break;
+      case VALUE:
+        this.value = value;
+        break;
+    }
   }
 
   /**
@@ -92,7 +128,16 @@ public class ICodeNodeImpl extends HashMap<ICodeKey, Object> implements ICodeNod
    */
   @Override
   public Object getAttribute(ICodeKey key) {
-    return get(key);
+    switch ((ICodeKeyImpl) key) {
+      case LINE:
+        return line;
+      case ID:
+        return id;
+      case VALUE:
+        return value;
+      default:
+        return null;
+    }
   }
 
   /**
@@ -104,16 +149,38 @@ public class ICodeNodeImpl extends HashMap<ICodeKey, Object> implements ICodeNod
   public ICodeNode copy() {
     ICodeNodeImpl copy = (ICodeNodeImpl) ICodeFactory.createICodeNode(type);
 
-    Set<Map.Entry<ICodeKey, Object>> attributes = entrySet();
-
     // Copy attributes;
-    for (Entry<ICodeKey, Object> attribute : attributes) {
-      copy.put(attribute.getKey(), attribute.getValue());
-    }
+    copy.line = line;
+    copy.id = id;
+    copy.value = value;
 
     return copy;
   }
 
+  /**
+   * Test if the node is shared by several parents.
+   *
+   * @return true if it is.
+   */
+  public boolean isShared() {
+    return shared;
+  }
+
+  /**
+   * Mark the node as shared by several parents. Its attributes and children can no longer change, and it has no single
+   * parent, so its parent is null.
+   */
+  void share() {
+    shared = true;
+    parent = null;
+  }
+
+  private void checkNotShared() {
+    if (shared) {
+      throw new UnsupportedOperationException("Shared node " + type + " cannot change");
+    }
+  }
+
   @Override
   public String toString() {
     return type.toString();
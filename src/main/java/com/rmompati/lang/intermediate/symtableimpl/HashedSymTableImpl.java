@@ -0,0 +1,283 @@
+package com.rmompati.lang.intermediate.symtableimpl;
+
+import com.rmompati.lang.intermediate.InternedName;
+import com.rmompati.lang.intermediate.SymTable;
+import com.rmompati.lang.intermediate.SymTableEntry;
+import com.rmompati.lang.intermediate.SymTableFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * <h1>HashedSymTableImpl</h1>
+ *
+ * <p>An implementation of the symbol table as an open addressing hash table with linear probing, keyed by the hash
+ * codes of the names. Entering and looking up a name costs a hash probe, and names are only compared when their hash
+ * codes are equal. The entries are only sorted by name when the sorted list is asked for, and the sorted list is kept
+ * until an entry is entered.</p>
+ */
+public class HashedSymTableImpl implements SymTable {
+  private static final int INITIAL_CAPACITY = 16;
+
+  // Orders entries by the text of their names.
+  private static final Comparator<SymTableEntry> BY_NAME =
+      (a, b) -> a.getInternedName().getText().compareTo(b.getInternedName().getText());
+
+  private int nestingLevel;
+
+  // The slots of the hash table: the name, its hash code and the entry.
+  private String[] names;
+  private int[] hashes;
+  private SymTableEntry[] entries;
+  private int size;
+
+  /** The entries sorted by name, or null if an entry has been entered since they were sorted. */
+  private SymTableEntry[] sorted;
+
+  public HashedSymTableImpl(int nestingLevel) {
+    this.nestingLevel = nestingLevel;
+    this.names = new String[INITIAL_CAPACITY];
+    this.hashes = new int[INITIAL_CAPACITY];
+    this.entries = new SymTableEntry[INITIAL_CAPACITY];
+    this.size = 0;
+    this.sorted = null;
+  }
+
+  /**
+   * Gets the nesting level
+   *
+   * @return the scope nesting level of this entry.
+   */
+  @Override
+  public int getNestingLevel() {
+    return nestingLevel;
+  }
+
+  /**
+   * Creates and enters a new entry into the symbol table, replacing the entry of the same name if any.
+   *
+   * @param name the name of the entry.
+   * @return the new entry.
+   */
+  @Override
+  public SymTableEntry enter(String name) {
+    return enter(new InternedName(name));
+  }
+
+  /**
+   * Looks up an existing symbol table entry.
+   *
+   * @param name the name of the entry.
+   * @return the entry, or null if it does not exist.
+   */
+  @Override
+  public SymTableEntry lookup(String name) {
+    return entries[slot(name, name.hashCode())];
+  }
+
+  /**
+   * Creates and enters a new entry into the symbol table, replacing the entry of the same name if any.
+   *
+   * @param name the interned name of the entry.
+   * @return the new entry.
+   */
+  @Override
+  public SymTableEntry enter(InternedName name) {
+    SymTableEntry entry = SymTableFactory.createSymTableEntry(name, this);
+    String text = name.getText();
+    int hash = name.hashCode();
+    int slot = slot(text, hash);
+    if (entries[slot] == null) {
+      ++size;
+    }
+    names[slot] = text;
+    hashes[slot] = hash;
+    entries[slot] = entry;
+    sorted = null;
+
+    // Keep the table at most half full.
+    if (2 * size > entries.length) {
+      grow();
+    }
+
+    return entry;
+  }
+
+  /**
+   * Looks up an existing symbol table entry.
+   *
+   * @param name the interned name of the entry.
+   * @return the entry, or null if it does not exist.
+   */
+  @Override
+  public SymTableEntry lookup(InternedName name) {
+    return entries[slot(name.getText(), name.hashCode())];
+  }
+
+  /**
+   * Gets a list of symbol table entries sorted by name.
+   *
+   * @return a new list of symbol table entries sorted by name.
+   */
+  @Override
+  public ArrayList<SymTableEntry> sortedEntries() {
+    if (sorted == null) {
+      sorted = sortByName();
+    }
+
+    return new ArrayList<>(Arrays.asList(sorted));
+  }
+
+  /**
+   * Sorts the entries by name. The first eight characters of each name are packed into two numbers that compare like
+   * the characters, and the numbers are radix sorted a byte at a time, skipping the bytes that all names share. Only
+   * the names that begin with the same eight characters are then compared as strings.
+   *
+   * @return the entries sorted by name.
+   */
+  private SymTableEntry[] sortByName() {
+    long[] highs = new long[size];
+    long[] lows = new long[size];
+    int[] slots = new int[size];
+    int count = 0;
+    for (int i = 0; i < entries.length; ++i) {
+      if (entries[i] != null) {
+        highs[count] = pack(names[i], 0);
+        lows[count] = pack(names[i], 4);
+        slots[count] = i;
+        ++count;
+      }
+    }
+
+    // Least significant byte first, the lows before the highs.
+    long[] otherHighs = new long[size];
+    long[] otherLows = new long[size];
+    int[] otherSlots = new int[size];
+    int[] starts = new int[257];
+    for (int pass = 0; pass < 16; ++pass) {
+      long[] keys = (pass < 8) ? lows : highs;
+      int shift = 8 * (pass % 8);
+
+      Arrays.fill(starts, 0);
+      for (int i = 0; i < size; ++i) {
+        ++starts[(int) (keys[i] >>> shift) & 0xFF];
+      }
+      if ((size == 0) || (starts[(int) (keys[0] >>> shift) & 0xFF] == size)) {
+        continue;
+      }
+      for (int b = 0, start = 0; b < 256; ++b) {
+        int bucketSize = starts[b];
+        starts[b] = start;
+        start += bucketSize;
+      }
+
+      for (int i = 0; i < size; ++i) {
+        int to = starts[(int) (keys[i] >>> shift) & 0xFF]++;
+        otherHighs[to] = highs[i];
+        otherLows[to] = lows[i];
+        otherSlots[to] = slots[i];
+      }
+
+      long[] swapHighs = highs;
+      highs = otherHighs;
+      otherHighs = swapHighs;
+      long[] swapLows = lows;
+      lows = otherLows;
+      otherLows = swapLows;
+      int[] swapSlots = slots;
+      slots = otherSlots;
+      otherSlots = swapSlots;
+    }
+
+    SymTableEntry[] result = new SymTableEntry[size];
+    for (int i = 0; i < size; ++i) {
+      result[i] = entries[slots[i]];
+    }
+
+    // Sort the runs of names that begin with the same eight characters.
+    for (int start = 0, end; start < size; start = end) {
+      end = start + 1;
+      while ((end < size) && (highs[end] == highs[start]) && (lows[end] == lows[start])) {
+        ++end;
+      }
+      if (end - start > 1) {
+        Arrays.sort(result, start, end, BY_NAME);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Packs four characters of a name, padded with zeros past its end, into a number whose unsigned order is the order
+   * of the characters.
+   *
+   * @param name the name.
+   * @param from the index of the first character.
+   * @return the characters, the first one in the highest bits.
+   */
+  private static long pack(String name, int from) {
+    long packed = 0;
+    for (int i = from; i < from + 4; ++i) {
+      packed = (packed << 16) | ((i < name.length()) ? name.charAt(i) : 0);
+    }
+    return packed;
+  }
+
+  /**
+   * Finds the slot of a name: the slot that holds it, or else the empty slot where it belongs.
+   *
+   * @param name the name.
+   * @param hash the hash code of the name.
+   * @return the index of the slot.
+   */
+  private int slot(String name, int hash) {
+    int mask = entries.length - 1;
+    int slot = spread(hash) & mask;
+    while ((entries[slot] != null)
+           && ((hashes[slot] != hash) || ((names[slot] != name) && !names[slot].equals(name)))) {
+      slot = (slot + 1) & mask;
+    }
+
+    return slot;
+  }
+
+  /**
+   * Doubles the capacity of the hash table.
+   */
+  private void grow() {
+    String[] oldNames = names;
+    int[] oldHashes = hashes;
+    SymTableEntry[] oldEntries = entries;
+
+    int capacity = 2 * oldEntries.length;
+    names = new String[capacity];
+    hashes = new int[capacity];
+    entries = new SymTableEntry[capacity];
+
+    int mask = capacity - 1;
+    for (int i = 0; i < oldEntries.length; ++i) {
+      if (oldEntries[i] != null) {
+        int slot = spread(oldHashes[i]) & mask;
+        while (entries[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        names[slot] = oldNames[i];
+        hashes[slot] = oldHashes[i];
+        entries[slot] = oldEntries[i];
+      }
+    }
+  }
+
+  /**
+   * Mixes the high bits of a hash code into the low bits that index the slots.
+   *
+   * @param hash the hash code.
+   * @return the mixed hash code.
+   */
+  private static int spread(int hash) {
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
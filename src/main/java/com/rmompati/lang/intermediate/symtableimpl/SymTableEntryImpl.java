@@ -1,29 +1,33 @@
 package com.rmompati.lang.intermediate.symtableimpl;
 
+import com.rmompati.lang.intermediate.InternedName;
 import com.rmompati.lang.intermediate.SymTable;
 import com.rmompati.lang.intermediate.SymTableEntry;
 import com.rmompati.lang.intermediate.SymTableKey;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 
 /**
  * <h1>SymTableEntryImpl</h1>
  *
- * <p>An implementation of a symbol table entry.</p>
+ * <p>An implementation of a symbol table entry. The attributes are kept in an array of slots indexed by the ordinals of
+ * {@link SymTableKeyImpl}, which is only allocated when the first attribute is set.</p>
  */
-public class SymTableEntryImpl extends HashMap<SymTableKey, Object> implements SymTableEntry {
-  private String name;
+public class SymTableEntryImpl implements SymTableEntry {
+  private static final int KEY_COUNT = SymTableKeyImpl.values().length;
+
+  private InternedName name;
   private SymTable symTable;
   private ArrayList<Integer> lineNumbers;
+  private Object[] attributes;
 
   /**
    * Constructor
    *
-   * @param name the name of the entry.
+   * @param name the interned name of the entry.
    * @param symTable the symbol table that contains the entry.
    */
-  public SymTableEntryImpl(String name, SymTable symTable) {
+  public SymTableEntryImpl(InternedName name, SymTable symTable) {
     this.name = name;
     this.symTable = symTable;
     this.lineNumbers = new ArrayList<>();
@@ -36,6 +40,16 @@ public class SymTableEntryImpl extends HashMap<SymTableKey, Object> implements S
    */
   @Override
   public String getName() {
+    return name.getText();
+  }
+
+  /**
+   * Gets the interned name of the entry.
+   *
+   * @return the interned name of the entry.
+   */
+  @Override
+  public InternedName getInternedName() {
     return name;
   }
 
@@ -77,7 +91,10 @@ public class SymTableEntryImpl extends HashMap<SymTableKey, Object> implements S
    */
   @Override
   public void setAttribute(SymTableKey key, Object value) {
-    put(key, value);
+    if (attributes == null) {
+      attributes = new Object[KEY_COUNT];
+    }
+    attributes[((SymTableKeyImpl) key).ordinal()] = value;
   }
 
   /**
@@ -88,6 +105,6 @@ public class SymTableEntryImpl extends HashMap<SymTableKey, Object> implements S
    */
   @Override
   public Object getAttribute(SymTableKey key) {
-    return get(key);
+    return (attributes != null) ? attributes[((SymTableKeyImpl) key).ordinal()] : null;
   }
 }
@@ -1,5 +1,6 @@
 package com.rmompati.lang.intermediate.symtableimpl;
 
+import com.rmompati.lang.intermediate.InternedName;
 import com.rmompati.lang.intermediate.SymTable;
 import com.rmompati.lang.intermediate.SymTableEntry;
 import com.rmompati.lang.intermediate.SymTableFactory;
@@ -9,6 +10,16 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.TreeMap;
 
+/**
+ * <h1>SymTableImpl</h1>
+ *
+ * <p>The default implementation of the symbol table. Entries are kept sorted by the text of their interned names, which
+ * the names and the tree share. Entering a name binds it to its entry, so that looking up an identifier by the name
+ * the scanner interned usually takes the binding without searching the tree.</p>
+ *
+ * <p>The bindings are only kept up to date by {@link #enter(InternedName)}, so entries must not be put into or removed
+ * from the table through its map methods.</p>
+ */
 public class SymTableImpl extends TreeMap<String, SymTableEntry> implements SymTable {
   private int nestingLevel;
 
@@ -34,10 +45,7 @@ public class SymTableImpl extends TreeMap<String, SymTableEntry> implements SymT
    */
   @Override
   public SymTableEntry enter(String name) {
-    SymTableEntry entry = SymTableFactory.createSymTableEntry(name, this);
-    put(name, entry);
-
-    return entry;
+    return enter(new InternedName(name));
   }
 
   /**
@@ -51,6 +59,48 @@ public class SymTableImpl extends TreeMap<String, SymTableEntry> implements SymT
     return get(name);
   }
 
+  /**
+   * Creates and enters a new entry into the symbol table.
+   *
+   * @param name the interned name of the entry.
+   * @return the new entry.
+   */
+  @Override
+  public SymTableEntry enter(InternedName name) {
+    SymTableEntry entry = SymTableFactory.createSymTableEntry(name, this);
+    SymTableEntry replaced = put(name.getText(), entry);
+
+    // Only the name of an entry is ever bound to it, so unbind the name of the replaced entry.
+    if ((replaced != null) && (replaced.getInternedName().getBinding() == replaced)) {
+      replaced.getInternedName().bind(null);
+    }
+    name.bind(entry);
+
+    return entry;
+  }
+
+  /**
+   * Looks up an existing symbol table entry.
+   *
+   * @param name the interned name of the entry.
+   * @return the entry, or null if it does not exist.
+   */
+  @Override
+  public SymTableEntry lookup(InternedName name) {
+    SymTableEntry entry = name.getBinding();
+    if ((entry != null) && (entry.getSymTable() == this)) {
+      return entry;
+    }
+
+    // The name is bound in another table, or it is not the name of the entry.
+    entry = get(name.getText());
+    if ((entry != null) && (entry.getInternedName() == name)) {
+      name.bind(entry);
+    }
+
+    return entry;
+  }
+
   /**
    * Gets a list of symbol table entries sorted by name.
    *
@@ -67,4 +117,5 @@ public class SymTableImpl extends TreeMap<String, SymTableEntry> implements SymT
 
     return list;
   }
+
 }
@@ -1,5 +1,6 @@
 package com.rmompati.lang.intermediate.symtableimpl;
 
+import com.rmompati.lang.intermediate.InternedName;
 import com.rmompati.lang.intermediate.SymTabStack;
 import com.rmompati.lang.intermediate.SymTable;
 import com.rmompati.lang.intermediate.SymTableEntry;
@@ -41,6 +42,44 @@ public class SymTableStackImpl extends ArrayList<SymTable> implements SymTabStac
     return get(currentNestingLevel);
   }
 
+  /**
+   * Pushes a new symbol table onto the stack, one nesting level deeper.
+   *
+   * @return the pushed symbol table.
+   */
+  @Override
+  public SymTable push() {
+    SymTable symTable = SymTableFactory.createSymTable(++currentNestingLevel);
+    add(symTable);
+    return symTable;
+  }
+
+  /**
+   * Pushes an existing symbol table onto the stack, such as the symbol table of a routine being entered again.
+   *
+   * @param symTable the symbol table to push.
+   * @return the pushed symbol table.
+   */
+  @Override
+  public SymTable push(SymTable symTable) {
+    ++currentNestingLevel;
+    add(symTable);
+    return symTable;
+  }
+
+  /**
+   * Pops the local symbol table off the stack.
+   *
+   * @return the popped symbol table.
+   */
+  @Override
+  public SymTable pop() {
+    if (currentNestingLevel == 0) {
+      throw new IllegalStateException("Cannot pop the outermost symbol table");
+    }
+    return remove(currentNestingLevel--);
+  }
+
   /**
    * Creates and enters a new entry into the local symbol table.
    *
@@ -64,13 +103,56 @@ public class SymTableStackImpl extends ArrayList<SymTable> implements SymTabStac
   }
 
   /**
-   * Looks up an existing symbol table entry throughout the stack.
+   * Looks up an existing symbol table entry throughout the stack, from the local symbol table outwards.
    *
    * @param name the name of the entry.
    * @return the entry, or null if it does not exist.
    */
   @Override
   public SymTableEntry lookup(String name) {
-    return lookupLocal(name);
+    SymTableEntry foundEntry = null;
+    for (int i = currentNestingLevel; (i >= 0) && (foundEntry == null); --i) {
+      foundEntry = get(i).lookup(name);
+    }
+
+    return foundEntry;
+  }
+
+  /**
+   * Creates and enters a new entry into the local symbol table.
+   *
+   * @param name the interned name of the entry.
+   * @return the new entry.
+   */
+  @Override
+  public SymTableEntry enterLocal(InternedName name) {
+    return get(currentNestingLevel).enter(name);
+  }
+
+  /**
+   * Looks up an existing symbol table entry in the local symbol table.
+   *
+   * @param name the interned name of the entry.
+   * @return the entry, or null if it does not exist.
+   */
+  @Override
+  public SymTableEntry lookupLocal(InternedName name) {
+    return get(currentNestingLevel).lookup(name);
+  }
+
+  /**
+   * Looks up an existing symbol table entry throughout the stack, from the local symbol table outwards.
+   *
+   * @param name the interned name of the entry.
+   * @return the entry, or null if it does not exist.
+   */
+  @Override
+  public SymTableEntry lookup(InternedName name) {
+    SymTableEntry foundEntry = null;
+    for (int i = currentNestingLevel; (i >= 0) && (foundEntry == null); --i) {
+      foundEntry = get(i).lookup(name);
+    }
+
+    return foundEntry;
   }
 }
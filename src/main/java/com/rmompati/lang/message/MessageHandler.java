@@ -34,6 +34,14 @@ public class MessageHandler {
     listeners.remove(listener);
   }
 
+  /**
+   * Checks whether any listener is registered.
+   * @return true if at least one listener is registered.
+   */
+  public boolean hasListeners() {
+    return !listeners.isEmpty();
+  }
+
   /**
    * Notify listeners after setting the message.
    * @param message the message to set.
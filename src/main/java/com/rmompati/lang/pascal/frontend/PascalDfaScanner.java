@@ -0,0 +1,585 @@
+package com.rmompati.lang.pascal.frontend;
+
+import com.rmompati.lang.frontend.BatchScanner;
+import com.rmompati.lang.frontend.Source;
+import com.rmompati.lang.frontend.TokenBuffer;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+import static com.rmompati.lang.frontend.Source.EOF;
+import static com.rmompati.lang.pascal.frontend.PascalTokenType.*;
+import static com.rmompati.lang.pascal.frontend.error.PascalErrorCode.*;
+import static java.lang.Double.MAX_EXPONENT;
+
+/**
+ * <h1>PascalDfaScanner</h1>
+ *
+ * <p>A table-driven Pascal scanner. Characters are classified with a precomputed character-class table, and a single
+ * state machine recognizes every kind of token in one pass over the source characters. It produces the same token
+ * types, texts and values as {@link PascalScanner}.</p>
+ */
+public class PascalDfaScanner extends BatchScanner {
+
+  // Character classes.
+  private static final byte CC_OTHER = 0;
+  private static final byte CC_LETTER = 1;
+  private static final byte CC_DIGIT = 2;
+  private static final byte CC_WHITESPACE = 3;
+  private static final byte CC_QUOTE = 4;
+  private static final byte CC_LEFT_BRACE = 5;
+  private static final byte CC_SINGLE = 6;
+  private static final byte CC_COLON = 7;
+  private static final byte CC_LESS = 8;
+  private static final byte CC_GREATER = 9;
+  private static final byte CC_DOT = 10;
+  private static final byte CC_EOF = 11;
+
+  // Scanner states.
+  private static final int S_START = 0;
+  private static final int S_COMMENT = 1;
+  private static final int S_WORD = 2;
+  private static final int S_WHOLE = 3;
+  private static final int S_FRACTION_START = 4;
+  private static final int S_FRACTION = 5;
+  private static final int S_EXPONENT_SIGN = 6;
+  private static final int S_EXPONENT_START = 7;
+  private static final int S_EXPONENT = 8;
+  private static final int S_STRING = 9;
+  private static final int S_COLON = 10;
+  private static final int S_LESS = 11;
+  private static final int S_GREATER = 12;
+  private static final int S_DOT = 13;
+
+  /** The number of tokens of a batch scanned ahead of the parser. */
+  private static final int BATCH_SIZE = 256;
+
+  /** Character class of each ASCII character. */
+  private static final byte[] CHAR_CLASSES = new byte[128];
+
+  /** Token type of each single-character special symbol. */
+  private static final PascalTokenType[] SINGLE_SYMBOLS = new PascalTokenType[128];
+
+  static {
+    for (char c = 0; c < 128; ++c) {
+      CHAR_CLASSES[c] = unicodeClass(c);
+    }
+
+    for (Map.Entry<String, PascalTokenType> entry : SPECIAL_SYMBOLS.entrySet()) {
+      String symbol = entry.getKey();
+      if (symbol.length() == 1) {
+        char c = symbol.charAt(0);
+        CHAR_CLASSES[c] = CC_SINGLE;
+        SINGLE_SYMBOLS[c] = entry.getValue();
+      }
+    }
+
+    // Symbols that may start a two-character symbol, a comment or a string.
+    CHAR_CLASSES[':'] = CC_COLON;
+    CHAR_CLASSES['<'] = CC_LESS;
+    CHAR_CLASSES['>'] = CC_GREATER;
+    CHAR_CLASSES['.'] = CC_DOT;
+    CHAR_CLASSES['{'] = CC_LEFT_BRACE;
+    CHAR_CLASSES['\''] = CC_QUOTE;
+    CHAR_CLASSES[EOF] = CC_EOF;
+
+    // The double quote is a special symbol without a token of its own.
+    CHAR_CLASSES['"'] = CC_OTHER;
+    SINGLE_SYMBOLS['"'] = null;
+  }
+
+  // Characters of the token text and of a string value.
+  private char[] text = new char[64];
+  private int textLength;
+  private char[] chars = new char[64];
+  private int charsLength;
+
+  // Number accumulators.
+  private int integerValue;
+  private int prevIntegerValue;
+  private long significand;
+  private int significantCount;
+  private int droppedCount;
+  private boolean inexact;
+  private int wholeCount;
+  private int fractionCount;
+  private int exponentValue;
+  private int prevExponentValue;
+  private char exponentSign;
+
+  /** The tokens of the current batch. */
+  private final TokenBuffer tokens = new TokenBuffer();
+
+  // The token being recognized.
+  private PascalTokenType type;
+  private String tokenText;
+  private Object value;
+  private int lineNum;
+  private int position;
+
+  /**
+   * Constructor
+   *
+   * @param source the source to be used with the scanner.
+   */
+  public PascalDfaScanner(Source source) {
+    super(source);
+  }
+
+  /**
+   * Scan the next batch of tokens. Scanning ahead of the parser would send the source line messages of later lines
+   * before the parser's messages about earlier tokens, so while the source has listeners a batch holds one token.
+   * Otherwise the batch is filled up to its size or to the end of file.
+   *
+   * @return the buffer of the batch.
+   * @throws Exception if an error occurs.
+   */
+  @Override
+  protected TokenBuffer nextBatch() throws Exception {
+    tokens.clear();
+    int batchSize = source.hasMessageListeners() ? 1 : BATCH_SIZE;
+    while (scanToken(tokens) && (tokens.size() < batchSize)) {
+      // Keep scanning.
+    }
+
+    return tokens;
+  }
+
+  /**
+   * Scan the next token from the source into a token buffer without creating a token object.
+   *
+   * @param buffer the token buffer.
+   * @return false if the token is the end of file, else true.
+   * @throws Exception if an error occurs.
+   */
+  @Override
+  protected boolean scanToken(TokenBuffer buffer) throws Exception {
+    recognize();
+
+    if (type == END_OF_FILE) {
+      buffer.add(END_OF_FILE, source.getLineNum(), source.getCurrentPos(), null, null);
+      return false;
+    }
+
+    if (tokenText != null) {
+      buffer.add(type, lineNum, position, tokenText, value);
+    } else {
+      buffer.add(type, lineNum, position, text, 0, textLength, value);
+    }
+    return true;
+  }
+
+  /**
+   * Run the state machine over the source characters to recognize the next token. The token text is either
+   * set as a string, or left in the text buffer when it has to be built from the source characters.
+   * @throws Exception if an error occurs.
+   */
+  private void recognize() throws Exception {
+    int state = S_START;
+    char c = currentChar();
+
+    textLength = 0;
+    charsLength = 0;
+    tokenText = null;
+    value = null;
+
+    while (true) {
+      switch (state) {
+        case S_START: {
+          byte charClass = charClass(c);
+
+          if (charClass == CC_WHITESPACE) {
+            nextChar();
+            c = source.skipBlanks();
+            break;
+          } else if (charClass == CC_LEFT_BRACE) {
+            state = S_COMMENT;
+            c = nextChar();
+            break;
+          } else if (charClass == CC_EOF) {
+            type = END_OF_FILE;
+            return;
+          }
+
+          lineNum = source.getLineNum();
+          position = source.getCurrentPos();
+
+          switch (charClass) {
+            case CC_LETTER: {
+              append(c);
+              c = nextChar();
+              state = S_WORD;
+              break;
+            }
+            case CC_DIGIT: {
+              integerValue = 0;
+              prevIntegerValue = -1;
+              significand = 0;
+              significantCount = 0;
+              droppedCount = 0;
+              inexact = false;
+              wholeCount = 0;
+              fractionCount = 0;
+              exponentValue = 0;
+              prevExponentValue = -1;
+              exponentSign = '+';
+              type = INTEGER;
+              state = S_WHOLE;
+              break;
+            }
+            case CC_QUOTE: {
+              append(c);
+              c = nextChar();
+              state = S_STRING;
+              break;
+            }
+            case CC_SINGLE: {
+              nextChar();
+              symbol(SINGLE_SYMBOLS[c]);
+              return;
+            }
+            case CC_COLON: {
+              c = nextChar();
+              state = S_COLON;
+              break;
+            }
+            case CC_LESS: {
+              c = nextChar();
+              state = S_LESS;
+              break;
+            }
+            case CC_GREATER: {
+              c = nextChar();
+              state = S_GREATER;
+              break;
+            }
+            case CC_DOT: {
+              c = nextChar();
+              state = S_DOT;
+              break;
+            }
+            default: {
+              append(c);
+              nextChar();
+              error(INVALID_CHARACTER);
+              return;
+            }
+          }
+          break;
+        }
+        case S_COMMENT: {
+          c = source.skipTo('}');
+          if (c == '}') {
+            c = nextChar();
+          }
+          state = S_START;
+          break;
+        }
+        case S_WORD: {
+          byte charClass = charClass(c);
+          if ((charClass == CC_LETTER) || (charClass == CC_DIGIT)) {
+            append(c);
+            c = nextChar();
+          } else {
+            PascalTokenType reservedType = PascalReservedWords.lookup(text, 0, textLength);
+            type = (reservedType != null) ? reservedType : IDENTIFIER;
+            tokenText = identifierPool.spelling(text, 0, textLength);
+            if (type == IDENTIFIER) {
+              value = identifierPool.intern(tokenText);
+            }
+            return;
+          }
+          break;
+        }
+        case S_WHOLE: {
+          if (charClass(c) == CC_DIGIT) {
+            int digit = digitValue(c);
+            accumulateInteger(digit);
+            accumulateSignificand(digit);
+            ++wholeCount;
+            append(c);
+            c = nextChar();
+          } else if ((c == '.') && (source.peekChar() != '.')) {
+            type = REAL;
+            append(c);
+            c = nextChar();
+            state = S_FRACTION_START;
+          } else if ((c == 'E') || (c == 'e')) {
+            type = REAL;
+            append(c);
+            c = nextChar();
+            state = S_EXPONENT_SIGN;
+          } else {
+            number();
+            return;
+          }
+          break;
+        }
+        case S_FRACTION_START:
+        case S_EXPONENT_START: {
+          if (charClass(c) != CC_DIGIT) {
+            error(INVALID_NUMBER);
+            return;
+          }
+          state = (state == S_FRACTION_START) ? S_FRACTION : S_EXPONENT;
+          break;
+        }
+        case S_FRACTION: {
+          if (charClass(c) == CC_DIGIT) {
+            accumulateSignificand(digitValue(c));
+            ++fractionCount;
+            append(c);
+            c = nextChar();
+          } else if ((c == 'E') || (c == 'e')) {
+            append(c);
+            c = nextChar();
+            state = S_EXPONENT_SIGN;
+          } else {
+            number();
+            return;
+          }
+          break;
+        }
+        case S_EXPONENT_SIGN: {
+          if ((c == '+') || (c == '-')) {
+            exponentSign = c;
+            append(c);
+            c = nextChar();
+          }
+          state = S_EXPONENT_START;
+          break;
+        }
+        case S_EXPONENT: {
+          if (charClass(c) == CC_DIGIT) {
+            int digit = digitValue(c);
+            if (exponentValue >= prevExponentValue) {
+              prevExponentValue = exponentValue;
+              exponentValue = 10 * exponentValue + digit;
+            }
+            append(c);
+            c = nextChar();
+          } else {
+            number();
+            return;
+          }
+          break;
+        }
+        case S_STRING: {
+          if (c == '\'') {
+            if (source.peekChar() == '\'') {
+              append('\'');
+              append('\'');
+              appendChar('\'');
+              nextChar();
+              c = nextChar();
+            } else {
+              append(c);
+              nextChar();
+              type = STRING;
+              value = new String(chars, 0, charsLength);
+              return;
+            }
+          } else if (c == EOF) {
+            error(UNEXPECTED_EOF);
+            return;
+          } else {
+            // Replace any whitespace character with a blank.
+            if (charClass(c) == CC_WHITESPACE) {
+              c = ' ';
+            }
+            append(c);
+            appendChar(c);
+            c = nextChar();
+          }
+          break;
+        }
+        case S_COLON: {
+          if (c == '=') {
+            nextChar();
+            symbol(COLON_EQUALS);
+          } else {
+            symbol(PascalTokenType.COLON);
+          }
+          return;
+        }
+        case S_LESS: {
+          if (c == '=') {
+            nextChar();
+            symbol(LESS_EQUALS);
+          } else if (c == '>') {
+            nextChar();
+            symbol(NOT_EQUALS);
+          } else {
+            symbol(LESS_THAN);
+          }
+          return;
+        }
+        case S_GREATER: {
+          if (c == '=') {
+            nextChar();
+            symbol(GREATER_EQUALS);
+          } else {
+            symbol(GREATER_THAN);
+          }
+          return;
+        }
+        case S_DOT: {
+          if (c == '.') {
+            nextChar();
+            symbol(DOT_DOT);
+          } else {
+            symbol(PascalTokenType.DOT);
+          }
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Accumulate a digit of the integer value. Like {@link com.rmompati.lang.pascal.frontend.tokens.PascalNumberToken},
+   * accumulation stops once the value has wrapped around.
+   * @param digit the digit value.
+   */
+  private void accumulateInteger(int digit) {
+    if (integerValue >= prevIntegerValue) {
+      prevIntegerValue = integerValue;
+      integerValue = 10 * integerValue + digit;
+    }
+  }
+
+  /**
+   * Accumulate a significant digit of a real number. Leading zeros are not significant, and the digits
+   * beyond what a long can hold are dropped.
+   * @param digit the digit value.
+   */
+  private void accumulateSignificand(int digit) {
+    if (significantCount < PascalNumbers.MAX_SIGNIFICANT_DIGITS) {
+      significand = 10 * significand + digit;
+      if (significand > 0) {
+        ++significantCount;
+      }
+    } else {
+      ++droppedCount;
+      inexact |= (digit != 0);
+    }
+  }
+
+  /**
+   * Set the value of an integer or real number token.
+   */
+  private void number() {
+    if (type == INTEGER) {
+      if (integerValue >= prevIntegerValue) {
+        value = integerValue;
+      } else {
+        error(RANGE_INTEGER);
+      }
+      return;
+    }
+
+    // An exponent that overflowed counts as zero.
+    int exponent = 0;
+    if (exponentValue >= prevExponentValue) {
+      exponent = exponentValue;
+    } else {
+      error(RANGE_INTEGER);
+    }
+    if (exponentSign == '-') {
+      exponent = -exponent;
+    }
+    exponent -= fractionCount;
+
+    // Check for a real number out of range error.
+    if (Math.abs(exponent + wholeCount) > MAX_EXPONENT) {
+      error(RANGE_REAL);
+      return;
+    }
+
+    if (type != ERROR) {
+      // The significand leaves out the digits that were dropped.
+      exponent += droppedCount;
+      if (!inexact && PascalNumbers.hasFastPath(significand, exponent)) {
+        value = PascalNumbers.toFloat(significand, exponent);
+      } else {
+        value = PascalNumbers.parseFloat(CharBuffer.wrap(text, 0, textLength));
+      }
+    }
+  }
+
+  /**
+   * Set a special symbol token.
+   * @param symbolType the special symbol's token type.
+   */
+  private void symbol(PascalTokenType symbolType) {
+    type = symbolType;
+    tokenText = symbolType.getText();
+  }
+
+  /**
+   * Set an error token.
+   * @param errorCode the error code.
+   */
+  private void error(Object errorCode) {
+    type = ERROR;
+    value = errorCode;
+  }
+
+  /**
+   * Append a character to the token text.
+   * @param c the character.
+   */
+  private void append(char c) {
+    if (textLength == text.length) {
+      text = Arrays.copyOf(text, 2 * textLength);
+    }
+    text[textLength++] = c;
+  }
+
+  /**
+   * Append a character to the string value.
+   * @param c the character.
+   */
+  private void appendChar(char c) {
+    if (charsLength == chars.length) {
+      chars = Arrays.copyOf(chars, 2 * charsLength);
+    }
+    chars[charsLength++] = c;
+  }
+
+  /**
+   * Get the class of a character.
+   * @param c the character.
+   * @return the character class.
+   */
+  private static byte charClass(char c) {
+    return (c < 128) ? CHAR_CLASSES[c] : unicodeClass(c);
+  }
+
+  /**
+   * Classify a character with the {@link Character} predicates used by {@link PascalScanner}.
+   * @param c the character.
+   * @return the character class.
+   */
+  private static byte unicodeClass(char c) {
+    if (Character.isLetter(c)) {
+      return CC_LETTER;
+    } else if (Character.isDigit(c)) {
+      return CC_DIGIT;
+    } else if (Character.isWhitespace(c)) {
+      return CC_WHITESPACE;
+    } else {
+      return CC_OTHER;
+    }
+  }
+
+  /**
+   * Get the value of a digit character.
+   * @param c the digit character.
+   * @return the digit value.
+   */
+  private static int digitValue(char c) {
+    return (c <= '9') ? c - '0' : Character.getNumericValue(c);
+  }
+}
@@ -0,0 +1,92 @@
+package com.rmompati.lang.pascal.frontend;
+
+/**
+ * <h1>PascalNumbers</h1>
+ *
+ * <p>Conversion of real number literals to float values. The scanners accumulate the significant digits of a literal
+ * into a long while they scan it. When the digits and the power of ten are small enough for the result to be computed
+ * with a single rounding, the value comes straight from a table of exact powers of ten. Otherwise the literal's text
+ * is converted by {@link Float#parseFloat(String)}. Either way the value is the correctly rounded float.</p>
+ */
+public class PascalNumbers {
+
+  /** Number of significant digits that a long can always accumulate. */
+  public static final int MAX_SIGNIFICANT_DIGITS = 18;
+
+  /** Largest integer that a float represents exactly along with all the smaller ones. */
+  private static final long MAX_EXACT_FLOAT_INTEGER = 1L << 24;
+
+  /** Powers of ten that a float represents exactly. */
+  private static final float[] FLOAT_POWERS_OF_TEN = {
+      1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+  };
+
+  /** Powers of ten that a double represents exactly. */
+  private static final double[] DOUBLE_POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /**
+   * The largest significand whose product with each power of ten is an exact double. A product is exact when the
+   * significand times the power of five fits the 53-bit double mantissa.
+   */
+  private static final long[] MAX_EXACT_SIGNIFICANDS = new long[DOUBLE_POWERS_OF_TEN.length];
+
+  static {
+    long powerOfFive = 1;
+    for (int i = 0; i < MAX_EXACT_SIGNIFICANDS.length; ++i) {
+      MAX_EXACT_SIGNIFICANDS[i] = (1L << 53) / powerOfFive;
+      powerOfFive *= 5;
+    }
+  }
+
+  /**
+   * Test if a significand and a power of ten can be converted without the literal's text.
+   * @param significand the significant digits.
+   * @param exponent the power of ten.
+   * @return true if {@link #toFloat(long, int)} converts them.
+   */
+  public static boolean hasFastPath(long significand, int exponent) {
+    if ((significand == 0) || ((significand <= MAX_EXACT_FLOAT_INTEGER) && (exponent >= -10) && (exponent <= 10))) {
+      return true;
+    }
+
+    return (exponent >= 0) && (exponent < MAX_EXACT_SIGNIFICANDS.length)
+        && (significand <= MAX_EXACT_SIGNIFICANDS[exponent]);
+  }
+
+  /**
+   * Convert a significand and a power of ten for which {@link #hasFastPath(long, int)} is true.
+   * @param significand the significant digits.
+   * @param exponent the power of ten.
+   * @return the correctly rounded float value.
+   */
+  public static float toFloat(long significand, int exponent) {
+    if (significand == 0) {
+      return 0.0f;
+    } else if ((significand <= MAX_EXACT_FLOAT_INTEGER) && (exponent >= -10) && (exponent <= 10)) {
+      // Both operands are exact floats, so the float operation rounds once.
+      return (exponent >= 0) ? (float) significand * FLOAT_POWERS_OF_TEN[exponent]
+                             : (float) significand / FLOAT_POWERS_OF_TEN[-exponent];
+    } else {
+      // The double product is exact, so only the conversion to float rounds.
+      return (float) (significand * DOUBLE_POWERS_OF_TEN[exponent]);
+    }
+  }
+
+  /**
+   * Convert the text of a real number literal.
+   * @param text the literal's text, whose digits may be any Unicode decimal digits.
+   * @return the correctly rounded float value.
+   */
+  public static float parseFloat(CharSequence text) {
+    StringBuilder ascii = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); ++i) {
+      char c = text.charAt(i);
+      ascii.append(Character.isDigit(c) ? (char) ('0' + Character.digit(c, 10)) : c);
+    }
+
+    return Float.parseFloat(ascii.toString());
+  }
+}
@@ -13,6 +13,7 @@ import java.util.EnumSet;
 
 import static com.rmompati.lang.pascal.frontend.PascalTokenType.BEGIN;
 import static com.rmompati.lang.pascal.frontend.PascalTokenType.DOT;
+import static com.rmompati.lang.pascal.frontend.PascalTokenType.END_OF_FILE;
 import static com.rmompati.lang.pascal.frontend.error.PascalErrorCode.*;
 
 /**
@@ -22,6 +23,9 @@ import static com.rmompati.lang.pascal.frontend.error.PascalErrorCode.*;
  */
 public class PascalParserTD extends Parser {
 
+  /** Version of the parser, to be incremented whenever the parse results of a source may change. */
+  public static final int VERSION = 1;
+
   protected static PascalErrorHandler errorHandler = new PascalErrorHandler();
 
   /**
@@ -59,7 +63,7 @@ public class PascalParserTD extends Parser {
       // Recover by skipping tokens not in the syncSet.
       do {
         token = nextToken();
-      } while (!(token instanceof EofToken) && !syncSet.contains(token.getType()));
+      } while ((token.getType() != END_OF_FILE) && !syncSet.contains(token.getType()));
     }
     return token;
   }
@@ -108,6 +112,8 @@ public class PascalParserTD extends Parser {
       ));
     } catch (IOException exc) {
       errorHandler.abortTranslation(IO_ERROR, this);
+    } finally {
+      scanner.close();
     }
   }
 
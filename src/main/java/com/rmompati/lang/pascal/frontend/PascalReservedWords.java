@@ -0,0 +1,145 @@
+package com.rmompati.lang.pascal.frontend;
+
+import java.util.Arrays;
+
+/**
+ * <h1>PascalReservedWords</h1>
+ *
+ * <p>A case-insensitive perfect hash table of the Pascal reserved words. The table is generated when the class is
+ * loaded by searching for a hash multiplier that maps every reserved word to its own slot, so a lookup hashes the
+ * word's characters once and compares them against at most one candidate, without case folding the word into a new
+ * string.</p>
+ */
+public class PascalReservedWords {
+
+  /** log2 of the table size. */
+  private static final int TABLE_BITS = 7;
+
+  /** Reserved words in lower case, indexed by hash slot. */
+  private static final char[][] WORDS = new char[1 << TABLE_BITS][];
+  /** Reserved word token types, indexed by hash slot. */
+  private static final PascalTokenType[] TYPES = new PascalTokenType[1 << TABLE_BITS];
+
+  private static final int MIN_LENGTH;
+  private static final int MAX_LENGTH;
+  private static final int MULTIPLIER;
+
+  static {
+    int minLength = Integer.MAX_VALUE;
+    int maxLength = 0;
+    int count = 0;
+    PascalTokenType[] reserved = new PascalTokenType[PascalTokenType.RESERVED_WORDS.size()];
+    for (PascalTokenType type : PascalTokenType.values()) {
+      String word = type.getText().toLowerCase();
+      if (PascalTokenType.RESERVED_WORDS.contains(word)) {
+        reserved[count++] = type;
+        minLength = Math.min(minLength, word.length());
+        maxLength = Math.max(maxLength, word.length());
+      }
+    }
+    MIN_LENGTH = minLength;
+    MAX_LENGTH = maxLength;
+
+    // Search for a multiplier that gives every reserved word a slot of its own.
+    int multiplier = 0x9E3779B1;
+    while (!fill(reserved, multiplier)) {
+      multiplier += 2;
+    }
+    MULTIPLIER = multiplier;
+  }
+
+  /**
+   * Try to fill the table with a hash multiplier.
+   * @param reserved the reserved word token types.
+   * @param multiplier the hash multiplier.
+   * @return true if the words hashed to distinct slots.
+   */
+  private static boolean fill(PascalTokenType[] reserved, int multiplier) {
+    Arrays.fill(WORDS, null);
+    Arrays.fill(TYPES, null);
+
+    for (PascalTokenType type : reserved) {
+      char[] word = type.getText().toLowerCase().toCharArray();
+      int slot = slot(key(word[0], word[1], word[word.length - 1], word.length), multiplier);
+      if (WORDS[slot] != null) {
+        return false;
+      }
+      WORDS[slot] = word;
+      TYPES[slot] = type;
+    }
+
+    return true;
+  }
+
+  /**
+   * Look up a word held in a character buffer.
+   * @param buffer the character buffer.
+   * @param offset the offset of the word's first character.
+   * @param length the length of the word.
+   * @return the reserved word's token type, or null if the word is not reserved.
+   */
+  public static PascalTokenType lookup(char[] buffer, int offset, int length) {
+    if ((length < MIN_LENGTH) || (length > MAX_LENGTH)) {
+      return null;
+    }
+
+    int slot = slot(key(buffer[offset], buffer[offset + 1], buffer[offset + length - 1], length), MULTIPLIER);
+    char[] word = WORDS[slot];
+    if ((word == null) || (word.length != length)) {
+      return null;
+    }
+
+    for (int i = 0; i < length; ++i) {
+      if (!sameLetter(buffer[offset + i], word[i])) {
+        return null;
+      }
+    }
+
+    return TYPES[slot];
+  }
+
+  /**
+   * Look up a word.
+   * @param text the word.
+   * @return the reserved word's token type, or null if the word is not reserved.
+   */
+  public static PascalTokenType lookup(CharSequence text) {
+    int length = text.length();
+    if ((length < MIN_LENGTH) || (length > MAX_LENGTH)) {
+      return null;
+    }
+
+    int slot = slot(key(text.charAt(0), text.charAt(1), text.charAt(length - 1), length), MULTIPLIER);
+    char[] word = WORDS[slot];
+    if ((word == null) || (word.length != length)) {
+      return null;
+    }
+
+    for (int i = 0; i < length; ++i) {
+      if (!sameLetter(text.charAt(i), word[i])) {
+        return null;
+      }
+    }
+
+    return TYPES[slot];
+  }
+
+  /**
+   * Combine the characters that distinguish the reserved words into a hash key.
+   * Setting bit 0x20 folds ASCII upper case letters to lower case.
+   */
+  private static int key(char first, char second, char last, int length) {
+    return ((((first | 0x20) << 8) | (second | 0x20)) << 16) ^ (((last | 0x20) << 8) | length);
+  }
+
+  private static int slot(int key, int multiplier) {
+    return (key * multiplier) >>> (32 - TABLE_BITS);
+  }
+
+  /**
+   * Compare a character with a lower case reserved word letter, ignoring ASCII case.
+   */
+  private static boolean sameLetter(char c, char lowerCaseLetter) {
+    return (c < 128) && ((c | 0x20) == lowerCaseLetter);
+  }
+}
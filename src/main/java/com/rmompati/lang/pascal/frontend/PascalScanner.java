@@ -41,7 +41,7 @@ public class PascalScanner extends Scanner {
     if (currentChar == EOF) {
       token = new EofToken(source, END_OF_FILE);
     } else if(Character.isLetter(currentChar)) {
-      token = new PascalWordToken(source);
+      token = new PascalWordToken(source, identifierPool);
     } else if(Character.isDigit(currentChar)) {
       token = new PascalNumberToken(source);
     } else if(currentChar == '\'') {
@@ -66,16 +66,16 @@ public class PascalScanner extends Scanner {
     while (Character.isWhitespace(currentChar) || (currentChar == '{')) {
       // Start of a comment?
       if (currentChar == '{') {
-        do {
-          currentChar = nextChar();
-        } while ((currentChar != '}') && (currentChar != EOF));
+        nextChar();
+        currentChar = source.skipTo('}');
 
         // Found closing '}'?
         if (currentChar == '}') {
           currentChar = nextChar();
         }
       } else { // Not a comment
-        currentChar = nextChar();
+        nextChar();
+        currentChar = source.skipBlanks();
       }
     }
   }
@@ -3,8 +3,8 @@ package com.rmompati.lang.pascal.frontend.parsers;
 import com.rmompati.lang.frontend.Token;
 import com.rmompati.lang.intermediate.ICodeFactory;
 import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.InternedName;
 import com.rmompati.lang.intermediate.SymTableEntry;
-import com.rmompati.lang.pascal.frontend.PascalParserTD;
 import com.rmompati.lang.pascal.frontend.PascalTokenType;
 
 import java.util.EnumSet;
@@ -13,6 +13,7 @@ import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.ID;
 import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.ASSIGN;
 import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.VARIABLE;
 import static com.rmompati.lang.pascal.frontend.PascalTokenType.COLON_EQUALS;
+import static com.rmompati.lang.pascal.frontend.PascalTokenType.IDENTIFIER;
 import static com.rmompati.lang.pascal.frontend.error.PascalErrorCode.MISSING_COLON_EQUALS;
 
 public class AssignmentStatementParser extends StatementParser {
@@ -29,10 +30,10 @@ public class AssignmentStatementParser extends StatementParser {
   /**
    * Constructor.
    *
-   * @param parent the parent parser.
+   * @param statementParser the dispatching statement parser of the set.
    */
-  public AssignmentStatementParser(PascalParserTD parent) {
-    super(parent);
+  public AssignmentStatementParser(StatementParser statementParser) {
+    super(statementParser);
   }
 
   /**
@@ -50,10 +51,20 @@ public class AssignmentStatementParser extends StatementParser {
 
     // Look up the identifier in the symbol table stack.
     // Enter the identifier into the table if it's not found
-    String targetName = token.getText().toLowerCase();
-    SymTableEntry targetId = symTabStack.lookup(targetName);
-    if (targetId == null) {
-      targetId = symTabStack.enterLocal(targetName);
+    SymTableEntry targetId;
+    if (token.getType() == IDENTIFIER) {
+      InternedName targetName = (InternedName) token.getValue();
+      targetId = symTabStack.lookup(targetName);
+      if (targetId == null) {
+        targetId = symTabStack.enterLocal(targetName);
+      }
+    } else {
+      // A malformed target, such as the number in "FOR 5 := ...", only has its text.
+      String targetName = token.getText().toLowerCase();
+      targetId = symTabStack.lookup(targetName);
+      if (targetId == null) {
+        targetId = symTabStack.enterLocal(targetName);
+      }
     }
     targetId.appendLineNumber(token.getLineNum());
 
@@ -75,8 +86,7 @@ public class AssignmentStatementParser extends StatementParser {
     }
 
     // Parse the expression. The ASSIGN node adopts the expression's node as it's second child.
-    ExpressionParser expressionParser = new ExpressionParser(this);
-    assignNode.addChild(expressionParser.parse(token));
+    assignNode.addChild(getExpressionParser().parse(token));
     return assignNode;
   }
 }
@@ -1,11 +1,9 @@
 package com.rmompati.lang.pascal.frontend.parsers;
 
-import com.rmompati.lang.frontend.EofToken;
 import com.rmompati.lang.frontend.Token;
 import com.rmompati.lang.frontend.TokenType;
 import com.rmompati.lang.intermediate.ICodeFactory;
 import com.rmompati.lang.intermediate.ICodeNode;
-import com.rmompati.lang.pascal.frontend.PascalParserTD;
 import com.rmompati.lang.pascal.frontend.PascalTokenType;
 
 import java.util.EnumSet;
@@ -48,10 +46,10 @@ public class CaseStatementParser extends StatementParser {
   /**
    * Constructor.
    *
-   * @param parent the parent parser.
+   * @param statementParser the dispatching statement parser of the set.
    */
-  public CaseStatementParser(PascalParserTD parent) {
-    super(parent);
+  public CaseStatementParser(StatementParser statementParser) {
+    super(statementParser);
   }
 
   /**
@@ -69,8 +67,7 @@ public class CaseStatementParser extends StatementParser {
     ICodeNode selectNode = ICodeFactory.createICodeNode(SELECT);
 
     // Parse the "CASE" expression.
-    ExpressionParser expressionParser = new ExpressionParser(this);
-    selectNode.addChild(expressionParser.parse(token));
+    selectNode.addChild(getExpressionParser().parse(token));
 
     // Synchronize at the "OF"
     token = synchronize(OF_SET);
@@ -84,7 +81,7 @@ public class CaseStatementParser extends StatementParser {
     HashSet<Object> constantSet = new HashSet<>();
 
     // Loop to parse each "CASE" branch until "END" token.
-    while (!(token instanceof EofToken) && (token.getType() != END)) {
+    while ((token.getType() != END_OF_FILE) && (token.getType() != END)) {
       // The "SELECT" node adopts the "CASE" branch subtree.
       selectNode.addChild(parseBranch(token, constantSet));
       
@@ -134,7 +131,6 @@ public class CaseStatementParser extends StatementParser {
     }
 
     // Parse the "CASE" branch statement. The "SELECT_BRANCH" node adopts the statement subtree as its second child.
-    StatementParser statementParser = new StatementParser(this);
     branchNode.addChild(statementParser.parse(token));
 
     return branchNode;
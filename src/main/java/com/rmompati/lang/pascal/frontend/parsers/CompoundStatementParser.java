@@ -3,7 +3,6 @@ package com.rmompati.lang.pascal.frontend.parsers;
 import com.rmompati.lang.frontend.Token;
 import com.rmompati.lang.intermediate.ICodeFactory;
 import com.rmompati.lang.intermediate.ICodeNode;
-import com.rmompati.lang.pascal.frontend.PascalParserTD;
 
 import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.COMPOUND;
 import static com.rmompati.lang.pascal.frontend.PascalTokenType.END;
@@ -19,10 +18,10 @@ public class CompoundStatementParser extends StatementParser {
   /**
    * Constructor.
    *
-   * @param parent the parent parser.
+   * @param statementParser the dispatching statement parser of the set.
    */
-  public CompoundStatementParser(PascalParserTD parent) {
-    super(parent);
+  public CompoundStatementParser(StatementParser statementParser) {
+    super(statementParser);
   }
 
   /***/
@@ -33,7 +32,6 @@ public class CompoundStatementParser extends StatementParser {
     ICodeNode compoundNode = ICodeFactory.createICodeNode(COMPOUND);
 
     // Parse the statement list terminated by the END token.
-    StatementParser statementParser = new StatementParser(this);
     statementParser.parseList(token, compoundNode, END, MISSING_END);
 
     return compoundNode;
@@ -5,11 +5,12 @@ import com.rmompati.lang.frontend.TokenType;
 import com.rmompati.lang.intermediate.ICodeFactory;
 import com.rmompati.lang.intermediate.ICodeNode;
 import com.rmompati.lang.intermediate.ICodeNodeType;
+import com.rmompati.lang.intermediate.InternedName;
 import com.rmompati.lang.intermediate.SymTableEntry;
 import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
-import com.rmompati.lang.pascal.frontend.PascalParserTD;
 import com.rmompati.lang.pascal.frontend.PascalTokenType;
 
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.HashMap;
 
@@ -23,6 +24,18 @@ import static com.rmompati.lang.pascal.frontend.error.PascalErrorCode.*;
  * <h1>ExpressionParser</h1>
  *
  * <p>Parses expressions.</p>
+ *
+ * <p>The parser climbs the operator precedences with an explicit stack instead of recursing through the grammar
+ * rules, so the depth of the nested parentheses and operators is only limited by the heap. It builds the same trees
+ * as the grammar rules:</p>
+ * <pre>
+ *   expression        := simple-expression [relational-op simple-expression]
+ *   simple-expression := [+|-] term {additive-op term}
+ *   term              := factor {multiplicative-op factor}
+ *   factor            := identifier | number | string | NOT factor | ( expression )
+ * </pre>
+ * <p>A leading sign applies to the first term of a simple expression, and an expression has at most one relational
+ * operator.</p>
  */
 public class ExpressionParser extends StatementParser {
 
@@ -71,17 +84,41 @@ public class ExpressionParser extends StatementParser {
     MUL_OPS_MAP.put(PascalTokenType.AND, ICodeNodeTypeImpl.AND);
   }
 
+  // Precedences of the operators on the stack. A leading minus sign binds like an additive operator, so that it
+  // applies to the whole first term.
+  private static final int RELATIONAL = 1;
+  private static final int ADDITIVE = 2;
+  private static final int NEGATION = 2;
+  private static final int MULTIPLICATIVE = 3;
+  private static final int NOT_FACTOR = 4;
+
+  // Stack entries for an open parenthesis, which save whether the enclosing expression had a relational operator.
+  private static final int PAREN = -1;
+  private static final int PAREN_AFTER_RELATIONAL = -2;
+
+  private static final int INITIAL_STACK_SIZE = 32;
+
+  /** Operator nodes waiting for their last child, or null for an open parenthesis. */
+  private ICodeNode[] operators;
+  /** Precedences of the stacked operators, or the open parenthesis entries. */
+  private int[] precedences;
+  /** Number of stacked entries. */
+  private int top;
+
   /**
    * Constructor.
    *
-   * @param parent the parent parser.
+   * @param statementParser the dispatching statement parser of the set.
    */
-  public ExpressionParser(PascalParserTD parent) {
-    super(parent);
+  public ExpressionParser(StatementParser statementParser) {
+    super(statementParser);
+    this.operators = new ICodeNode[INITIAL_STACK_SIZE];
+    this.precedences = new int[INITIAL_STACK_SIZE];
+    this.top = 0;
   }
 
   /**
-   * Parse a statement.
+   * Parse an expression.
    *
    * @param token the initial token.
    * @return the root node of the generated parse tree.
@@ -89,138 +126,134 @@ public class ExpressionParser extends StatementParser {
    */
   @Override
   public ICodeNode parse(Token token) throws Exception {
-    return parseExpression(token);
-  }
+    int base = top;
+    boolean relational = false; // Has the innermost expression a relational operator?
+    boolean signAllowed = true; // Can a simple expression start here?
 
-  /**
-   * Parse an expression.
-   * @param token  the initial token.
-   * @return the root node of the generated parse subtree.
-   * @throws Exception if an error occurs.
-   */
-  private ICodeNode parseExpression(Token token) throws Exception {
-    // Parse simple expression and make the root of its tree the root node.
-    ICodeNode rootNode = parseSimpleExpression(token);
-
-    token = currentToken();
-    TokenType tokenType = token.getType();
-
-    // Look for a relational
-    if (REL_OPS.contains(tokenType)) {
-      // Create a new operator node and adopt the current tree as its first child.
-      ICodeNodeType nodeType = REL_OPS_MAP.get(tokenType);
-      ICodeNode opNode = ICodeFactory.createICodeNode(nodeType);
-      opNode.addChild(rootNode);
+    while (true) {
+      TokenType tokenType = token.getType();
 
-      token = nextToken(); // Consume the operator.
+      // Stack the prefixes of a term or factor: a leading + or -, NOT, or "(".
+      if (signAllowed && ((tokenType == PLUS) || (tokenType == MINUS))) {
+        if (tokenType == MINUS) {
+          push(ICodeFactory.createICodeNode(NEGATE), NEGATION);
+        }
+        signAllowed = false;
+        token = nextToken(); // Consume the + or -.
+        continue;
+      }
 
-      // Parse the second simple expression. The operator adopts the simple expression as its second child.
-      opNode.addChild(parseSimpleExpression(token));
+      signAllowed = false;
 
-      // The operator node becomes the new root node.
-      rootNode = opNode;
-    }
+      if (tokenType == PascalTokenType.NOT) {
+        token = nextToken(); // Consume the NOT
+        push(ICodeFactory.createICodeNode(ICodeNodeTypeImpl.NOT), NOT_FACTOR);
+        continue;
+      } else if (tokenType == LEFT_PAREN) {
+        token = nextToken(); // Consume the "("
+        push(null, relational ? PAREN_AFTER_RELATIONAL : PAREN);
+        relational = false;
+        signAllowed = true;
+        continue;
+      }
 
-    return rootNode;
-  }
+      ICodeNode operand = parseOperand(token);
 
-  /**
-   * Parse a simple expression.
-   * @param token the initial token.
-   * @return the root of the generated subtree.
-   * @throws Exception if an error occurs.
-   */
-  private ICodeNode parseSimpleExpression(Token token) throws Exception {
-    TokenType signType = null; // Type of leading sign, if any.
+      // Loop over the operators that follow the operand, and the ")" of the parenthesized expressions it ends.
+      while (true) {
+        token = currentToken();
+        tokenType = token.getType();
+
+        int precedence;
+        ICodeNodeType nodeType;
+        if (MUL_OPS.contains(tokenType)) {
+          precedence = MULTIPLICATIVE;
+          nodeType = MUL_OPS_MAP.get(tokenType);
+        } else if (ADD_OPS.contains(tokenType)) {
+          precedence = ADDITIVE;
+          nodeType = ADD_OPS_MAP.get(tokenType);
+        } else if (!relational && REL_OPS.contains(tokenType)) {
+          precedence = RELATIONAL;
+          nodeType = REL_OPS_MAP.get(tokenType);
+        } else {
+          precedence = 0;
+          nodeType = null;
+        }
 
-    // Look for a leading + or -.
-    TokenType tokenType = token.getType();
-    if (tokenType == PLUS || tokenType == MINUS) {
-      signType = tokenType;
-      token = nextToken(); // Consume the + or -.
-    }
-    
-    // Parse a term and make the root of its tree the root node.
-    ICodeNode rootNode = parseTerm(token);
-
-    // Was there a leading sign?
-    if (signType == MINUS) {
-      // Create a NEGATE node and adopt the current tree as its child. The NEGATE node becomes the new root node.
-      ICodeNode negateNode = ICodeFactory.createICodeNode(NEGATE);
-      negateNode.addChild(rootNode);
-      rootNode = negateNode;
-    }
+        if (nodeType != null) {
+          // Create a new operator node and adopt the current tree as its first child.
+          ICodeNode opNode = ICodeFactory.createICodeNode(nodeType);
+          opNode.addChild(reduce(operand, precedence));
+          push(opNode, precedence);
 
-    token = currentToken();
-    tokenType = token.getType();
+          token = nextToken(); // Consume the operator.
 
-    // Loop over additive operators.
+          if (precedence == RELATIONAL) {
+            relational = true;
+            signAllowed = true;
+          }
+          break;
+        }
 
-    while (ADD_OPS.contains(tokenType)) {
-      // Create a new operator node and adopt the current tree as its first child.
-      ICodeNodeType nodeType = ADD_OPS_MAP.get(tokenType);
-      ICodeNode opNode = ICodeFactory.createICodeNode(nodeType);
-      opNode.addChild(rootNode);
+        // The innermost expression ends here.
+        operand = reduce(operand, 0);
+        if (top == base) {
+          return operand;
+        }
 
-      token = nextToken(); // Consume the operator.
+        relational = (precedences[--top] == PAREN_AFTER_RELATIONAL);
 
-      // Parse another term. The operator node adopts the term's tree as its second child.
-      opNode.addChild(parseTerm(token));
+        // Look for the matching ")" token
+        if (tokenType == RIGHT_PAREN) {
+          nextToken(); // Consume the ")".
+        } else {
+          errorHandler.flag(token, MISSING_RIGHT_PAREN, this);
+        }
+      }
+    }
+  }
 
-      // The operator node becomes the new root node.
+  /**
+   * Pop the stacked operators that bind at least as tightly as an operator, down to the innermost open
+   * parenthesis. Each operator node adopts the current tree as its last child and becomes the new root node.
+   * @param rootNode the root node of the current tree.
+   * @param precedence the precedence of the operator.
+   * @return the root node of the reduced tree.
+   */
+  private ICodeNode reduce(ICodeNode rootNode, int precedence) {
+    while ((top > 0) && (precedences[top - 1] >= precedence)) {
+      ICodeNode opNode = operators[--top];
+      operators[top] = null;
+      opNode.addChild(rootNode);
       rootNode = opNode;
-
-      token = currentToken();
-      tokenType = token.getType();
     }
 
     return rootNode;
   }
 
   /**
-   * Parse term.
-   * @param token the initial token.
-   * @return the root of the generated parse subtree.
-   * @throws Exception if an error occurs.
+   * Push an operator node or an open parenthesis.
+   * @param opNode the operator node, or null.
+   * @param precedence its precedence or open parenthesis entry.
    */
-  private ICodeNode parseTerm(Token token) throws Exception {
-
-    // Parse a factor and make its root node the root subtree.
-    ICodeNode rootNode = parseFactor(token);
-
-    token = currentToken();
-    TokenType tokenType = token.getType();
-
-    // Loop over multiplicative operators.
-
-    while (MUL_OPS.contains(tokenType)) {
-      // Create a new operator and adopt the current tree as its first child.
-      ICodeNodeType nodeType = MUL_OPS_MAP.get(tokenType);
-      ICodeNode opNode = ICodeFactory.createICodeNode(nodeType);
-      opNode.addChild(rootNode);
-
-      token = nextToken(); // Consume the operator.
-
-      // Parse another factor. The operator node adopts the term's tree as its second child.
-      opNode.addChild(parseFactor(token));
-
-      // The operator becomes the new root mode.
-      rootNode = opNode;
-
-      token = currentToken();
-      tokenType = token.getType();
+  private void push(ICodeNode opNode, int precedence) {
+    if (top == operators.length) {
+      operators = Arrays.copyOf(operators, 2 * top);
+      precedences = Arrays.copyOf(precedences, 2 * top);
     }
 
-    return  rootNode;
+    operators[top] = opNode;
+    precedences[top] = precedence;
+    ++top;
   }
 
   /**
-   * Parse a factor.
+   * Parse an identifier or a constant operand.
    * @param token the initial token.
-   * @return the root of the generated parse subtree.
+   * @return the root of the generated parse subtree, or null if the token does not start an operand.
    * @throws Exception if an error occurs.
    */
-  private ICodeNode parseFactor(Token token) throws Exception {
+  private ICodeNode parseOperand(Token token) throws Exception {
     TokenType tokenType = token.getType();
     ICodeNode rootNode = null;
 
@@ -228,7 +261,7 @@ public class ExpressionParser extends StatementParser {
       case IDENTIFIER: {
         // Look up the identifier in the symbol table stack.
         // Flag the identifier as undefined if it's not found.
-        String name = token.getText().toLowerCase();
+        InternedName name = (InternedName) token.getValue();
         SymTableEntry id = symTabStack.lookup(name);
         if (id == null) {
           errorHandler.flag(token, IDENTIFIER_UNDEFINED, this);
@@ -268,31 +301,6 @@ public class ExpressionParser extends StatementParser {
         token = nextToken(); // Consume the string.
         break;
       }
-      case NOT: {
-        token = nextToken(); // Consume the NOT
-
-        // Create a NOT node as the root node.
-        rootNode = ICodeFactory.createICodeNode(ICodeNodeTypeImpl.NOT);
-
-        // Parse the factor. The NOT node adopts the factor node as its child.
-        rootNode.addChild(parseFactor(token));
-        break;
-      }
-      case LEFT_PAREN: {
-        token = nextToken(); // Consume the "("
-
-        // Parse an expression and make its node the root node.
-        rootNode = parseExpression(token);
-
-        // Look for the matching ")" token
-        token = currentToken();
-        if (token.getType() == RIGHT_PAREN) {
-          token = nextToken(); // Consume the ")".
-        } else {
-          errorHandler.flag(token, MISSING_RIGHT_PAREN, this);
-        }
-        break;
-      }
       default: {
         errorHandler.flag(token, UNEXPECTED_TOKEN, this);
         break;
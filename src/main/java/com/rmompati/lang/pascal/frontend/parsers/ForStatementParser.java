@@ -4,7 +4,6 @@ import com.rmompati.lang.frontend.Token;
 import com.rmompati.lang.frontend.TokenType;
 import com.rmompati.lang.intermediate.ICodeFactory;
 import com.rmompati.lang.intermediate.ICodeNode;
-import com.rmompati.lang.pascal.frontend.PascalParserTD;
 import com.rmompati.lang.pascal.frontend.PascalTokenType;
 
 import java.util.EnumSet;
@@ -42,10 +41,10 @@ public class ForStatementParser extends StatementParser {
   /**
    * Constructor.
    *
-   * @param parent the parent parser.
+   * @param statementParser the dispatching statement parser of the set.
    */
-  public ForStatementParser(PascalParserTD parent) {
-    super(parent);
+  public ForStatementParser(StatementParser statementParser) {
+    super(statementParser);
   }
 
   /**
@@ -58,7 +57,7 @@ public class ForStatementParser extends StatementParser {
   @Override
   public ICodeNode parse(Token token) throws Exception {
     token = nextToken(); // Consume the for.
-    Token targetToken = token;
+    int targetLineNum = token.getLineNum();
 
     // Create the loop "COMPOUND", "LOOP", and "TEST" nodes.
     ICodeNode compoundNode = ICodeFactory.createICodeNode(COMPOUND);
@@ -66,11 +65,10 @@ public class ForStatementParser extends StatementParser {
     ICodeNode testNode = ICodeFactory.createICodeNode(TEST);
 
     // Parse the embedded initial assignment.
-    AssignmentStatementParser assignmentParser = new AssignmentStatementParser(this);
-    ICodeNode initAssignNode = assignmentParser.parse(token);
+    ICodeNode initAssignNode = getAssignmentParser().parse(token);
 
     // Set the current line number attribute
-    setLineNumber(initAssignNode, targetToken);
+    setLineNumber(initAssignNode, targetLineNum);
 
     // The "COMPOUND" node adopts the initial "ASSIGN" and "LOOP" nodes.
     compoundNode.addChild(initAssignNode);
@@ -97,8 +95,7 @@ public class ForStatementParser extends StatementParser {
     relOpNode.addChild(controlVarNode.copy());
 
     // Parse the termination expression. The relational operator node adopts the expression as its second child.
-    ExpressionParser expressionParser = new ExpressionParser(this);
-    relOpNode.addChild(expressionParser.parse(token));
+    relOpNode.addChild(getExpressionParser().parse(token));
 
     // The "TEST" node adopts the relational operator nodes as its only child.
     // The "LOOP" node adopts the "TEST" node as its first child.
@@ -114,7 +111,6 @@ public class ForStatementParser extends StatementParser {
     }
 
     // Parse the nested statement. The "LOOP" node adopts the statement node as its second child.
-    StatementParser statementParser = new StatementParser(this);
     loopNode.addChild(statementParser.parse(token));
 
 
@@ -137,7 +133,7 @@ public class ForStatementParser extends StatementParser {
     loopNode.addChild(nextAssignNode);
 
     // Set the current line number attribute.
-    setLineNumber(nextAssignNode, targetToken);
+    setLineNumber(nextAssignNode, targetLineNum);
 
     return compoundNode;
   }
@@ -3,7 +3,6 @@ package com.rmompati.lang.pascal.frontend.parsers;
 import com.rmompati.lang.frontend.Token;
 import com.rmompati.lang.intermediate.ICodeFactory;
 import com.rmompati.lang.intermediate.ICodeNode;
-import com.rmompati.lang.pascal.frontend.PascalParserTD;
 import com.rmompati.lang.pascal.frontend.PascalTokenType;
 
 import java.util.EnumSet;
@@ -30,10 +29,10 @@ public class IfStatementParser extends StatementParser {
   /**
    * Constructor.
    *
-   * @param parent the parent parser.
+   * @param statementParser the dispatching statement parser of the set.
    */
-  public IfStatementParser(PascalParserTD parent) {
-    super(parent);
+  public IfStatementParser(StatementParser statementParser) {
+    super(statementParser);
   }
 
   /**
@@ -52,8 +51,7 @@ public class IfStatementParser extends StatementParser {
 
     // Parse the expression.
     // The "IF" node adopts the expression subtree as its first child.
-    ExpressionParser expressionParser = new ExpressionParser(this);
-    ifNode.addChild(expressionParser.parse(token));
+    ifNode.addChild(getExpressionParser().parse(token));
 
     // Synchronize at the "THEN".
     token = synchronize(THEN_SET);
@@ -64,7 +62,6 @@ public class IfStatementParser extends StatementParser {
     }
 
     // Parse the "THEN" statement.
-    StatementParser statementParser = new StatementParser(this);
     ifNode.addChild(statementParser.parse(token));
     token = currentToken();
 
@@ -3,7 +3,6 @@ package com.rmompati.lang.pascal.frontend.parsers;
 import com.rmompati.lang.frontend.Token;
 import com.rmompati.lang.intermediate.ICodeFactory;
 import com.rmompati.lang.intermediate.ICodeNode;
-import com.rmompati.lang.pascal.frontend.PascalParserTD;
 
 import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.LOOP;
 import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.TEST;
@@ -19,10 +18,10 @@ public class RepeatStatementParser extends StatementParser {
   /**
    * Constructor.
    *
-   * @param parent the parent parser.
+   * @param statementParser the dispatching statement parser of the set.
    */
-  public RepeatStatementParser(PascalParserTD parent) {
-    super(parent);
+  public RepeatStatementParser(StatementParser statementParser) {
+    super(statementParser);
   }
 
   /**
@@ -41,13 +40,11 @@ public class RepeatStatementParser extends StatementParser {
     ICodeNode testNode = ICodeFactory.createICodeNode(TEST);
 
     // Parse the statement list terminated by the UNTIL token.
-    StatementParser statementParser = new StatementParser(this);
     statementParser.parseList(token, loopNode, UNTIL, MISSING_UNTIL);
     token = currentToken();
 
     // Parse the expression. The TEST node adopts the expression subtree as its only child.
-    ExpressionParser expressionParser = new ExpressionParser(this);
-    testNode.addChild(expressionParser.parse(token));
+    testNode.addChild(getExpressionParser().parse(token));
     loopNode.addChild(testNode);
 
     return loopNode;
@@ -1,6 +1,5 @@
 package com.rmompati.lang.pascal.frontend.parsers;
 
-import com.rmompati.lang.frontend.EofToken;
 import com.rmompati.lang.frontend.Token;
 import com.rmompati.lang.frontend.TokenType;
 import com.rmompati.lang.intermediate.ICodeFactory;
@@ -9,6 +8,7 @@ import com.rmompati.lang.pascal.frontend.PascalParserTD;
 import com.rmompati.lang.pascal.frontend.PascalTokenType;
 import com.rmompati.lang.pascal.frontend.error.PascalErrorCode;
 
+import java.util.EnumMap;
 import java.util.EnumSet;
 
 import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.LINE;
@@ -20,6 +20,10 @@ import static com.rmompati.lang.pascal.frontend.error.PascalErrorCode.MISSING_SE
  * <h1>StatementParser</h1>
  *
  * <p>A base parser for a Pascal Statement.</p>
+ *
+ * <p>The parsers hold no state of their own while they parse, so a parse creates one parser of each kind up front and
+ * reuses it for every statement of that kind. A statement parser created from the top-level parser creates the set,
+ * and dispatches each statement to the parser of the set that is keyed by the statement's first token type.</p>
  */
 public class StatementParser extends PascalParserTD {
 
@@ -31,12 +35,63 @@ public class StatementParser extends PascalParserTD {
   protected static final EnumSet<PascalTokenType> STMT_FOLLOW_SET =
       EnumSet.of(SEMICOLON, END, ELSE, UNTIL, DOT);
 
+  /** The statement parser that dispatches statements to the parsers of the set. */
+  protected final StatementParser statementParser;
+
+  // The parsers of the set, only held by the dispatching statement parser.
+  private final EnumMap<PascalTokenType, StatementParser> statementParsers;
+  private final ExpressionParser expressionParser;
+  private final AssignmentStatementParser assignmentParser;
+  private final EnumMap<PascalTokenType, EnumSet<PascalTokenType>> terminatorSets;
+
   /**
-   * Constructor.
+   * Constructor for the dispatching statement parser, which creates the set of parsers.
    * @param parent the parent parser.
    */
   public StatementParser(PascalParserTD parent) {
     super(parent);
+    this.statementParser = this;
+    this.statementParsers = new EnumMap<>(PascalTokenType.class);
+    this.expressionParser = new ExpressionParser(this);
+    this.assignmentParser = new AssignmentStatementParser(this);
+    this.terminatorSets = new EnumMap<>(PascalTokenType.class);
+
+    statementParsers.put(BEGIN, new CompoundStatementParser(this));
+    statementParsers.put(IDENTIFIER, assignmentParser);
+    statementParsers.put(REPEAT, new RepeatStatementParser(this));
+    statementParsers.put(WHILE, new WhileStatementParser(this));
+    statementParsers.put(FOR, new ForStatementParser(this));
+    statementParsers.put(IF, new IfStatementParser(this));
+    statementParsers.put(CASE, new CaseStatementParser(this));
+  }
+
+  /**
+   * Constructor for the parsers of a set.
+   * @param statementParser the dispatching statement parser of the set.
+   */
+  protected StatementParser(StatementParser statementParser) {
+    super(statementParser);
+    this.statementParser = statementParser;
+    this.statementParsers = null;
+    this.expressionParser = null;
+    this.assignmentParser = null;
+    this.terminatorSets = null;
+  }
+
+  /**
+   * Gets the expression parser of the set.
+   * @return the expression parser.
+   */
+  protected ExpressionParser getExpressionParser() {
+    return statementParser.expressionParser;
+  }
+
+  /**
+   * Gets the assignment statement parser of the set.
+   * @return the assignment statement parser.
+   */
+  protected AssignmentStatementParser getAssignmentParser() {
+    return statementParser.assignmentParser;
   }
 
   /**
@@ -46,50 +101,13 @@ public class StatementParser extends PascalParserTD {
    * @return the root node of the generated parse tree.
    * @throws Exception if an error occurs.*/
   public ICodeNode parse(Token token) throws Exception {
-    ICodeNode statementNode = null;
-    switch (((PascalTokenType) token.getType())) {
-      case BEGIN: {
-        CompoundStatementParser compoundParser = new CompoundStatementParser(this);
-        statementNode = compoundParser.parse(token);
-        break;
-      }
-      case IDENTIFIER: {
-        AssignmentStatementParser assignmentParser = new AssignmentStatementParser(this);
-        statementNode = assignmentParser.parse(token);
-        break;
-      }
-      case REPEAT: {
-        RepeatStatementParser repeatParser = new RepeatStatementParser(this);
-        statementNode = repeatParser.parse(token);
-        break;
-      }
-      case WHILE: {
-        WhileStatementParser whileParser = new WhileStatementParser(this);
-        statementNode = whileParser.parse(token);
-        break;
-      }
-      case FOR: {
-        ForStatementParser forParser = new ForStatementParser(this);
-        statementNode = forParser.parse(token);
-        break;
-      }
-      case IF: {
-        IfStatementParser ifParser = new IfStatementParser(this);
-        statementNode = ifParser.parse(token);
-        break;
-      }
-      case CASE: {
-        CaseStatementParser caseParser = new CaseStatementParser(this);
-        statementNode = caseParser.parse(token);
-        break;
-      }
-      default: {
-        statementNode = ICodeFactory.createICodeNode(NO_OP);
-      }
-    }
+    // The scanner reuses the token object, so copy the line number before parsing the statement.
+    int lineNum = token.getLineNum();
+    StatementParser parser = statementParser.statementParsers.get(token.getType());
+    ICodeNode statementNode = (parser != null) ? parser.parse(token) : ICodeFactory.createICodeNode(NO_OP);
 
     // Set the current line number as an attribute.
-    setLineNumber(statementNode, token);
+    setLineNumber(statementNode, lineNum);
 
     return statementNode;
   }
@@ -97,11 +115,11 @@ public class StatementParser extends PascalParserTD {
   /**
    * Sets the current line number as a statement node attribute.
    * @param node the ICode node.
-   * @param token the token.
+   * @param lineNum the line number.
    */
-  protected void setLineNumber(ICodeNode node, Token token) {
+  protected void setLineNumber(ICodeNode node, int lineNum) {
     if (node != null) {
-      node.setAttribute(LINE, token.getLineNum());
+      node.setAttribute(LINE, lineNum);
     }
   }
 
@@ -116,13 +134,17 @@ public class StatementParser extends PascalParserTD {
   protected void parseList(Token token, ICodeNode parentNode, PascalTokenType terminator,
                            PascalErrorCode errorCode) throws Exception {
 
-    EnumSet<PascalTokenType> terminatorSet = STMT_START_SET.clone();
-    terminatorSet.add(terminator);
+    EnumSet<PascalTokenType> terminatorSet = statementParser.terminatorSets.get(terminator);
+    if (terminatorSet == null) {
+      terminatorSet = STMT_START_SET.clone();
+      terminatorSet.add(terminator);
+      statementParser.terminatorSets.put(terminator, terminatorSet);
+    }
 
     // Loop to parse each statement until the "END" token, or end of source file.
-    while (!(token instanceof EofToken) && (token.getType() != terminator)) {
+    while ((token.getType() != END_OF_FILE) && (token.getType() != terminator)) {
       // parse a statement. The parent node adopts the statement node.
-      ICodeNode statementNode = parse(token);
+      ICodeNode statementNode = statementParser.parse(token);
       parentNode.addChild(statementNode);
 
       token = currentToken();
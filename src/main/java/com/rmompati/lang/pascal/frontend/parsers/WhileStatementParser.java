@@ -3,7 +3,6 @@ package com.rmompati.lang.pascal.frontend.parsers;
 import com.rmompati.lang.frontend.Token;
 import com.rmompati.lang.intermediate.ICodeFactory;
 import com.rmompati.lang.intermediate.ICodeNode;
-import com.rmompati.lang.pascal.frontend.PascalParserTD;
 import com.rmompati.lang.pascal.frontend.PascalTokenType;
 
 import java.util.EnumSet;
@@ -30,10 +29,10 @@ public class WhileStatementParser extends StatementParser {
   /**
    * Constructor.
    *
-   * @param parent the parent parser.
+   * @param statementParser the dispatching statement parser of the set.
    */
-  public WhileStatementParser(PascalParserTD parent) {
-    super(parent);
+  public WhileStatementParser(StatementParser statementParser) {
+    super(statementParser);
   }
 
   /**
@@ -59,8 +58,7 @@ public class WhileStatementParser extends StatementParser {
 
     // Parse the expression.
     // The "NOT" node adopts the expression subtree as its only child.
-    ExpressionParser expressionParser = new ExpressionParser(this);
-    notNode.addChild(expressionParser.parse(token));
+    notNode.addChild(getExpressionParser().parse(token));
 
     // Synchronize at the "DO".
     token = synchronize(DO_SET);
@@ -71,7 +69,6 @@ public class WhileStatementParser extends StatementParser {
     }
 
     // Parse the statement.
-    StatementParser statementParser = new StatementParser(this);
     loopNode.addChild(statementParser.parse(token));
 
     return loopNode;
@@ -1,6 +1,7 @@
 package com.rmompati.lang.pascal.frontend.tokens;
 
 import com.rmompati.lang.frontend.Source;
+import com.rmompati.lang.pascal.frontend.PascalNumbers;
 import com.rmompati.lang.pascal.frontend.PascalToken;
 
 import static com.rmompati.lang.pascal.frontend.PascalTokenType.*;
@@ -8,6 +9,15 @@ import static com.rmompati.lang.pascal.frontend.error.PascalErrorCode.*;
 import static java.lang.Double.MAX_EXPONENT;
 
 public class PascalNumberToken extends PascalToken {
+
+    // Number accumulators.
+    private int integerValue;
+    private int prevIntegerValue;
+    private long significand;
+    private int significantCount;
+    private int droppedCount;
+    private boolean inexact;
+
     /**
      * Constructor.
      *
@@ -31,22 +41,29 @@ public class PascalNumberToken extends PascalToken {
     }
 
     /**
-     * Extracts a Pascal number token from source.
+     * Extracts a Pascal number token from source. The integer value and the significant digits
+     * are accumulated while the digits are extracted.
      * @param textBuffer the buffer to append the token's characters
      * @throws Exception if an error occurs.
      */
     protected void extractNumber(StringBuilder textBuffer) throws Exception {
-        String wholeDigits = null;
-        String fractionalDigits = null;
-        String exponentsDigits = null;
+        int wholeCount;
+        int fractionCount = 0;
+        int exponentValue = 0;
         char exponentSign = '+';
         boolean sawDotDot = false;
         char currentChar;
 
         type = INTEGER;
+        integerValue = 0;
+        prevIntegerValue = -1;
+        significand = 0;
+        significantCount = 0;
+        droppedCount = 0;
+        inexact = false;
 
         // Extract the digits of the whole part of the number.
-        wholeDigits = unsignedIntegerDigits(textBuffer);
+        wholeCount = mantissaDigits(textBuffer, true);
         if (type == ERROR) {
             return;
         }
@@ -61,7 +78,7 @@ public class PascalNumberToken extends PascalToken {
                 currentChar = nextChar();
 
                 // Collect the digits of the fraction part of the number.
-                fractionalDigits = unsignedIntegerDigits(textBuffer);
+                fractionCount = mantissaDigits(textBuffer, false);
                 if (type == ERROR) {
                     return;
                 }
@@ -81,16 +98,20 @@ public class PascalNumberToken extends PascalToken {
             }
 
             // Extract exponents digits.
-            exponentsDigits = unsignedIntegerDigits(textBuffer);
+            exponentValue = exponentDigits(textBuffer);
         }
-        
+
         if (type == INTEGER) {
-            int integerValue = computeIntegerValue(wholeDigits);
-            if (type != ERROR) {
+            // No overflow
+            if (integerValue >= prevIntegerValue) {
                 value = integerValue;
+            } else {
+                // Overflow: Set the integer out of range error.
+                type = ERROR;
+                value = RANGE_INTEGER;
             }
         } else if (type == REAL) {
-            float floatValue = computeFloatValue(wholeDigits, fractionalDigits, exponentsDigits, exponentSign);
+            float floatValue = computeFloatValue(textBuffer, wholeCount, fractionCount, exponentValue, exponentSign);
             if (type != ERROR) {
                 value = floatValue;
             }
@@ -99,100 +120,123 @@ public class PascalNumberToken extends PascalToken {
 
     /**
      * Compute and return the float value of a real number.
-     * @param wholeDigits a string of digits before the decimal point.
-     * @param fractionalDigits a string of digits after the decimal point.
-     * @param exponentsDigits a string of exponents digits.
+     * @param textBuffer the token's characters.
+     * @param wholeCount the number of digits before the decimal point.
+     * @param fractionCount the number of digits after the decimal point.
+     * @param exponentValue the exponent value.
      * @param exponentSign the exponent sign.
      * @return the float value;
      */
-    private float computeFloatValue(String wholeDigits, String fractionalDigits, String exponentsDigits, char exponentSign) {
-        double floatValue = 0.0;
-        int exponentValue = computeIntegerValue(exponentsDigits);
-        String digits = wholeDigits;
+    private float computeFloatValue(StringBuilder textBuffer, int wholeCount, int fractionCount, int exponentValue,
+                                    char exponentSign) {
         if (exponentSign == '-') {
             exponentValue = -exponentValue;
         }
 
-        // If there are any fractional digits, adjust the exponent value and append the fractional digits.
-        if (fractionalDigits != null) {
-            exponentValue -= fractionalDigits.length();
-            digits += fractionalDigits;
-        }
+        // Adjust the exponent value for the fractional digits.
+        exponentValue -= fractionCount;
 
         // Check for a real number out of range error.
-        if (Math.abs(exponentValue + wholeDigits.length()) > MAX_EXPONENT) {
+        if (Math.abs(exponentValue + wholeCount) > MAX_EXPONENT) {
             type = ERROR;
             value = RANGE_REAL;
             return 0.0f;
         }
 
-        // Loop over the digits to compute the float value.
-        int index = 0;
-        while (index < digits.length()) {
-            floatValue = 10 * floatValue + Character.getNumericValue(digits.charAt(index++));
+        // An out of range exponent has already set an error.
+        if (type == ERROR) {
+            return 0.0f;
         }
 
-        // Adjust float value based on the exponent value.
-        if (exponentValue != 0) {
-            floatValue *= Math.pow(10, exponentValue);
+        // The significand leaves out the digits that were dropped.
+        exponentValue += droppedCount;
+        if (!inexact && PascalNumbers.hasFastPath(significand, exponentValue)) {
+            return PascalNumbers.toFloat(significand, exponentValue);
+        } else {
+            return PascalNumbers.parseFloat(textBuffer);
         }
-
-        return (float) floatValue;
     }
 
     /**
-     * Compute and return the integer value of a string of digits.
-     * Checks for overflow.
-     * @param digits the string of digits.
-     * @return the integer value.
+     * Extracts the digits of the whole or the fraction part of a number, accumulating the significant digits
+     * and, for the whole part, the integer value.
+     * @param textBuffer the buffer to append the token's characters.
+     * @param whole true for the digits of the whole part.
+     * @return the number of digits.
+     * @throws Exception if an error occurs.
      */
-    private int computeIntegerValue(String digits) {
-        if (digits == null) {
+    private int mantissaDigits(StringBuilder textBuffer, boolean whole) throws Exception {
+        char currentChar = currentChar();
+
+        if (!Character.isDigit(currentChar)) {
+            type = ERROR;
+            value = INVALID_NUMBER;
             return 0;
         }
 
-        int integerValue = 0;
-        int prevValue = -1;
-        int index = 0;
+        // Extract digits
+        int count = 0;
+        while (Character.isDigit(currentChar)) {
+            int digit = Character.getNumericValue(currentChar);
 
-        while ((index < digits.length()) && (integerValue >= prevValue)) {
-            prevValue = integerValue;
-            integerValue = 10 * integerValue + Character.getNumericValue(digits.charAt(index++));
-        }
+            // Accumulation stops once the integer value has wrapped around.
+            if (whole && (integerValue >= prevIntegerValue)) {
+                prevIntegerValue = integerValue;
+                integerValue = 10 * integerValue + digit;
+            }
 
-        // No overflow
-        if (integerValue >= prevValue) {
-            return integerValue;
-        }
+            // Leading zeros are not significant.
+            if (significantCount < PascalNumbers.MAX_SIGNIFICANT_DIGITS) {
+                significand = 10 * significand + digit;
+                if (significand > 0) {
+                    ++significantCount;
+                }
+            } else {
+                ++droppedCount;
+                inexact |= (digit != 0);
+            }
 
-        // Overflow: Set the integer out of range error.
-        type = ERROR;
-        value = RANGE_INTEGER;
-        return 0;
+            textBuffer.append(currentChar);
+            ++count;
+            currentChar = nextChar();
+        }
+        return count;
     }
 
     /**
-     * Extracts and returns the digits of an unsigned integer,
+     * Extracts the digits of an exponent and returns their value. Checks for overflow.
      * @param textBuffer the buffer to append the token's characters.
-     * @return the string of digits.
+     * @return the exponent value, or 0 if it is out of range.
      * @throws Exception if an error occurs.
      */
-    private String unsignedIntegerDigits(StringBuilder textBuffer) throws Exception {
+    private int exponentDigits(StringBuilder textBuffer) throws Exception {
         char currentChar = currentChar();
 
         if (!Character.isDigit(currentChar)) {
             type = ERROR;
             value = INVALID_NUMBER;
-            return null;
+            return 0;
         }
 
-        // Extract digits
-        StringBuilder digits = new StringBuilder();
+        int exponentValue = 0;
+        int prevValue = -1;
         while (Character.isDigit(currentChar)) {
+            if (exponentValue >= prevValue) {
+                prevValue = exponentValue;
+                exponentValue = 10 * exponentValue + Character.getNumericValue(currentChar);
+            }
             textBuffer.append(currentChar);
-            digits.append(currentChar);
             currentChar = nextChar();
         }
-        return digits.toString();
+
+        // No overflow
+        if (exponentValue >= prevValue) {
+            return exponentValue;
+        }
+
+        // Overflow: Set the integer out of range error.
+        type = ERROR;
+        value = RANGE_INTEGER;
+        return 0;
     }
 }
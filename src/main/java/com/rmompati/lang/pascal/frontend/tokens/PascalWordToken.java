@@ -1,30 +1,41 @@
 package com.rmompati.lang.pascal.frontend.tokens;
 
+import com.rmompati.lang.frontend.IdentifierPool;
 import com.rmompati.lang.frontend.Source;
+import com.rmompati.lang.pascal.frontend.PascalReservedWords;
 import com.rmompati.lang.pascal.frontend.PascalToken;
 import com.rmompati.lang.pascal.frontend.PascalTokenType;
 
 import static com.rmompati.lang.pascal.frontend.PascalTokenType.IDENTIFIER;
-import static com.rmompati.lang.pascal.frontend.PascalTokenType.RESERVED_WORDS;
 
 public class PascalWordToken extends PascalToken {
   /**
    * Constructor.
    *
    * @param source the source from where to fetch the token's characters.
+   * @param identifierPool the pool that interns the word.
    * @throws Exception if an error occurred.
    */
-  public PascalWordToken(Source source) throws Exception {
+  public PascalWordToken(Source source, IdentifierPool identifierPool) throws Exception {
     super(source);
+    extractWord(identifierPool);
   }
 
   /**
-   * Extracts a pascal word token from the source.
+   * Do nothing. The word is extracted by the constructor once the identifier pool is known.
    *
    * @throws Exception if an error occurs.
    */
   @Override
-  protected void extract() throws Exception {
+  protected void extract() throws Exception {}
+
+  /**
+   * Extracts a pascal word token from the source.
+   *
+   * @param identifierPool the pool that interns the word.
+   * @throws Exception if an error occurs.
+   */
+  private void extractWord(IdentifierPool identifierPool) throws Exception {
     StringBuilder pascalWord = new StringBuilder();
     char currentChar = currentChar();
 
@@ -35,11 +46,14 @@ public class PascalWordToken extends PascalToken {
       currentChar = nextChar();
     }
 
-    text = pascalWord.toString();
+    text = identifierPool.spelling(pascalWord);
 
-    // Is it a reserved word or an identifier.
-    type = (RESERVED_WORDS.contains(text.toLowerCase())) ?
-        PascalTokenType.valueOf(text.toUpperCase()) // reserved word.
-        : IDENTIFIER;                               // identifier.
+    // Is it a reserved word or an identifier. The value of an identifier is its interned name.
+    PascalTokenType reservedType = PascalReservedWords.lookup(pascalWord);
+    type = (reservedType != null) ? reservedType // reserved word.
+        : IDENTIFIER;                            // identifier.
+    if (type == IDENTIFIER) {
+      value = identifierPool.intern(text);
+    }
   }
 }
@@ -45,13 +45,13 @@ public class CrossReferencer {
   }
 
   private void printSymTable(SymTable symTable) {
-    // Loop over the sorted list of symbol table entries.
+    // Loop over the list of symbol table entries, sorted by their interned names.
     ArrayList<SymTableEntry> sorted = symTable.sortedEntries();
     for (SymTableEntry entry : sorted) {
       ArrayList<Integer> lineNumbers = entry.getLineNumbers();
 
-      // For each entry, print the identifier followed by the line numbers.
-      System.out.printf(NAME_FORMAT, entry.getName());
+      // For each entry, print the canonical text of the identifier followed by the line numbers.
+      System.out.printf(NAME_FORMAT, entry.getInternedName().getText());
       if (lineNumbers != null) {
         for (Integer lineNumber : lineNumbers) {
           System.out.printf(NUMBER_FORMAT, lineNumber);
@@ -0,0 +1,239 @@
+package com.rmompati.lang.util;
+
+import com.rmompati.lang.intermediate.*;
+import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
+import com.rmompati.lang.intermediate.symtableimpl.SymTableKeyImpl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.*;
+import static com.rmompati.lang.util.ICodeWriter.*;
+
+/**
+ * <h1>ICodeReader</h1>
+ *
+ * <p>Reads intermediate code written by {@link ICodeWriter}, typically from a memory-mapped file. Each column is
+ * fetched with one bulk get, and the tree is rebuilt from the columns in a single preorder pass.</p>
+ */
+public class ICodeReader {
+
+  private final ByteBuffer buffer;
+
+  /**
+   * Constructor.
+   * @param buffer the encoded intermediate code, from its position to its limit.
+   */
+  public ICodeReader(ByteBuffer buffer) {
+    this.buffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Maps a file written by {@link ICodeWriter}.
+   * @param path the path of the file.
+   * @return a reader of the file.
+   * @throws IOException if an I/O error occurred.
+   */
+  public static ICodeReader map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new ICodeReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Reads the intermediate code, entering the symbol table entries it refers to into a symbol table.
+   * @param symTable the symbol table.
+   * @return the intermediate code.
+   * @throws IOException if the encoding is not valid.
+   */
+  public ICode read(SymTable symTable) throws IOException {
+    try {
+      return readColumns(symTable);
+    } catch (RuntimeException exc) {
+      throw new IOException("Invalid intermediate code", exc);
+    }
+  }
+
+  private ICode readColumns(SymTable symTable) throws IOException {
+    int[] header = getInts(HEADER_INTS);
+    if ((header[0] != MAGIC) || (header[1] != VERSION)) {
+      throw new IOException("Not intermediate code of version " + VERSION);
+    }
+    int stringCount = header[2];
+    int charCount = header[3];
+    int entryCount = header[4];
+    int lineNumberCount = header[5];
+    int entryAttributeCount = header[6];
+    int nodeCount = header[7];
+    int lineCount = header[8];
+    int idCount = header[9];
+    int valueCount = header[10];
+
+    // String table.
+    int[] stringStarts = getInts(stringCount + 1);
+    checkRemaining(2L * charCount);
+    char[] chars = new char[charCount];
+    buffer.asCharBuffer().get(chars);
+    skip(padded(2 * charCount));
+
+    String[] strings = new String[stringCount];
+    for (int i = 0; i < stringCount; ++i) {
+      strings[i] = new String(chars, stringStarts[i], stringStarts[i + 1] - stringStarts[i]);
+    }
+
+    // Symbol table entries.
+    int[] names = getInts(entryCount);
+    int[] lineStarts = getInts(entryCount + 1);
+    int[] lineNumbers = getInts(lineNumberCount);
+    int[] entryAttributes = getInts(3 * entryAttributeCount);
+
+    SymTableEntry[] entries = new SymTableEntry[entryCount];
+    for (int i = 0; i < entryCount; ++i) {
+      entries[i] = symTable.enter(strings[names[i]]);
+      for (int j = lineStarts[i]; j < lineStarts[i + 1]; ++j) {
+        entries[i].appendLineNumber(lineNumbers[j]);
+      }
+    }
+
+    SymTableKeyImpl[] keys = SymTableKeyImpl.values();
+    for (int i = 0; i < entryAttributes.length; i += 3) {
+      int keyAndTag = entryAttributes[i + 1];
+      entries[entryAttributes[i]].setAttribute(keys[keyAndTag >>> 8],
+                                               value(keyAndTag & TAG_MASK, entryAttributes[i + 2], strings));
+    }
+
+    // Nodes.
+    byte[] types = getBytes(nodeCount);
+    byte[] flags = getBytes(nodeCount);
+    int[] childCounts = getInts(nodeCount);
+    int[] lines = getInts(lineCount);
+    int[] ids = getInts(idCount);
+    int[] values = getInts(valueCount);
+
+    ICode iCode = ICodeFactory.createICode();
+    if (nodeCount > 0) {
+      iCode.setRoot(buildTree(types, flags, childCounts, lines, ids, values, entries, strings));
+    }
+
+    return iCode;
+  }
+
+  /**
+   * Rebuilds the tree from the node and node attribute columns, which are in preorder.
+   * @return the root node.
+   */
+  private static ICodeNode buildTree(byte[] types, byte[] flags, int[] childCounts, int[] lines, int[] ids,
+                                     int[] values, SymTableEntry[] entries, String[] strings) {
+    ICodeNodeTypeImpl[] nodeTypes = ICodeNodeTypeImpl.values();
+
+    // The stack of the nodes whose children are still being read, with the number of children left.
+    ICodeNode[] parents = new ICodeNode[16];
+    int[] remaining = new int[16];
+    int top = -1;
+    ICodeNode root = null;
+
+    // The next LINE, ID and VALUE attributes.
+    int line = 0;
+    int id = 0;
+    int value = 0;
+
+    for (int i = 0; i < types.length; ++i) {
+      ICodeNode node = ICodeFactory.createICodeNode(nodeTypes[types[i] & 0xFF]);
+      int nodeFlags = flags[i];
+      if ((nodeFlags & HAS_LINE) != 0) {
+        node.setAttribute(LINE, lines[line++]);
+      }
+      if ((nodeFlags & HAS_ID) != 0) {
+        node.setAttribute(ID, entries[ids[id++]]);
+      }
+      if ((nodeFlags & TAG_MASK) != NONE) {
+        node.setAttribute(VALUE, value(nodeFlags & TAG_MASK, values[value++], strings));
+      }
+
+      if (top < 0) {
+        root = node;
+      } else {
+        parents[top].addChild(node);
+        --remaining[top];
+      }
+
+      if (childCounts[i] > 0) {
+        if (++top == parents.length) {
+          parents = Arrays.copyOf(parents, 2 * top);
+          remaining = Arrays.copyOf(remaining, 2 * top);
+        }
+        parents[top] = node;
+        remaining[top] = childCounts[i];
+      }
+
+      // Pop the parents whose children have all been read.
+      while ((top >= 0) && (remaining[top] == 0)) {
+        parents[top--] = null;
+      }
+    }
+
+    if ((top >= 0) || (line != lines.length) || (id != ids.length) || (value != values.length)) {
+      throw new IllegalStateException("Mismatched columns");
+    }
+
+    return root;
+  }
+
+  /**
+   * Decodes an attribute value.
+   * @param tag the value tag.
+   * @param bits the value bits.
+   * @param strings the string table.
+   * @return the value.
+   */
+  private static Object value(int tag, int bits, String[] strings) {
+    switch (tag) {
+      case INTEGER:
+        return bits;
+      case FLOAT:
+        return Float.intBitsToFloat(bits);
+      case BOOLEAN:
+        return bits != 0;
+      case STRING:
+        return strings[bits];
+      default:
+        throw new IllegalStateException("Bad value tag " + tag);
+    }
+  }
+
+  private int[] getInts(int count) throws IOException {
+    checkRemaining(4L * count);
+    int[] ints = new int[count];
+    buffer.asIntBuffer().get(ints);
+    skip(4 * count);
+    return ints;
+  }
+
+  private byte[] getBytes(int count) throws IOException {
+    checkRemaining(count);
+    byte[] bytes = new byte[count];
+    buffer.get(bytes);
+    skip(padded(count) - count);
+    return bytes;
+  }
+
+  /**
+   * Checks a count read from the columns against the bytes left, so that damaged columns cannot allocate huge arrays.
+   * @param byteCount the number of bytes that the count calls for.
+   * @throws IOException if the count is negative or there are not as many bytes left.
+   */
+  private void checkRemaining(long byteCount) throws IOException {
+    if ((byteCount < 0) || (byteCount > buffer.remaining())) {
+      throw new IOException("Truncated intermediate code");
+    }
+  }
+
+  private void skip(int byteCount) {
+    buffer.position(buffer.position() + byteCount);
+  }
+}
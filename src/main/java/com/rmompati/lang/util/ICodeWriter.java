@@ -0,0 +1,314 @@
+package com.rmompati.lang.util;
+
+import com.rmompati.lang.intermediate.*;
+import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl;
+import com.rmompati.lang.intermediate.symtableimpl.SymTableKeyImpl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.*;
+
+/**
+ * <h1>ICodeWriter</h1>
+ *
+ * <p>Writes intermediate code and the symbol table it refers to in a compact binary format that {@link ICodeReader}
+ * loads from a memory-mapped file.</p>
+ *
+ * <p>The format is little-endian and laid out in columns, so that the reader fetches each column with one bulk get.
+ * A header of {@link #HEADER_INTS} ints holds the magic number, the format version and the lengths of the columns,
+ * which follow in this order, each padded to a multiple of four bytes:</p>
+ * <ul>
+ *   <li>the string table: the start of each string plus the end of the last one, then the characters of all the
+ *   strings;</li>
+ *   <li>the symbol table entries: the string index of each entry's name, the start of each entry's line numbers plus
+ *   the end of the last ones, then all the line numbers;</li>
+ *   <li>the entry attributes, three ints each: the entry index, the key ordinal shifted left by eight or'ed with the
+ *   value tag, and the value bits;</li>
+ *   <li>the nodes, in preorder: a byte column of node type ordinals, a byte column of flags and an int column of child
+ *   counts;</li>
+ *   <li>the node attributes, in the preorder of the nodes that have them: an int column of LINE attributes, one of ID
+ *   attributes as entry indexes and one of VALUE attributes as value bits.</li>
+ * </ul>
+ *
+ * <p>A value is an Integer, a Float, a Boolean or a String, stored as its int bits, its float bits, 0 or 1, or its
+ * string index. The low bits of the node flags are the tag of the VALUE attribute, and the other flags tell whether
+ * the LINE and ID attributes are set.</p>
+ */
+public class ICodeWriter {
+  static final int MAGIC = 0x49434f44; // "ICOD"
+  static final int VERSION = 1;
+  static final int HEADER_INTS = 11;
+
+  // Value tags.
+  static final int NONE = 0;
+  static final int INTEGER = 1;
+  static final int FLOAT = 2;
+  static final int BOOLEAN = 3;
+  static final int STRING = 4;
+
+  // Node flags.
+  static final int TAG_MASK = 0x07;
+  static final int HAS_LINE = 0x08;
+  static final int HAS_ID = 0x10;
+
+  private final WritableByteChannel channel;
+
+  private final HashMap<String, Integer> stringIndexes;
+  private final ArrayList<String> strings;
+  private int charCount;
+
+  public ICodeWriter(WritableByteChannel channel) {
+    this.channel = channel;
+    this.stringIndexes = new HashMap<>();
+    this.strings = new ArrayList<>();
+    this.charCount = 0;
+  }
+
+  /**
+   * Writes intermediate code and the entries of the symbol table it refers to.
+   * @param iCode the intermediate code.
+   * @param symTable the symbol table.
+   * @throws IOException if an I/O error occurred.
+   * @throws IllegalArgumentException if a node or an attribute cannot be encoded.
+   */
+  public void write(ICode iCode, SymTable symTable) throws IOException {
+    // Symbol table entries.
+    ArrayList<SymTableEntry> entries = symTable.sortedEntries();
+    IdentityHashMap<SymTableEntry, Integer> entryIndexes = new IdentityHashMap<>();
+    int[] names = new int[entries.size()];
+    int[] lineStarts = new int[entries.size() + 1];
+    IntColumn lineNumbers = new IntColumn();
+    IntColumn entryAttributes = new IntColumn();
+
+    for (int i = 0; i < entries.size(); ++i) {
+      SymTableEntry entry = entries.get(i);
+      entryIndexes.put(entry, i);
+      names[i] = stringIndex(entry.getName());
+
+      lineStarts[i] = lineNumbers.size;
+      for (int lineNumber : entry.getLineNumbers()) {
+        lineNumbers.add(lineNumber);
+      }
+
+      for (SymTableKeyImpl key : SymTableKeyImpl.values()) {
+        Object value = entry.getAttribute(key);
+        if (value != null) {
+          entryAttributes.add(i);
+          entryAttributes.add((key.ordinal() << 8) | tag(value));
+          entryAttributes.add(bits(value));
+        }
+      }
+    }
+    lineStarts[entries.size()] = lineNumbers.size;
+
+    // Nodes, in preorder.
+    ByteColumn types = new ByteColumn();
+    ByteColumn flags = new ByteColumn();
+    IntColumn childCounts = new IntColumn();
+    IntColumn lines = new IntColumn();
+    IntColumn ids = new IntColumn();
+    IntColumn values = new IntColumn();
+
+    ArrayList<ICodeNode> stack = new ArrayList<>();
+    if (iCode.getRoot() != null) {
+      stack.add(iCode.getRoot());
+    }
+
+    while (!stack.isEmpty()) {
+      ICodeNode node = stack.remove(stack.size() - 1);
+      if (!(node.getType() instanceof ICodeNodeTypeImpl)) {
+        throw new IllegalArgumentException("Node type " + node.getType());
+      }
+      types.add(((ICodeNodeTypeImpl) node.getType()).ordinal());
+
+      int nodeFlags = 0;
+      Object line = node.getAttribute(LINE);
+      if (line != null) {
+        if (!(line instanceof Integer)) {
+          throw new IllegalArgumentException("Line " + line);
+        }
+        nodeFlags |= HAS_LINE;
+        lines.add((Integer) line);
+      }
+
+      Object id = node.getAttribute(ID);
+      if (id != null) {
+        if (!entryIndexes.containsKey(id)) {
+          throw new IllegalArgumentException("Identifier " + id);
+        }
+        nodeFlags |= HAS_ID;
+        ids.add(entryIndexes.get(id));
+      }
+
+      Object value = node.getAttribute(VALUE);
+      if (value != null) {
+        nodeFlags |= tag(value);
+        values.add(bits(value));
+      }
+      flags.add(nodeFlags);
+
+      ArrayList<ICodeNode> children = node.getChildren();
+      childCounts.add(children.size());
+      for (int i = children.size() - 1; i >= 0; --i) {
+        stack.add(children.get(i));
+      }
+    }
+
+    // Lay out the columns.
+    int nodeCount = types.size;
+    int size = 4 * HEADER_INTS
+        + 4 * (strings.size() + 1) + padded(2 * charCount)
+        + 4 * entries.size() + 4 * (entries.size() + 1) + 4 * lineNumbers.size
+        + 4 * entryAttributes.size
+        + 2 * padded(nodeCount) + 4 * nodeCount + 4 * (lines.size + ids.size + values.size);
+    ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+
+    buffer.asIntBuffer().put(new int[]{
+        MAGIC, VERSION, strings.size(), charCount, entries.size(), lineNumbers.size, entryAttributes.size / 3, nodeCount,
+        lines.size, ids.size, values.size
+    });
+    buffer.position(4 * HEADER_INTS);
+
+    int[] stringStarts = new int[strings.size() + 1];
+    char[] chars = new char[charCount];
+    for (int i = 0, start = 0; i < strings.size(); ++i) {
+      String string = strings.get(i);
+      stringStarts[i] = start;
+      string.getChars(0, string.length(), chars, start);
+      start += string.length();
+    }
+    stringStarts[strings.size()] = charCount;
+    putInts(buffer, stringStarts, stringStarts.length);
+    buffer.asCharBuffer().put(chars);
+    buffer.position(buffer.position() + padded(2 * charCount));
+
+    putInts(buffer, names, names.length);
+    putInts(buffer, lineStarts, lineStarts.length);
+    putInts(buffer, lineNumbers.ints, lineNumbers.size);
+    putInts(buffer, entryAttributes.ints, entryAttributes.size);
+
+    buffer.put(types.bytes, 0, nodeCount);
+    buffer.position(buffer.position() + padded(nodeCount) - nodeCount);
+    buffer.put(flags.bytes, 0, nodeCount);
+    buffer.position(buffer.position() + padded(nodeCount) - nodeCount);
+    putInts(buffer, childCounts.ints, nodeCount);
+    putInts(buffer, lines.ints, lines.size);
+    putInts(buffer, ids.ints, ids.size);
+    putInts(buffer, values.ints, values.size);
+
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * Returns the index of a string in the string table, adding it if needed.
+   * @param string the string.
+   * @return the index.
+   */
+  private int stringIndex(String string) {
+    Integer index = stringIndexes.get(string);
+    if (index == null) {
+      index = strings.size();
+      stringIndexes.put(string, index);
+      strings.add(string);
+      charCount += string.length();
+    }
+
+    return index;
+  }
+
+  /**
+   * Returns the tag of an attribute value.
+   * @param value the value, or null.
+   * @return the tag.
+   */
+  private static int tag(Object value) {
+    if (value == null) {
+      return NONE;
+    } else if (value instanceof Integer) {
+      return INTEGER;
+    } else if (value instanceof Float) {
+      return FLOAT;
+    } else if (value instanceof Boolean) {
+      return BOOLEAN;
+    } else if (value instanceof String) {
+      return STRING;
+    } else {
+      throw new IllegalArgumentException("Attribute value " + value);
+    }
+  }
+
+  /**
+   * Returns the bits of an attribute value.
+   * @param value the value, or null.
+   * @return the bits.
+   */
+  private int bits(Object value) {
+    switch (tag(value)) {
+      case INTEGER:
+        return (Integer) value;
+      case FLOAT:
+        return Float.floatToRawIntBits((Float) value);
+      case BOOLEAN:
+        return ((Boolean) value) ? 1 : 0;
+      case STRING:
+        return stringIndex((String) value);
+      default:
+        return 0;
+    }
+  }
+
+  /**
+   * Returns a byte count rounded up to a multiple of four.
+   */
+  static int padded(int byteCount) {
+    return (byteCount + 3) & ~3;
+  }
+
+  /**
+   * Puts ints at the position of a buffer and advances the position past them.
+   */
+  private static void putInts(ByteBuffer buffer, int[] ints, int count) {
+    buffer.asIntBuffer().put(ints, 0, count);
+    buffer.position(buffer.position() + 4 * count);
+  }
+
+  /**
+   * A growable column of ints.
+   */
+  private static class IntColumn {
+    int[] ints = new int[16];
+    int size = 0;
+
+    void add(int value) {
+      if (size == ints.length) {
+        ints = Arrays.copyOf(ints, 2 * size);
+      }
+      ints[size++] = value;
+    }
+  }
+
+  /**
+   * A growable column of bytes.
+   */
+  private static class ByteColumn {
+    byte[] bytes = new byte[16];
+    int size = 0;
+
+    void add(int value) {
+      if (size == bytes.length) {
+        bytes = Arrays.copyOf(bytes, 2 * size);
+      }
+      bytes[size++] = (byte) value;
+    }
+  }
+}
@@ -1,15 +1,14 @@
 package com.rmompati.lang.util;
 
 import com.rmompati.lang.intermediate.ICode;
-import com.rmompati.lang.intermediate.ICodeKey;
 import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.ICodeVisitor;
+import com.rmompati.lang.intermediate.ICodeWalker;
 import com.rmompati.lang.intermediate.SymTableEntry;
-import com.rmompati.lang.intermediate.icodeimpl.ICodeNodeImpl;
+import com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl;
 
 import java.io.PrintStream;
-import java.util.ArrayList;
-import java.util.Map;
-import java.util.Set;
+import java.util.List;
 
 /**
  * <h1>ParseTreePrinter</h1>
@@ -41,47 +40,59 @@ public class ParseTreePrinter {
 
   public void print(ICode iCode) {
     ps.println("\n===== INTERMEDIATE CODE =====\n");
-    printNode((ICodeNodeImpl) iCode.getRoot());
+    new ICodeWalker().walk(iCode.getRoot(), new NodePrinter());
     printLine();
   }
 
   /**
-   * Prints a parse tree node.
-   * @param node the parse tree node.
+   * Prints the parse tree nodes as they are walked: the opening tag of a node with its attributes when the node is
+   * entered, then its closing tag when it is left, unless it has no children.
    */
-  private void printNode(ICodeNodeImpl node) {
-    append(indentation); append("<" + node.toString());
-
-    printAttributes(node);
-    printTypeSpec(node);
-
-    ArrayList<ICodeNode> childNodes = node.getChildren();
-
-    // Print the node's children followed by the closing tag,
-    if ((childNodes != null) && (childNodes.size() > 0)) {
-      append(">");
-      printLine();
-
-      printChildNodes(childNodes);
-      append(indentation); append("</" + node + ">");
-    } else {
-      append(" "); append("/>");
+  private class NodePrinter implements ICodeVisitor {
+
+    @Override
+    public boolean enter(ICodeNode node, List<ICodeNode> children) {
+      append(indentation); append("<" + node.toString());
+
+      printAttributes(node);
+      printTypeSpec(node);
+
+      // Open the node's children, which are followed by its closing tag, or close the node.
+      if (children.size() > 0) {
+        append(">");
+        printLine();
+        indentation += indent;
+      } else {
+        append(" "); append("/>");
+        printLine();
+      }
+
+      return true;
     }
 
-    printLine();
+    @Override
+    public void leave(ICodeNode node, List<ICodeNode> children) {
+      if (children.size() > 0) {
+        indentation = indentation.substring(indent.length());
+        append(indentation); append("</" + node + ">");
+        printLine();
+      }
+    }
   }
 
   /**
    * Prints a parse tree's attributes.
    * @param node the parse tree node.
    */
-  private void printAttributes(ICodeNodeImpl node) {
+  private void printAttributes(ICodeNode node) {
     String saveIndentation = indentation;
     indentation += indent;
 
-    Set<Map.Entry<ICodeKey, Object>> attributes = node.entrySet();
-    for (Map.Entry<ICodeKey, Object> attribute : attributes) {
-      printAttribute(attribute.getKey().toString(), attribute.getValue());
+    for (ICodeKeyImpl key : ICodeKeyImpl.values()) {
+      Object value = node.getAttribute(key);
+      if (value != null) {
+        printAttribute(key.toString(), value);
+      }
     }
     indentation = saveIndentation;
   }
@@ -106,21 +117,11 @@ public class ParseTreePrinter {
     }
   }
 
-  private void printChildNodes(ArrayList<ICodeNode> childNodes) {
-    String saveIndentation = indentation;
-    indentation += indent;
-
-    for (ICodeNode child : childNodes) {
-      printNode((ICodeNodeImpl) child);
-    }
-    indentation = saveIndentation;
-  }
-
   /**
    * Prints a parse tree node's type specification.
    * @param node the parse tree node.
    */
-  private void printTypeSpec(ICodeNodeImpl node) {}
+  private void printTypeSpec(ICodeNode node) {}
 
   /**
    * Appends text to the output line.
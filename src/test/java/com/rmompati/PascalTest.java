@@ -0,0 +1,99 @@
+package com.rmompati;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.regex.Pattern;
+
+/**
+ * <h1>PascalTest</h1>
+ *
+ * <p>Compiles a program from a file and from the standard input, with and without the "q" flag, and checks that the
+ * source is listed only without it, while the summary counts the same source lines either way.</p>
+ */
+public class PascalTest extends TestCase {
+  private static final String PROGRAM = "BEGIN\n"
+                                        + "  i := 1;\n"
+                                        + "  { a comment\n"
+                                        + "    over lines }\n"
+                                        + "  j := i + 2\n"
+                                        + "END.\n";
+
+  /** A numbered line of the source listing. */
+  private static final Pattern LISTED_LINE = Pattern.compile("(?m)^\\d{3} ");
+  private static final Pattern SOURCE_LINES = Pattern.compile("(?m)^ +6 source lines\\.$");
+
+  private File file;
+
+  @Override
+  protected void setUp() throws IOException {
+    file = File.createTempFile("quiet", ".txt");
+    try (Writer writer = new FileWriter(file)) {
+      writer.write(PROGRAM);
+    }
+  }
+
+  @Override
+  protected void tearDown() {
+    file.delete();
+  }
+
+  public void testListing() throws Exception {
+    String output = compile(file.getPath(), "");
+    assertTrue("no listing:\n" + output, output.contains("001 BEGIN\n002   i := 1;\n"));
+    assertTrue("source lines:\n" + output, SOURCE_LINES.matcher(output).find());
+  }
+
+  public void testQuietFile() throws Exception {
+    assertQuiet(compile(file.getPath(), "q"));
+  }
+
+  public void testQuietStandardInput() throws Exception {
+    assertQuiet(compile("-", "q"));
+  }
+
+  private static void assertQuiet(String output) {
+    assertFalse("listing:\n" + output, LISTED_LINE.matcher(output).find());
+    assertTrue("source lines:\n" + output, SOURCE_LINES.matcher(output).find());
+    assertTrue("syntax errors:\n" + output, output.contains(" 0 syntax errors."));
+  }
+
+  /**
+   * Compile the program in a JVM of its own, since the message handlers that the compiler adds its listeners to are
+   * static, and capture what it prints.
+   *
+   * @param path the source file path, or "-" to write the program to the standard input.
+   * @param flags the flags.
+   * @return the standard output.
+   */
+  private String compile(String path, String flags) throws Exception {
+    ProcessBuilder builder = new ProcessBuilder(
+        Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+        "-cp", System.getProperty("java.class.path"), Pascal.class.getName(), "compile");
+    if (!flags.isEmpty()) {
+      builder.command().add("-" + flags);
+    }
+    builder.command().add(path);
+    builder.redirectErrorStream(true);
+
+    Process process = builder.start();
+    try (OutputStream in = process.getOutputStream()) {
+      if (path.equals("-")) {
+        in.write(PROGRAM.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    String output;
+    try (InputStream out = process.getInputStream()) {
+      output = new String(out.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    assertEquals("exit value", 0, process.waitFor());
+    return output;
+  }
+}
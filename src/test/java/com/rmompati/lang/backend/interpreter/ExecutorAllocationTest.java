@@ -0,0 +1,109 @@
+package com.rmompati.lang.backend.interpreter;
+
+import com.rmompati.lang.backend.Backend;
+import com.rmompati.lang.backend.BackendFactory;
+import com.rmompati.lang.frontend.FrontendFactory;
+import com.rmompati.lang.frontend.Parser;
+import com.rmompati.lang.frontend.Source;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+
+/**
+ * <h1>ExecutorAllocationTest</h1>
+ *
+ * <p>Checks that the interpreters run a loop over statically typed variables without allocating. The bytes that the
+ * test thread allocates are counted with the ThreadMXBean of the JVM, for a short and a long run of the same loop, so
+ * the cost of setting up the run cancels out of the bytes per iteration.</p>
+ */
+public class ExecutorAllocationTest extends TestCase {
+  private static final int SHORT_RUN = 1000;
+  private static final int LONG_RUN = 201000;
+  private static final int WARM_UP_RUNS = 5;
+
+  /** The bytes per iteration below which the loop is taken not to allocate. */
+  private static final double MAX_BYTES_PER_ITERATION = 1.0;
+
+  private com.sun.management.ThreadMXBean threadBean;
+
+  @Override
+  protected void setUp() {
+    threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+  }
+
+  public void testStandardLoopDoesNotAllocate() throws Exception {
+    assertLoopDoesNotAllocate("standard");
+  }
+
+  public void testTreeLoopDoesNotAllocate() throws Exception {
+    assertLoopDoesNotAllocate("tree");
+  }
+
+  public void testSpecializingLoopDoesNotAllocate() throws Exception {
+    assertLoopDoesNotAllocate("specializing");
+  }
+
+  private void assertLoopDoesNotAllocate(String interpreterType) throws Exception {
+    if (!threadBean.isThreadAllocatedMemorySupported()) {
+      return;
+    }
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+
+    File shortProgram = writeLoop(SHORT_RUN);
+    File longProgram = writeLoop(LONG_RUN);
+    try {
+      for (int i = 0; i < WARM_UP_RUNS; ++i) {
+        execute(longProgram, interpreterType);
+      }
+
+      double bytesPerIteration = (double) (execute(longProgram, interpreterType)
+                                           - execute(shortProgram, interpreterType)) / (LONG_RUN - SHORT_RUN);
+      assertTrue(interpreterType + " interpreter allocates " + bytesPerIteration + " bytes per iteration",
+                 bytesPerIteration < MAX_BYTES_PER_ITERATION);
+    } finally {
+      shortProgram.delete();
+      longProgram.delete();
+    }
+  }
+
+  /**
+   * Write a program that runs a loop.
+   *
+   * @param iterations the number of iterations of the loop.
+   * @return the source file of the program.
+   */
+  private static File writeLoop(int iterations) throws IOException {
+    File file = File.createTempFile("loop", ".txt");
+    try (Writer writer = new FileWriter(file)) {
+      writer.write("BEGIN\n"
+                   + "  s := 0;\n"
+                   + "  FOR i := 1 TO " + iterations + " DO s := s + i*2 - i\n"
+                   + "END.\n");
+    }
+    return file;
+  }
+
+  /**
+   * Parse and execute a program.
+   *
+   * @param file the source file of the program.
+   * @param interpreterType the type of interpreter.
+   * @return the number of bytes that the execution allocated on the calling thread.
+   */
+  private long execute(File file, String interpreterType) throws Exception {
+    Source source = FrontendFactory.createSource(file.getPath());
+    Parser parser = FrontendFactory.createParser("Pascal", "top-down", source);
+    parser.parse();
+    source.close();
+    Backend backend = BackendFactory.createBackend("execute", interpreterType);
+
+    long threadId = Thread.currentThread().getId();
+    long before = threadBean.getThreadAllocatedBytes(threadId);
+    backend.process(parser.getiCode(), parser.getSymTabStack());
+    return threadBean.getThreadAllocatedBytes(threadId) - before;
+  }
+}
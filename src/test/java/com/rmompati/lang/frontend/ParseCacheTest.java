@@ -0,0 +1,236 @@
+package com.rmompati.lang.frontend;
+
+import com.rmompati.lang.message.Message;
+import com.rmompati.lang.message.MessageListener;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.rmompati.lang.message.MessageType.SOURCE_LINE;
+
+/**
+ * <h1>ParseCacheTest</h1>
+ *
+ * <p>Parses small programs through a {@link CachingParser} into a parse cache in a temporary directory, and checks
+ * which parses hit the cache, that entries are only ever seen whole, that the least recently used entries are
+ * evicted, that a damaged entry is a miss, and that a hit still lists the source.</p>
+ */
+public class ParseCacheTest extends TestCase {
+  private static final String VERSION = "pascal/top-down/test";
+  private static final String PROGRAM = "BEGIN\n  i := 1;\n  j := i + 2\nEND.\n";
+
+  private Path directory;
+  private Path sources;
+
+  @Override
+  protected void setUp() throws IOException {
+    directory = Files.createTempDirectory("parse-cache");
+    sources = Files.createTempDirectory("parse-cache-sources");
+  }
+
+  @Override
+  protected void tearDown() throws IOException {
+    delete(directory);
+    delete(sources);
+  }
+
+  public void testKeyIsContentAndVersion() throws Exception {
+    ParseCache cache = new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE);
+
+    assertFalse("first parse", parse(write("a.txt", PROGRAM), cache).isCached());
+    assertTrue("same file", parse(write("a.txt", PROGRAM), cache).isCached());
+    assertTrue("same content in another file", parse(write("b.txt", PROGRAM), cache).isCached());
+    assertFalse("other content", parse(write("c.txt", PROGRAM + " "), cache).isCached());
+    assertFalse("other version", parse(write("a.txt", PROGRAM), cache, VERSION + "2").isCached());
+    assertEquals("entries", 3, entries().size());
+  }
+
+  public void testStoreLeavesOnlyWholeEntries() throws Exception {
+    ParseCache cache = new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE);
+    for (int i = 0; i < 5; ++i) {
+      parse(write("p" + i + ".txt", PROGRAM + "{" + i + "}\n"), cache);
+    }
+
+    List<Path> files = list(directory);
+    assertEquals("files", 5, files.size());
+    for (Path file : files) {
+      assertTrue("not an entry: " + file, file.getFileName().toString().endsWith(".parse"));
+      String key = file.getFileName().toString().replace(".parse", "");
+      assertNotNull("entry does not load: " + file, cache.load(key));
+    }
+  }
+
+  public void testLeastRecentlyUsedIsEvicted() throws Exception {
+    // Store one parse result under three keys, in a cache sized to hold two of them.
+    CachingParser parser = parse(write("a.txt", PROGRAM), new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE));
+    Path stored = entries().get(0);
+    long entrySize = Files.size(stored);
+    Files.delete(stored);
+    ParseCache.Entry entry = new ParseCache.Entry(parser.getiCode(), parser.getSymTabStack(), 4);
+    ParseCache cache = new ParseCache(directory, 2 * entrySize);
+
+    cache.store("first", entry);
+    cache.store("second", entry);
+    assertEquals("entries", 2, entries().size());
+
+    // Make both entries old, the first one older, then use the first one.
+    long now = System.currentTimeMillis();
+    Files.setLastModifiedTime(directory.resolve("first.parse"), FileTime.fromMillis(now - 20000));
+    Files.setLastModifiedTime(directory.resolve("second.parse"), FileTime.fromMillis(now - 10000));
+    assertNotNull("first is cached", cache.load("first"));
+
+    cache.store("third", entry);
+    assertEquals("entries", 2, entries().size());
+    assertNotNull("first was evicted", cache.load("first"));
+    assertNull("second was not evicted", cache.load("second"));
+    assertNotNull("third was evicted", cache.load("third"));
+  }
+
+  public void testDamagedEntryIsMiss() throws Exception {
+    ParseCache cache = new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE);
+    Path path = write("a.txt", PROGRAM);
+    parse(path, cache);
+    Path entry = entries().get(0);
+    String key = entry.getFileName().toString().replace(".parse", "");
+    byte[] bytes = Files.readAllBytes(entry);
+
+    // Truncated at every length.
+    for (int length = 0; length < bytes.length; ++length) {
+      Files.write(entry, Arrays.copyOf(bytes, length));
+      assertNull("truncated to " + length + " bytes", cache.load(key));
+    }
+
+    // Bytes flipped in the header.
+    for (int at = 0; at < 16; ++at) {
+      byte[] damaged = bytes.clone();
+      damaged[at] ^= 0x5A;
+      Files.write(entry, damaged);
+      assertNull("byte " + at + " flipped", cache.load(key));
+    }
+
+    // Any byte flipped may leave a valid entry, but must not make loading fail.
+    for (int at = 0; at < bytes.length; ++at) {
+      byte[] damaged = bytes.clone();
+      damaged[at] ^= 0xFF;
+      Files.write(entry, damaged);
+      cache.load(key);
+    }
+
+    // Another key's entry under this key.
+    Files.write(entry, bytes);
+    Files.copy(entry, directory.resolve("0" + key.substring(1) + "x.parse"));
+    assertNull("entry of another key", cache.load("0" + key.substring(1) + "x"));
+
+    // The parser parses again after a miss, and stores a good entry.
+    Files.write(entry, Arrays.copyOf(bytes, bytes.length / 2));
+    assertFalse("damaged entry", parse(path, cache).isCached());
+    assertTrue("entry stored again", parse(path, cache).isCached());
+  }
+
+  public void testHitListsSource() throws Exception {
+    ParseCache cache = new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE);
+    Path path = write("a.txt", PROGRAM);
+
+    List<String> cold = listing(path, cache);
+    List<String> warm = listing(path, cache);
+    assertEquals("lines", 4, cold.size());
+    assertEquals("listing", cold, warm);
+  }
+
+  /**
+   * Parse a source through a caching parser and collect its source line messages.
+   *
+   * @param path the source path.
+   * @param cache the parse cache.
+   * @return the numbered lines.
+   */
+  private static List<String> listing(Path path, ParseCache cache) throws Exception {
+    final List<String> lines = new ArrayList<>();
+    MessageListener listener = new MessageListener() {
+      @Override
+      public void messageReceived(Message message) {
+        if (message.getType() == SOURCE_LINE) {
+          Object[] body = (Object[]) message.getBody();
+          lines.add(body[0] + " " + body[1]);
+        }
+      }
+    };
+
+    Source source = FrontendFactory.createSource(path.toString());
+    source.addMessageListener(listener);
+    try {
+      Parser parser = new CachingParser(FrontendFactory.createParser("Pascal", "top-down", source),
+                                        (MappedSource) source, cache, VERSION);
+      parser.parse();
+    } finally {
+      source.removeMessageListener(listener);
+      source.close();
+    }
+    return lines;
+  }
+
+  /**
+   * Parse a source through a caching parser of the test version.
+   *
+   * @param path the source path.
+   * @param cache the parse cache.
+   * @return the parser.
+   */
+  private static CachingParser parse(Path path, ParseCache cache) throws Exception {
+    return parse(path, cache, VERSION);
+  }
+
+  /**
+   * Parse a source through a caching parser.
+   *
+   * @param path the source path.
+   * @param cache the parse cache.
+   * @param version the parser version of the cache key.
+   * @return the parser.
+   */
+  private static CachingParser parse(Path path, ParseCache cache, String version) throws Exception {
+    Source source = FrontendFactory.createSource(path.toString());
+    try {
+      CachingParser parser = new CachingParser(FrontendFactory.createParser("Pascal", "top-down", source),
+                                               (MappedSource) source, cache, version);
+      parser.parse();
+      assertNotNull("no intermediate code", parser.getiCode());
+      return parser;
+    } finally {
+      source.close();
+    }
+  }
+
+  private Path write(String name, String text) throws IOException {
+    return Files.write(sources.resolve(name), text.getBytes("UTF-8"));
+  }
+
+  private List<Path> entries() throws IOException {
+    return list(directory).stream()
+        .filter(path -> path.getFileName().toString().endsWith(".parse"))
+        .collect(Collectors.toList());
+  }
+
+  private static List<Path> list(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted().collect(Collectors.toList());
+    }
+  }
+
+  private static void delete(Path directory) throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+        Files.delete(path);
+      }
+    }
+  }
+}
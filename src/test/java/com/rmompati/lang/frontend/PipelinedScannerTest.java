@@ -0,0 +1,147 @@
+package com.rmompati.lang.frontend;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+import static com.rmompati.lang.pascal.frontend.PascalTokenType.END_OF_FILE;
+import static com.rmompati.lang.pascal.frontend.PascalTokenType.ERROR;
+
+/**
+ * <h1>PipelinedScannerTest</h1>
+ *
+ * <p>Scans every example program, and a generated source long enough to go around the token ring several times, with
+ * each scanner type both sequentially and on a pipelined scanner thread, and checks that both produce the same tokens,
+ * error tokens included, up to and past the end of file. It also checks that closing a pipelined scanner before the
+ * end of file stops its thread.</p>
+ */
+public class PipelinedScannerTest extends TestCase {
+  private static final File EXAMPLES = new File("examples");
+  private static final String[] SCANNER_TYPES = {"standard", "table-driven"};
+
+  /** Enough statements for several times the tokens that the ring holds. */
+  private static final int LONG_STATEMENTS =
+      3 * PipelinedScanner.RING_CAPACITY * PipelinedScanner.BATCH_SIZE / 8;
+
+  public void testExamplesScanAlike() throws Exception {
+    File[] files = EXAMPLES.listFiles();
+    assertNotNull("no examples directory", files);
+    Arrays.sort(files);
+
+    int errors = 0;
+    for (File file : files) {
+      if (file.isFile()) {
+        for (String type : SCANNER_TYPES) {
+          errors += assertSameTokens(file, type);
+        }
+      }
+    }
+    assertTrue("no error tokens scanned", errors > 0);
+  }
+
+  public void testLongSourceScansAlike() throws Exception {
+    File file = writeLongSource();
+    try {
+      for (String type : SCANNER_TYPES) {
+        assertTrue(type + ": no error tokens scanned", assertSameTokens(file, type) >= LONG_STATEMENTS);
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  public void testCloseBeforeEndOfFile() throws Exception {
+    File file = writeLongSource();
+    try {
+      for (String type : SCANNER_TYPES) {
+        Source source = FrontendFactory.createSource(file.getPath());
+        try {
+          Scanner pipelined = new PipelinedScanner(FrontendFactory.createScanner("Pascal", type, source));
+          for (int i = 0; i < 10; ++i) {
+            assertNotSame(type + " end of file", END_OF_FILE, pipelined.nextToken().getType());
+          }
+          pipelined.close();
+          assertFalse(type + ": scanner thread still running", isScannerThreadAlive());
+        } finally {
+          source.close();
+        }
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  /**
+   * Scan a file with a scanner type sequentially and pipelined, and compare their tokens one by one.
+   *
+   * @param file the file.
+   * @param type the scanner type.
+   * @return the number of error tokens.
+   */
+  private int assertSameTokens(File file, String type) throws Exception {
+    Source sequentialSource = FrontendFactory.createSource(file.getPath());
+    Source pipelinedSource = FrontendFactory.createSource(file.getPath());
+    Scanner pipelined = null;
+    try {
+      Scanner sequential = FrontendFactory.createScanner("Pascal", type, sequentialSource);
+      pipelined = new PipelinedScanner(FrontendFactory.createScanner("Pascal", type, pipelinedSource));
+
+      int count = 0;
+      int errors = 0;
+      int endOfFiles = 0;
+      Token expected;
+      do {
+        expected = sequential.nextToken();
+        Token actual = pipelined.nextToken();
+        String where = file.getName() + " " + type + " token " + count;
+
+        assertEquals(where + " type", expected.getType(), actual.getType());
+        assertEquals(where + " text", expected.getText(), actual.getText());
+        assertEquals(where + " value", expected.getValue(), actual.getValue());
+        assertEquals(where + " line", expected.getLineNum(), actual.getLineNum());
+        assertEquals(where + " position", expected.getPosition(), actual.getPosition());
+        errors += (expected.getType() == ERROR) ? 1 : 0;
+        endOfFiles += (expected.getType() == END_OF_FILE) ? 1 : 0;
+        ++count;
+      } while (endOfFiles < 3);
+
+      return errors;
+    } finally {
+      if (pipelined != null) {
+        pipelined.close();
+      }
+      sequentialSource.close();
+      pipelinedSource.close();
+    }
+  }
+
+  /**
+   * Write a source of statements with error tokens, which ends in an unterminated string.
+   *
+   * @return the source file.
+   */
+  private static File writeLongSource() throws IOException {
+    File file = File.createTempFile("pipelined", ".txt");
+    try (Writer writer = new FileWriter(file)) {
+      writer.write("BEGIN\n");
+      for (int i = 0; i < LONG_STATEMENTS; ++i) {
+        writer.write("  x" + i + " := " + i + " ? 'a' + 2.5e" + (i % 7) + ";\n");
+      }
+      writer.write("  s := 'never closed\n");
+    }
+    return file;
+  }
+
+  private static boolean isScannerThreadAlive() {
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().equals("pipelined-scanner")) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
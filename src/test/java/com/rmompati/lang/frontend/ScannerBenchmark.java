@@ -0,0 +1,145 @@
+package com.rmompati.lang.frontend;
+
+import com.rmompati.lang.pascal.frontend.PascalParserTD;
+
+import java.io.BufferedWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static com.rmompati.lang.pascal.frontend.PascalTokenType.END_OF_FILE;
+
+/**
+ * <h1>ScannerBenchmark</h1>
+ *
+ * <p>Times the scan and the parse of a generated Pascal source with a scanner type and mode, and measures the bytes
+ * allocated per token by the thread that scans or parses. The source has assignments of mixed integer and real
+ * expressions, comments, strings and IF statements. Run it with the test classes on the class path:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes com.rmompati.lang.frontend.ScannerBenchmark \
+ *     &lt;statements&gt; &lt;scanner type&gt; &lt;scanner mode&gt; [runs]
+ * </pre>
+ *
+ * <p>The scanner type is "standard" or "table-driven", and the mode is "sequential" or "pipelined". The first runs
+ * warm up the JIT, and the median time of the runs is reported. The bytes are counted on the calling thread only, so
+ * those of a pipelined scanner's thread are left out.</p>
+ */
+public class ScannerBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    int statements = Integer.parseInt(args[0]);
+    String scannerType = args[1];
+    String scannerMode = args[2];
+    int runs = (args.length > 3) ? Integer.parseInt(args[3]) : 7;
+
+    Path path = Files.createTempFile("scanner-benchmark", ".pas");
+    try {
+      generate(path, statements);
+      long tokens = countTokens(path);
+
+      com.sun.management.ThreadMXBean threads =
+          (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+      long threadId = Thread.currentThread().getId();
+
+      long[] scanTimes = new long[runs];
+      long[] parseTimes = new long[runs];
+      long scanBytes = 0;
+      long parseBytes = 0;
+      for (int run = 0; run < runs; ++run) {
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        long startTime = System.nanoTime();
+
+        Source source = FrontendFactory.createSource(path.toString());
+        Scanner scanner = createScanner(scannerType, scannerMode, source);
+        while (scanner.nextToken().getType() != END_OF_FILE) {
+        }
+        scanner.close();
+        source.close();
+
+        scanTimes[run] = System.nanoTime() - startTime;
+        scanBytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+        startBytes = threads.getThreadAllocatedBytes(threadId);
+        startTime = System.nanoTime();
+
+        source = FrontendFactory.createSource(path.toString());
+        Parser parser = new PascalParserTD(createScanner(scannerType, scannerMode, source));
+        parser.parse();
+        source.close();
+
+        parseTimes[run] = System.nanoTime() - startTime;
+        parseBytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+      }
+
+      Arrays.sort(scanTimes);
+      Arrays.sort(parseTimes);
+      System.out.printf("%s %s: %d bytes, %d tokens%n", scannerType, scannerMode, Files.size(path), tokens);
+      System.out.printf("  scan:  %8.1f ms median, %6.1f bytes per token on the calling thread%n",
+                        scanTimes[runs / 2] / 1e6, (double) scanBytes / tokens);
+      System.out.printf("  parse: %8.1f ms median, %6.1f bytes per token on the calling thread%n",
+                        parseTimes[runs / 2] / 1e6, (double) parseBytes / tokens);
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  /**
+   * Create a scanner. A pipelined scanner is created even on a single processor, where the factory would create a
+   * sequential one, so that the two can be compared anywhere.
+   * @param scannerType the scanner type.
+   * @param scannerMode the scanner mode.
+   * @param source the source.
+   * @return the scanner.
+   * @throws Exception if an error occurs.
+   */
+  static Scanner createScanner(String scannerType, String scannerMode, Source source) throws Exception {
+    if (scannerMode.equalsIgnoreCase("pipelined")) {
+      return new PipelinedScanner(FrontendFactory.createScanner("Pascal", scannerType, source));
+    } else {
+      return FrontendFactory.createScanner("Pascal", scannerType, scannerMode, source);
+    }
+  }
+
+  /**
+   * Write the benchmark source.
+   * @param path the path of the source file.
+   * @param statements the number of assignment statements.
+   * @throws Exception if an error occurs.
+   */
+  static void generate(Path path, int statements) throws Exception {
+    try (PrintWriter writer = new PrintWriter(new BufferedWriter(Files.newBufferedWriter(path)))) {
+      writer.println("BEGIN {generated}");
+      for (int i = 0; i < 5000; ++i) {
+        writer.println("    alpha" + i + " := " + i + ";");
+      }
+      for (int i = 0; i < statements; ++i) {
+        writer.println("    alpha" + (i % 5000) + " := (alpha" + (i % 777) + " + " + i + ") * 3.25e1 - alpha9 DIV 7;"
+                       + " {comment " + i + "}");
+        if (i % 10 == 0) {
+          writer.println("    IF alpha" + (i % 100) + " <= 10 THEN s := 'str''ing' ELSE t := 1.5;");
+        }
+      }
+      writer.println("END.");
+    }
+  }
+
+  /**
+   * Count the tokens of a source, the end of file included.
+   * @param path the path of the source file.
+   * @return the number of tokens.
+   * @throws Exception if an error occurs.
+   */
+  static long countTokens(Path path) throws Exception {
+    Source source = FrontendFactory.createSource(path.toString());
+    Scanner scanner = FrontendFactory.createScanner("Pascal", "standard", source);
+    long count = 1;
+    while (scanner.nextToken().getType() != END_OF_FILE) {
+      ++count;
+    }
+    source.close();
+
+    return count;
+  }
+}
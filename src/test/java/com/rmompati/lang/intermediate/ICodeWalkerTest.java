@@ -0,0 +1,113 @@
+package com.rmompati.lang.intermediate;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.VALUE;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.*;
+
+/**
+ * <h1>ICodeWalkerTest</h1>
+ *
+ * <p>Walks trees of intermediate code with a visitor that records its calls, and checks that every node is entered
+ * before its children and left after them, with the depth of the node, that a visitor can skip the children of a node,
+ * and that a tree far deeper than the thread stack would allow to recurse is walked.</p>
+ */
+public class ICodeWalkerTest extends TestCase {
+
+  public void testVisitOrder() {
+    List<String> expected = Arrays.asList(
+        "enter a 0", "enter b 1", "enter c 2", "leave c 2", "enter d 2", "leave d 2", "leave b 1",
+        "enter e 1", "leave e 1",
+        "enter f 1", "enter g 2", "enter h 3", "leave h 3", "leave g 2", "leave f 1", "leave a 0");
+
+    ICode iCode = ICodeFactory.createICode();
+    iCode.setRoot(tree());
+    ICodeWalker walker = new ICodeWalker();
+    assertEquals("parse tree", expected, walk(walker, iCode, null));
+    assertEquals("flat tree", expected, walk(walker, ICodeFactory.createFlatICode(iCode), null));
+  }
+
+  public void testSkipChildren() {
+    ICode iCode = ICodeFactory.createICode();
+    iCode.setRoot(tree());
+
+    assertEquals(Arrays.asList("enter a 0", "enter b 1", "leave b 1", "enter e 1", "leave e 1",
+                               "enter f 1", "enter g 2", "leave g 2", "leave f 1", "leave a 0"),
+                 walk(new ICodeWalker(), iCode, Arrays.asList("b", "g")));
+    assertEquals(Arrays.asList("enter a 0", "leave a 0"), walk(new ICodeWalker(), iCode, Arrays.asList("a")));
+  }
+
+  public void testEmptyCode() {
+    assertTrue("calls", walk(new ICodeWalker(), ICodeFactory.createICode(), null).isEmpty());
+  }
+
+  public void testDeepTree() {
+    int deep = 100000;
+    ICodeNode root = node(NEGATE, "0");
+    ICodeNode node = root;
+    for (int i = 1; i < deep; ++i) {
+      node = node.addChild(node(NEGATE, Integer.toString(i)));
+    }
+    ICode iCode = ICodeFactory.createICode();
+    iCode.setRoot(root);
+
+    List<String> calls = walk(new ICodeWalker(), iCode, null);
+    assertEquals("calls", 2 * deep, calls.size());
+    for (int i = 0; i < deep; ++i) {
+      assertEquals("enter " + i + " " + i, calls.get(i));
+      assertEquals("leave " + i + " " + i, calls.get(2 * deep - 1 - i));
+    }
+  }
+
+  /**
+   * Walk intermediate code and record the calls of the visitor.
+   *
+   * @param walker the walker.
+   * @param iCode the intermediate code.
+   * @param skipped the labels of the nodes whose children the visitor skips, or null.
+   * @return the calls: "enter" or "leave", the label of the node and the depth of the walker.
+   */
+  private static List<String> walk(final ICodeWalker walker, ICode iCode, final List<String> skipped) {
+    final List<String> calls = new ArrayList<>();
+    walker.walk(iCode, new ICodeVisitor() {
+      @Override
+      public boolean enter(ICodeNode node, List<ICodeNode> children) {
+        assertEquals("children", node.getChildren(), children);
+        calls.add("enter " + node.getAttribute(VALUE) + " " + walker.getDepth());
+        return (skipped == null) || !skipped.contains(node.getAttribute(VALUE));
+      }
+
+      @Override
+      public void leave(ICodeNode node, List<ICodeNode> children) {
+        calls.add("leave " + node.getAttribute(VALUE) + " " + walker.getDepth());
+      }
+    });
+    return calls;
+  }
+
+  /**
+   * Build a tree whose nodes are labeled a to h in preorder.
+   *
+   * @return the root node.
+   */
+  private static ICodeNode tree() {
+    ICodeNode a = node(COMPOUND, "a");
+    ICodeNode b = a.addChild(node(ASSIGN, "b"));
+    b.addChild(node(VARIABLE, "c"));
+    b.addChild(node(INTEGER_CONSTANT, "d"));
+    a.addChild(node(NO_OP, "e"));
+    ICodeNode f = a.addChild(node(LOOP, "f"));
+    f.addChild(node(TEST, "g")).addChild(node(BOOLEAN_CONSTANT, "h"));
+    return a;
+  }
+
+  private static ICodeNode node(ICodeNodeType type, String label) {
+    ICodeNode node = ICodeFactory.createICodeNode(type);
+    node.setAttribute(VALUE, label);
+    return node;
+  }
+}
@@ -0,0 +1,221 @@
+package com.rmompati.lang.intermediate;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.VALUE;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.*;
+
+/**
+ * <h1>NodeTableTest</h1>
+ *
+ * <p>Checks that the nodes of intermediate code get dense IDs in preorder, that setting the root again only numbers
+ * the nodes added since, and that flat intermediate code numbers its nodes densely as well. It also checks the side
+ * tables indexed by the IDs: their values of unset nodes, and their growth for nodes numbered after they were
+ * allocated.</p>
+ */
+public class NodeTableTest extends TestCase {
+
+  public void testPreorderIds() {
+    ICode iCode = ICodeFactory.createICode();
+    ICodeNode root = program();
+    iCode.setRoot(root);
+
+    ArrayList<ICodeNode> nodes = preorder(root);
+    assertEquals("node count", nodes.size(), iCode.getNodeCount());
+    for (int i = 0; i < nodes.size(); ++i) {
+      assertEquals(nodes.get(i) + " ID", i, nodes.get(i).getNodeId());
+    }
+
+    // Nodes added later are numbered after the others, in preorder, when the root is set again.
+    ICodeNode added = assign(3);
+    assertEquals("ID before the root is set", -1, added.getNodeId());
+    root.addChild(added);
+    iCode.setRoot(root);
+
+    assertEquals("node count", nodes.size() + 3, iCode.getNodeCount());
+    for (int i = 0; i < nodes.size(); ++i) {
+      assertEquals(nodes.get(i) + " kept its ID", i, nodes.get(i).getNodeId());
+    }
+    ArrayList<ICodeNode> addedNodes = preorder(added);
+    for (int i = 0; i < addedNodes.size(); ++i) {
+      assertEquals(addedNodes.get(i) + " ID", nodes.size() + i, addedNodes.get(i).getNodeId());
+    }
+  }
+
+  public void testFlatIds() {
+    ICode iCode = ICodeFactory.createICode();
+    iCode.setRoot(program());
+    ICode flat = ICodeFactory.createFlatICode(iCode);
+
+    ArrayList<ICodeNode> nodes = preorder(flat.getRoot());
+    assertEquals("node count", iCode.getNodeCount(), flat.getNodeCount());
+    boolean[] seen = new boolean[flat.getNodeCount()];
+    for (ICodeNode node : nodes) {
+      int id = node.getNodeId();
+      assertTrue(node + " ID " + id + " out of range", (id >= 0) && (id < seen.length));
+      assertFalse(node + " ID " + id + " given twice", seen[id]);
+      seen[id] = true;
+    }
+  }
+
+  public void testNodeTable() {
+    ICode iCode = ICodeFactory.createICode();
+    ICodeNode root = program();
+    iCode.setRoot(root);
+    ICode flat = ICodeFactory.createFlatICode(iCode);
+    NodeTable<String> table = new NodeTable<>(iCode);
+    NodeTable<String> flatTable = new NodeTable<>(flat);
+    assertSame("intermediate code", iCode, table.getICode());
+
+    for (ICodeNode node : preorder(root)) {
+      assertNull(node + " unset", table.get(node));
+      table.set(node, "n" + node.getNodeId());
+    }
+    for (ICodeNode node : preorder(flat.getRoot())) {
+      flatTable.set(node, "f" + node.getNodeId());
+    }
+    for (ICodeNode node : preorder(root)) {
+      assertEquals(node + " value", "n" + node.getNodeId(), table.get(node));
+    }
+
+    // Two views of a flat node are the same node.
+    for (ICodeNode node : preorder(flat.getRoot())) {
+      assertEquals(node + " value", "f" + node.getNodeId(), flatTable.get(node));
+    }
+
+    // The table grows for nodes numbered after it was allocated.
+    ICodeNode added = assign(4);
+    root.addChild(added);
+    iCode.setRoot(root);
+    assertNull("added node unset", table.get(added));
+    table.set(added, "added");
+    assertEquals("added node", "added", table.get(added));
+    assertEquals("first node", "n0", table.get(root));
+  }
+
+  public void testIntNodeTable() {
+    ICode iCode = ICodeFactory.createICode();
+    ICodeNode root = program();
+    iCode.setRoot(root);
+    IntNodeTable table = new IntNodeTable(iCode);
+    ArrayList<ICodeNode> nodes = preorder(root);
+
+    for (ICodeNode node : nodes) {
+      assertEquals(node + " unset", 0, table.get(node));
+      table.set(node, node.getNodeId());
+    }
+    for (ICodeNode node : nodes) {
+      assertEquals(node + " added to", 2 * node.getNodeId() + 1, table.add(node, node.getNodeId() + 1));
+      assertEquals(node + " value", 2 * node.getNodeId() + 1, table.get(node));
+    }
+
+    ICodeNode added = assign(5);
+    root.addChild(added);
+    iCode.setRoot(root);
+    assertEquals("added node unset", 0, table.get(added));
+    assertEquals("added node added to", 7, table.add(added, 7));
+    assertEquals("added node", 7, table.get(added));
+  }
+
+  public void testLongNodeTable() {
+    ICode iCode = ICodeFactory.createICode();
+    ICodeNode root = program();
+    iCode.setRoot(root);
+    LongNodeTable table = new LongNodeTable(iCode);
+    ArrayList<ICodeNode> nodes = preorder(root);
+
+    long big = 1L << 40;
+    for (ICodeNode node : nodes) {
+      assertEquals(node + " unset", 0L, table.get(node));
+      table.set(node, big * node.getNodeId());
+    }
+    for (ICodeNode node : nodes) {
+      assertEquals(node + " added to", big * node.getNodeId() - 1, table.add(node, -1));
+    }
+
+    ICodeNode added = assign(6);
+    root.addChild(added);
+    iCode.setRoot(root);
+    assertEquals("added node unset", 0L, table.get(added));
+    table.set(added, Long.MIN_VALUE);
+    assertEquals("added node", Long.MIN_VALUE, table.get(added));
+  }
+
+  public void testNodeWithoutId() {
+    ICode iCode = ICodeFactory.createICode();
+    iCode.setRoot(program());
+    ICodeNode loose = ICodeFactory.createICodeNode(NO_OP);
+
+    try {
+      new NodeTable<String>(iCode).get(loose);
+      fail("object of a node without ID");
+    } catch (IllegalArgumentException exc) {
+      // Expected.
+    }
+    try {
+      new IntNodeTable(iCode).set(loose, 1);
+      fail("int of a node without ID");
+    } catch (IllegalArgumentException exc) {
+      // Expected.
+    }
+    try {
+      new LongNodeTable(iCode).add(loose, 1);
+      fail("long of a node without ID");
+    } catch (IllegalArgumentException exc) {
+      // Expected.
+    }
+  }
+
+  /**
+   * Build the tree of a small program: a compound statement of two assignments and a loop.
+   *
+   * @return the root node.
+   */
+  private static ICodeNode program() {
+    ICodeNode compound = ICodeFactory.createICodeNode(COMPOUND);
+    compound.addChild(assign(1));
+    compound.addChild(assign(2));
+
+    ICodeNode loop = compound.addChild(ICodeFactory.createICodeNode(LOOP));
+    ICodeNode test = loop.addChild(ICodeFactory.createICodeNode(TEST));
+    test.addChild(constant(BOOLEAN_CONSTANT, true));
+    loop.addChild(ICodeFactory.createICodeNode(NO_OP));
+    return compound;
+  }
+
+  private static ICodeNode assign(int value) {
+    ICodeNode assign = ICodeFactory.createICodeNode(ASSIGN);
+    assign.addChild(ICodeFactory.createICodeNode(VARIABLE));
+    assign.addChild(constant(INTEGER_CONSTANT, value));
+    return assign;
+  }
+
+  private static ICodeNode constant(ICodeNodeType type, Object value) {
+    ICodeNode node = ICodeFactory.createICodeNode(type);
+    node.setAttribute(VALUE, value);
+    return node;
+  }
+
+  /**
+   * List the nodes of a tree in preorder.
+   *
+   * @param root the root of the tree.
+   * @return the nodes.
+   */
+  private static ArrayList<ICodeNode> preorder(ICodeNode root) {
+    ArrayList<ICodeNode> nodes = new ArrayList<>();
+    ArrayList<ICodeNode> stack = new ArrayList<>();
+    stack.add(root);
+    while (!stack.isEmpty()) {
+      ICodeNode node = stack.remove(stack.size() - 1);
+      nodes.add(node);
+      ArrayList<ICodeNode> children = node.getChildren();
+      for (int i = children.size() - 1; i >= 0; --i) {
+        stack.add(children.get(i));
+      }
+    }
+    return nodes;
+  }
+}
@@ -0,0 +1,162 @@
+package com.rmompati.lang.intermediate;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.ID;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.VALUE;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.*;
+
+/**
+ * <h1>ScopeResolverTest</h1>
+ *
+ * <p>Resolves trees whose variables are defined at several nesting levels, and checks that each level numbers its
+ * variables in the order they are first met, that every use of a variable gets its slot, that a variable that shadows
+ * another at a deeper level gets a slot of its own, and that the frame sizes count the slots of each level. It also
+ * checks that nodes which are not variables stay unresolved, and that flat code resolves the same.</p>
+ */
+public class ScopeResolverTest extends TestCase {
+
+  private SymTable global;
+  private SymTable local;
+  private SymTable inner;
+
+  @Override
+  protected void setUp() {
+    global = SymTableFactory.createSymTable(0);
+    local = SymTableFactory.createSymTable(1);
+    inner = SymTableFactory.createSymTable(3);
+  }
+
+  public void testSlots() {
+    SymTableEntry x = global.enter("x");
+    SymTableEntry y = global.enter("y");
+    SymTableEntry z = global.enter("z");
+
+    // y := x + z; x := y; z := x
+    ICodeNode root = node(COMPOUND,
+        node(ASSIGN, variable(y), node(ADD, variable(x), variable(z))),
+        node(ASSIGN, variable(x), variable(y)),
+        node(ASSIGN, variable(z), variable(x)));
+    ICode iCode = ICodeFactory.createICode();
+    iCode.setRoot(root);
+    ScopeResolver resolver = new ScopeResolver(iCode);
+
+    assertSame("intermediate code", iCode, resolver.getICode());
+    assertEquals("addresses", Arrays.asList("y 0 0", "x 0 1", "z 0 2", "x 0 1", "y 0 0", "z 0 2", "x 0 1"),
+                 addresses(resolver, root));
+    assertEquals("level count", 1, resolver.getLevelCount());
+    assertEquals("frame size", 3, resolver.getFrameSize(0));
+  }
+
+  public void testNestingLevels() {
+    SymTableEntry globalX = global.enter("x");
+    SymTableEntry g = global.enter("g");
+    SymTableEntry localX = local.enter("x");
+    SymTableEntry l = local.enter("l");
+    SymTableEntry i = inner.enter("i");
+
+    // The local x shadows the global one: both are met, and each gets a slot at its own level.
+    ICodeNode root = node(COMPOUND,
+        node(ASSIGN, variable(l), variable(localX)),
+        node(ASSIGN, variable(i), node(MULTIPLY, variable(g), variable(globalX))),
+        node(ASSIGN, variable(localX), node(SUBTRACT, variable(i), variable(l))),
+        node(ASSIGN, variable(globalX), variable(g)));
+    ICode iCode = ICodeFactory.createICode();
+    iCode.setRoot(root);
+    ScopeResolver resolver = new ScopeResolver(iCode);
+
+    assertEquals("addresses",
+                 Arrays.asList("l 1 0", "x 1 1", "i 3 0", "g 0 0", "x 0 1", "x 1 1", "i 3 0", "l 1 0", "x 0 1",
+                               "g 0 0"),
+                 addresses(resolver, root));
+    assertEquals("level count", 4, resolver.getLevelCount());
+    assertEquals("level 0 frame size", 2, resolver.getFrameSize(0));
+    assertEquals("level 1 frame size", 2, resolver.getFrameSize(1));
+    assertEquals("level 2 frame size", 0, resolver.getFrameSize(2));
+    assertEquals("level 3 frame size", 1, resolver.getFrameSize(3));
+    assertEquals("level 4 frame size", 0, resolver.getFrameSize(4));
+  }
+
+  public void testUnresolvedNodes() {
+    SymTableEntry x = global.enter("x");
+    ICodeNode constant = node(INTEGER_CONSTANT);
+    constant.setAttribute(VALUE, 1);
+    ICodeNode anonymous = node(VARIABLE);
+    ICodeNode root = node(COMPOUND, node(ASSIGN, variable(x), constant), node(ASSIGN, anonymous, variable(x)));
+    ICode iCode = ICodeFactory.createICode();
+    iCode.setRoot(root);
+    ScopeResolver resolver = new ScopeResolver(iCode);
+
+    for (ICodeNode node : Arrays.asList(root, root.getChildren().get(0), constant, anonymous)) {
+      assertEquals(node + " level", ScopeResolver.UNRESOLVED, resolver.getLevel(node));
+      assertEquals(node + " slot", ScopeResolver.UNRESOLVED, resolver.getSlot(node));
+    }
+    assertEquals("frame size", 1, resolver.getFrameSize(0));
+  }
+
+  public void testEmptyCode() {
+    ScopeResolver resolver = new ScopeResolver(ICodeFactory.createICode());
+    assertEquals("level count", 1, resolver.getLevelCount());
+    assertEquals("frame size", 0, resolver.getFrameSize(0));
+  }
+
+  public void testFlatCode() {
+    SymTableEntry a = global.enter("a");
+    SymTableEntry b = local.enter("b");
+    ICodeNode root = node(COMPOUND,
+        node(ASSIGN, variable(b), node(NEGATE, variable(a))),
+        node(ASSIGN, variable(a), node(ADD, variable(b), variable(a))));
+    ICode iCode = ICodeFactory.createICode();
+    iCode.setRoot(root);
+    ICode flat = ICodeFactory.createFlatICode(iCode);
+
+    ScopeResolver flatResolver = new ScopeResolver(flat);
+    assertEquals("addresses", addresses(new ScopeResolver(iCode), root), addresses(flatResolver, flat.getRoot()));
+    assertEquals("level count", 2, flatResolver.getLevelCount());
+  }
+
+  /**
+   * List the addresses of the VARIABLE nodes of a tree in preorder.
+   *
+   * @param resolver the resolver of the tree's intermediate code.
+   * @param root the root of the tree.
+   * @return the addresses: the name of the variable, its level and its slot.
+   */
+  private static List<String> addresses(ScopeResolver resolver, ICodeNode root) {
+    List<String> addresses = new ArrayList<>();
+    ArrayList<ICodeNode> stack = new ArrayList<>();
+    stack.add(root);
+    while (!stack.isEmpty()) {
+      ICodeNode node = stack.remove(stack.size() - 1);
+      if (node.getType() == VARIABLE) {
+        String name = ((SymTableEntry) node.getAttribute(ID)).getName();
+        addresses.add(name + " " + resolver.getLevel(node) + " " + resolver.getSlot(node));
+      } else {
+        assertEquals(node + " level", ScopeResolver.UNRESOLVED, resolver.getLevel(node));
+      }
+      ArrayList<ICodeNode> children = node.getChildren();
+      for (int i = children.size() - 1; i >= 0; --i) {
+        stack.add(children.get(i));
+      }
+    }
+    return addresses;
+  }
+
+  private static ICodeNode variable(SymTableEntry entry) {
+    ICodeNode node = ICodeFactory.createICodeNode(VARIABLE);
+    node.setAttribute(ID, entry);
+    return node;
+  }
+
+  private static ICodeNode node(ICodeNodeType type, ICodeNode... children) {
+    ICodeNode node = ICodeFactory.createICodeNode(type);
+    for (ICodeNode child : children) {
+      node.addChild(child);
+    }
+    return node;
+  }
+}
@@ -0,0 +1,140 @@
+package com.rmompati.lang.intermediate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * <h1>SymTableBenchmark</h1>
+ *
+ * <p>Times entering, looking up and listing generated identifiers in a symbol table of a type, and measures the heap
+ * that the table retains per identifier, the names themselves left out. Run it with the test classes on the class
+ * path:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes com.rmompati.lang.intermediate.SymTableBenchmark \
+ *     &lt;identifiers&gt; &lt;symbol table type&gt; [runs]
+ * </pre>
+ *
+ * <p>The symbol table type is "sorted" or "hashed". Each run fills a new table, looks every identifier up five times
+ * by its interned name and five times by its text, and then gets the sorted entries twice, since a table may keep
+ * them. The first runs warm up the JIT, and the median time of the runs is reported.</p>
+ */
+public class SymTableBenchmark {
+  private static final int LOOKUPS = 5;
+
+  public static void main(String[] args) {
+    int identifiers = Integer.parseInt(args[0]);
+    String type = args[1];
+    int runs = (args.length > 2) ? Integer.parseInt(args[2]) : 5;
+
+    InternedName[] names = generate(identifiers);
+    SymTableFactory.setSymTableType(type);
+
+    long[] enterTimes = new long[runs];
+    long[] lookupTimes = new long[runs];
+    long[] textLookupTimes = new long[runs];
+    long[] firstSortTimes = new long[runs];
+    long[] againSortTimes = new long[runs];
+    int found = 0;
+    for (int run = 0; run < runs; ++run) {
+      long startTime = System.nanoTime();
+      SymTable symTable = SymTableFactory.createSymTable(0);
+      for (InternedName name : names) {
+        symTable.enter(name);
+      }
+
+      long lookupTime = System.nanoTime();
+      for (int i = 0; i < LOOKUPS; ++i) {
+        for (InternedName name : names) {
+          found += (symTable.lookup(name) != null) ? 1 : 0;
+        }
+      }
+
+      long textLookupTime = System.nanoTime();
+      for (int i = 0; i < LOOKUPS; ++i) {
+        for (InternedName name : names) {
+          found += (symTable.lookup(name.getText()) != null) ? 1 : 0;
+        }
+      }
+
+      long firstSortTime = System.nanoTime();
+      found += symTable.sortedEntries().size();
+      long againSortTime = System.nanoTime();
+      found += symTable.sortedEntries().size();
+      long endTime = System.nanoTime();
+
+      enterTimes[run] = lookupTime - startTime;
+      lookupTimes[run] = textLookupTime - lookupTime;
+      textLookupTimes[run] = firstSortTime - textLookupTime;
+      firstSortTimes[run] = againSortTime - firstSortTime;
+      againSortTimes[run] = endTime - againSortTime;
+    }
+
+    if (found != runs * (2 * LOOKUPS + 2) * identifiers) {
+      throw new IllegalStateException("Identifiers were lost: " + found);
+    }
+
+    System.out.printf("%s: %d identifiers, %.1f bytes retained per identifier%n",
+                      type, identifiers, retainedBytes(names) / identifiers);
+    System.out.printf("  enter:            %8.1f ms median%n", median(enterTimes));
+    System.out.printf("  lookup x%d:        %8.1f ms median%n", LOOKUPS, median(lookupTimes));
+    System.out.printf("  lookup(text) x%d:  %8.1f ms median%n", LOOKUPS, median(textLookupTimes));
+    System.out.printf("  sortedEntries:    %8.1f ms median%n", median(firstSortTimes));
+    System.out.printf("  sortedEntries:    %8.1f ms median, again%n", median(againSortTimes));
+  }
+
+  /**
+   * Generate distinct identifiers in no particular order.
+   * @param count the number of identifiers.
+   * @return their interned names.
+   */
+  static InternedName[] generate(int count) {
+    Random random = new Random(42);
+    InternedName[] names = new InternedName[count];
+    for (int i = 0; i < count; ++i) {
+      names[i] = new InternedName("id" + Integer.toString(random.nextInt(Integer.MAX_VALUE), 36) + i);
+    }
+
+    return names;
+  }
+
+  /**
+   * Measure the heap that a symbol table filled with names retains, after garbage collections.
+   * @param names the names, which stay reachable throughout.
+   * @return the number of bytes.
+   */
+  static double retainedBytes(InternedName[] names) {
+    // The bindings of the names would keep the last table of the timed runs reachable.
+    for (InternedName name : names) {
+      name.bind(null);
+    }
+
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    long before = usedHeap(memory);
+    SymTable symTable = SymTableFactory.createSymTable(0);
+    for (InternedName name : names) {
+      symTable.enter(name);
+    }
+    long after = usedHeap(memory);
+
+    if (symTable.lookup(names[0]) == null) {
+      throw new IllegalStateException("Identifier was lost: " + names[0]);
+    }
+    return after - before;
+  }
+
+  private static long usedHeap(MemoryMXBean memory) {
+    for (int i = 0; i < 3; ++i) {
+      System.gc();
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+
+  private static double median(long[] times) {
+    long[] sorted = times.clone();
+    Arrays.sort(sorted);
+    return sorted[sorted.length / 2] / 1e6;
+  }
+}
@@ -0,0 +1,110 @@
+package com.rmompati.lang.intermediate;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * <h1>SymTableTest</h1>
+ *
+ * <p>Enters and looks up names in symbol tables of both types, by the interned names that entered them, by other names
+ * of the same text and by their text, and checks that every lookup finds the current entry of its own table, also when
+ * two tables hold the same name or a name is entered again. It also checks that both types list the same names in the
+ * same order.</p>
+ */
+public class SymTableTest extends TestCase {
+
+  @Override
+  protected void tearDown() {
+    SymTableFactory.setSymTableType("sorted");
+  }
+
+  public void testSortedLookups() {
+    assertLookups("sorted");
+  }
+
+  public void testHashedLookups() {
+    assertLookups("hashed");
+  }
+
+  public void testSortedEntries() {
+    for (String type : new String[] {"sorted", "hashed"}) {
+      SymTableFactory.setSymTableType(type);
+      SymTable symTable = SymTableFactory.createSymTable(0);
+      for (String text : new String[] {"delta", "alpha", "charlie", "bravo"}) {
+        symTable.enter(new InternedName(text));
+      }
+      symTable.enter("alpha");
+
+      ArrayList<SymTableEntry> entries = symTable.sortedEntries();
+      assertEquals(type + " size", 4, entries.size());
+      assertEquals(type + " first", "alpha", entries.get(0).getName());
+      assertEquals(type + " second", "bravo", entries.get(1).getName());
+      assertEquals(type + " third", "charlie", entries.get(2).getName());
+      assertEquals(type + " fourth", "delta", entries.get(3).getName());
+    }
+  }
+
+  public void testHashedSortsLikeSorted() {
+    // Names that share prefixes of up to and past eight characters, of varied lengths, some not ASCII.
+    String[] parts = {"a", "b", "id", "x1", "\u00e9", "\u4e2d", "zz", "0"};
+    Random random = new Random(7);
+    SymTableFactory.setSymTableType("sorted");
+    SymTable sortedTable = SymTableFactory.createSymTable(0);
+    SymTableFactory.setSymTableType("hashed");
+    SymTable hashedTable = SymTableFactory.createSymTable(0);
+    for (int i = 0; i < 20000; ++i) {
+      StringBuilder text = new StringBuilder();
+      for (int length = random.nextInt(8); length >= 0; --length) {
+        text.append(parts[random.nextInt(parts.length)]);
+      }
+      sortedTable.enter(new InternedName(text.toString()));
+      hashedTable.enter(new InternedName(text.toString()));
+    }
+
+    ArrayList<SymTableEntry> expected = sortedTable.sortedEntries();
+    ArrayList<SymTableEntry> actual = hashedTable.sortedEntries();
+    assertEquals("size", expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); ++i) {
+      assertEquals("entry " + i, expected.get(i).getName(), actual.get(i).getName());
+    }
+  }
+
+  private void assertLookups(String type) {
+    SymTableFactory.setSymTableType(type);
+    SymTable outer = SymTableFactory.createSymTable(0);
+    SymTable inner = SymTableFactory.createSymTable(1);
+    InternedName name = new InternedName("x");
+    InternedName sameText = new InternedName("x");
+
+    assertNull(type + " empty", outer.lookup(name));
+    SymTableEntry outerEntry = outer.enter(name);
+    SymTableEntry innerEntry = inner.enter(name);
+
+    // Alternate between the tables, so that each finds the name bound to the entry of the other.
+    for (int i = 0; i < 2; ++i) {
+      assertSame(type + " outer", outerEntry, outer.lookup(name));
+      assertSame(type + " inner", innerEntry, inner.lookup(name));
+      assertSame(type + " outer by same text", outerEntry, outer.lookup(sameText));
+      assertSame(type + " inner by same text", innerEntry, inner.lookup(sameText));
+      assertSame(type + " outer by text", outerEntry, outer.lookup("x"));
+      assertSame(type + " inner by text", innerEntry, inner.lookup("x"));
+    }
+
+    // Entering the name again through another name object replaces the entry for every name.
+    SymTableEntry replacement = outer.enter(sameText);
+    assertNotSame(type + " replacement", outerEntry, replacement);
+    assertSame(type + " replaced", replacement, outer.lookup(name));
+    assertSame(type + " replaced by same text", replacement, outer.lookup(sameText));
+    assertSame(type + " replaced by text", replacement, outer.lookup("x"));
+    assertSame(type + " inner kept", innerEntry, inner.lookup(name));
+
+    // Entering it again through the first name object replaces the entry as well.
+    SymTableEntry again = outer.enter(name);
+    assertSame(type + " entered again", again, outer.lookup(name));
+    assertSame(type + " entered again by same text", again, outer.lookup(sameText));
+    assertNull(type + " missing", outer.lookup(new InternedName("y")));
+    assertNull(type + " missing by text", outer.lookup("y"));
+  }
+}
@@ -0,0 +1,163 @@
+package com.rmompati.lang.intermediate.icodeimpl;
+
+import com.rmompati.lang.backend.Backend;
+import com.rmompati.lang.backend.BackendFactory;
+import com.rmompati.lang.frontend.FrontendFactory;
+import com.rmompati.lang.frontend.Parser;
+import com.rmompati.lang.frontend.Source;
+import com.rmompati.lang.intermediate.ICode;
+import com.rmompati.lang.intermediate.ICodeFactory;
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.message.Message;
+import com.rmompati.lang.message.MessageListener;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.LINE;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.ADD;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.INTEGER_DIVIDE;
+import static com.rmompati.lang.message.MessageType.RUNTIME_ERROR;
+
+/**
+ * <h1>HashConserTest</h1>
+ *
+ * <p>Hash-conses a program whose statements repeat expressions, some of them divided by zero, and walks the tree to
+ * check that subtrees are shared, that a shared node has no parent while every other node has the parent it is
+ * reached from, and that the runtime error handler finds the line of each division by zero through its parents. It
+ * also checks that hash-consed code cannot be flattened.</p>
+ */
+public class HashConserTest extends TestCase {
+  private static final String PROGRAM = "BEGIN\n"
+                                        + "  a := 1; b := 0;\n"
+                                        + "  x := (a + b)*2;\n"
+                                        + "  y := (a + b)*2 DIV b;\n"
+                                        + "  z := a + b;\n"
+                                        + "  w := (a + b) DIV b\n"
+                                        + "END.\n";
+
+  private File file;
+
+  @Override
+  protected void setUp() throws IOException {
+    file = File.createTempFile("shared", ".txt");
+    try (Writer writer = new FileWriter(file)) {
+      writer.write(PROGRAM);
+    }
+  }
+
+  @Override
+  protected void tearDown() {
+    file.delete();
+  }
+
+  public void testSharedNodesHaveNoParent() throws Exception {
+    ICode iCode = ICodeFactory.hashCons(parse().getiCode());
+
+    // Walk the tree through every place of every node, with a stack of the nodes and of the parents they are
+    // reached from.
+    IdentityHashMap<ICodeNode, Integer> places = new IdentityHashMap<>();
+    ArrayList<ICodeNode> nodes = new ArrayList<>();
+    ArrayList<ICodeNode> parents = new ArrayList<>();
+    nodes.add(iCode.getRoot());
+    parents.add(null);
+    ArrayList<Integer> divisionLines = new ArrayList<>();
+
+    while (!nodes.isEmpty()) {
+      ICodeNodeImpl node = (ICodeNodeImpl) nodes.remove(nodes.size() - 1);
+      ICodeNode parent = parents.remove(parents.size() - 1);
+      places.merge(node, 1, Integer::sum);
+
+      if (node.isShared()) {
+        assertNull(node + " is shared but has a parent", node.getParent());
+      } else {
+        assertSame(node + " parent", parent, node.getParent());
+        assertFalse(node + " is under a shared node", (parent != null) && ((ICodeNodeImpl) parent).isShared());
+      }
+      if (node.getType() == INTEGER_DIVIDE) {
+        assertFalse("division is shared", node.isShared());
+        divisionLines.add((Integer) lineOf(node));
+      }
+
+      for (ICodeNode child : node.getChildren()) {
+        nodes.add(child);
+        parents.add(node);
+      }
+    }
+
+    divisionLines.sort(null);
+    assertEquals("division lines", Arrays.asList(4, 6), divisionLines);
+
+    // The four sums "a + b" are one shared node.
+    ArrayList<ICodeNode> sums = new ArrayList<>();
+    for (ICodeNode node : places.keySet()) {
+      if (node.getType() == ADD) {
+        sums.add(node);
+      }
+    }
+    assertEquals("sums", 1, sums.size());
+    assertEquals("places of the sum", 4, (int) places.get(sums.get(0)));
+  }
+
+  public void testRuntimeErrorLines() throws Exception {
+    for (String interpreterType : new String[] {"standard", "tree"}) {
+      Parser parser = parse();
+      ICode iCode = ICodeFactory.hashCons(parser.getiCode());
+
+      final List<Object> lines = new ArrayList<>();
+      Backend backend = BackendFactory.createBackend("execute", interpreterType);
+      backend.addMessageListener(new MessageListener() {
+        @Override
+        public void messageReceived(Message message) {
+          if (message.getType() == RUNTIME_ERROR) {
+            lines.add(((Object[]) message.getBody())[1]);
+          }
+        }
+      });
+      backend.process(iCode, parser.getSymTabStack());
+
+      assertEquals(interpreterType + " error lines", Arrays.<Object>asList(4, 6), lines);
+    }
+  }
+
+  public void testSharedCodeIsNotFlattened() throws Exception {
+    ICode iCode = ICodeFactory.hashCons(parse().getiCode());
+    try {
+      ICodeFactory.createFlatICode(iCode);
+      fail("hash-consed code was flattened");
+    } catch (IllegalArgumentException exc) {
+      // Expected.
+    }
+  }
+
+  private Parser parse() throws Exception {
+    Source source = FrontendFactory.createSource(file.getPath());
+    try {
+      Parser parser = FrontendFactory.createParser("Pascal", "top-down", source);
+      parser.parse();
+      return parser;
+    } finally {
+      source.close();
+    }
+  }
+
+  /**
+   * Find the line of a node as the runtime error handler does, through the parents of the node.
+   *
+   * @param node the node.
+   * @return the line number.
+   */
+  private static Object lineOf(ICodeNode node) {
+    while (node.getAttribute(LINE) == null) {
+      node = node.getParent();
+    }
+    return node.getAttribute(LINE);
+  }
+}
@@ -0,0 +1,122 @@
+package com.rmompati.lang.pascal.frontend;
+
+import com.rmompati.lang.frontend.FrontendFactory;
+import com.rmompati.lang.frontend.Scanner;
+import com.rmompati.lang.frontend.Source;
+import com.rmompati.lang.frontend.Token;
+import com.rmompati.lang.message.Message;
+import com.rmompati.lang.message.MessageListener;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static com.rmompati.lang.message.MessageType.SOURCE_LINE;
+import static com.rmompati.lang.pascal.frontend.PascalTokenType.END_OF_FILE;
+
+/**
+ * <h1>PascalDfaScannerTest</h1>
+ *
+ * <p>Scans every example program with both the standard and the table-driven scanner, and checks that they produce the
+ * same tokens, with the same types, texts, values, line numbers and positions. Without a listener the table-driven
+ * scanner scans ahead of the parser a batch at a time. With one, it checks that the source lines are still sent no
+ * further ahead than the line of the current token.</p>
+ */
+public class PascalDfaScannerTest extends TestCase {
+  private static final File EXAMPLES = new File("examples");
+
+  public void testExamplesScanAlike() throws Exception {
+    File[] files = EXAMPLES.listFiles();
+    assertNotNull("no examples directory", files);
+    Arrays.sort(files);
+
+    int scanned = 0;
+    for (File file : files) {
+      if (file.isFile()) {
+        assertSameTokens(file);
+        ++scanned;
+      }
+    }
+    assertTrue("no examples scanned", scanned > 0);
+  }
+
+  public void testListingKeepsStepWithTokens() throws Exception {
+    File[] files = EXAMPLES.listFiles();
+    assertNotNull("no examples directory", files);
+    Arrays.sort(files);
+
+    for (File file : files) {
+      if (file.isFile()) {
+        assertListingKeepsStep(file);
+      }
+    }
+  }
+
+  /**
+   * Scan a file with the table-driven scanner while listening to its source lines, and check that when a token is
+   * returned no line after the line of the next token has been sent yet.
+   *
+   * @param file the file.
+   */
+  private void assertListingKeepsStep(File file) throws Exception {
+    final int[] lastLineSent = {0};
+    MessageListener listener = new MessageListener() {
+      @Override
+      public void messageReceived(Message message) {
+        if (message.getType() == SOURCE_LINE) {
+          lastLineSent[0] = (Integer) ((Object[]) message.getBody())[0];
+        }
+      }
+    };
+
+    Source source = FrontendFactory.createSource(file.getPath());
+    source.addMessageListener(listener);
+    try {
+      Scanner dfa = FrontendFactory.createScanner("Pascal", "table-driven", source);
+      Token token = dfa.nextToken();
+      while (token.getType() != END_OF_FILE) {
+        String text = token.getText();
+        int lineSent = lastLineSent[0];
+        token = dfa.nextToken();
+        assertTrue(file.getName() + " line " + lineSent + " sent at " + text + ", next token on line "
+                   + token.getLineNum(), lineSent <= token.getLineNum());
+      }
+    } finally {
+      source.removeMessageListener(listener);
+      source.close();
+    }
+  }
+
+  /**
+   * Scan a file with both scanners and compare their tokens one by one.
+   *
+   * @param file the file.
+   */
+  private void assertSameTokens(File file) throws Exception {
+    Source standardSource = FrontendFactory.createSource(file.getPath());
+    Source dfaSource = FrontendFactory.createSource(file.getPath());
+    try {
+      Scanner standard = FrontendFactory.createScanner("Pascal", "standard", standardSource);
+      Scanner dfa = FrontendFactory.createScanner("Pascal", "table-driven", dfaSource);
+
+      int count = 0;
+      Token expected;
+      do {
+        expected = standard.nextToken();
+        // The table-driven scanner reuses its token, so it is compared before the next one is scanned.
+        Token actual = dfa.nextToken();
+        String where = file.getName() + " token " + count;
+
+        assertEquals(where + " type", expected.getType(), actual.getType());
+        assertEquals(where + " text", expected.getText(), actual.getText());
+        assertEquals(where + " value", expected.getValue(), actual.getValue());
+        assertEquals(where + " line", expected.getLineNum(), actual.getLineNum());
+        assertEquals(where + " position", expected.getPosition(), actual.getPosition());
+        ++count;
+      } while (expected.getType() != END_OF_FILE);
+    } finally {
+      standardSource.close();
+      dfaSource.close();
+    }
+  }
+}
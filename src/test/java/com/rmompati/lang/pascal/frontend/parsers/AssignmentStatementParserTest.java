@@ -0,0 +1,72 @@
+package com.rmompati.lang.pascal.frontend.parsers;
+
+import com.rmompati.lang.frontend.FrontendFactory;
+import com.rmompati.lang.frontend.Parser;
+import com.rmompati.lang.frontend.Source;
+import com.rmompati.lang.intermediate.ICodeNode;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.ASSIGN;
+
+/**
+ * <h1>AssignmentStatementParserTest</h1>
+ *
+ * <p>Parses an assignment whose target is not an identifier, with both the standard and the table-driven scanner, and
+ * checks that the target is entered under its text, as it always was, and that the parse goes on to the statements
+ * that follow.</p>
+ */
+public class AssignmentStatementParserTest extends TestCase {
+
+  public void testNumberAsForControlVariable() throws Exception {
+    String program = "BEGIN\n"
+                     + "  FOR 5 := 1 TO 3 DO x := 1;\n"
+                     + "  y := 2\n"
+                     + "END.\n";
+    assertParsesTarget(program, "5", "standard");
+    assertParsesTarget(program, "5", "table-driven");
+  }
+
+  /**
+   * Parse a program and check that the malformed target and the statement after it are parsed.
+   *
+   * @param program the source of the program.
+   * @param target the text of the malformed target.
+   * @param scannerType the type of scanner.
+   */
+  private void assertParsesTarget(String program, String target, String scannerType) throws Exception {
+    File file = File.createTempFile("assign", ".txt");
+    try {
+      write(file, program);
+      Source source = FrontendFactory.createSource(file.getPath());
+      try {
+        Parser parser = FrontendFactory.createParser("Pascal", "top-down", scannerType, source);
+        parser.parse();
+
+        assertNotNull(scannerType + ": " + target + " was not entered", parser.getSymTabStack().lookup(target));
+        assertNotNull(scannerType + ": y was not entered", parser.getSymTabStack().lookup("y"));
+
+        ICodeNode lastStatement = lastChild(parser.getiCode().getRoot());
+        assertEquals(scannerType + ": last statement", ASSIGN, lastStatement.getType());
+      } finally {
+        source.close();
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  private static ICodeNode lastChild(ICodeNode node) {
+    return node.getChildren().get(node.getChildren().size() - 1);
+  }
+
+  private static void write(File file, String text) throws IOException {
+    try (Writer writer = new FileWriter(file)) {
+      writer.write(text);
+    }
+  }
+}
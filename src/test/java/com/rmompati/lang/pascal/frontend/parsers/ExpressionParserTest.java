@@ -0,0 +1,174 @@
+package com.rmompati.lang.pascal.frontend.parsers;
+
+import com.rmompati.lang.frontend.FrontendFactory;
+import com.rmompati.lang.frontend.Parser;
+import com.rmompati.lang.frontend.Source;
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.SymTableEntry;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.ID;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.VALUE;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.NOT;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.SUBTRACT;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.VARIABLE;
+
+/**
+ * <h1>ExpressionParserTest</h1>
+ *
+ * <p>Parses assignments of expressions and checks the shapes of their trees: the precedence and the associativity of
+ * the operators, the reach of a leading sign and of NOT, and parentheses. It also parses expressions nested far deeper
+ * than the thread stack would allow a recursive parser to go.</p>
+ */
+public class ExpressionParserTest extends TestCase {
+
+  /** A nesting depth that overflows the default thread stack in a recursive descent. */
+  private static final int DEEP = 100000;
+
+  public void testPrecedence() throws Exception {
+    assertShapes(new String[][] {
+        {"a + b*c - d", "SUBTRACT(ADD(a, MULTIPLY(b, c)), d)"},
+        {"a - b - c", "SUBTRACT(SUBTRACT(a, b), c)"},
+        {"a*b DIV c MOD d", "MOD(INTEGER_DIVIDE(MULTIPLY(a, b), c), d)"},
+        {"a/b + c", "ADD(FLOAT_DIVIDE(a, b), c)"},
+        {"(a + b)*c", "MULTIPLY(ADD(a, b), c)"},
+        {"a*(b - (c + d))", "MULTIPLY(a, SUBTRACT(b, ADD(c, d)))"},
+        {"a + 1 < b*2", "LT(ADD(a, 1), MULTIPLY(b, 2))"},
+        {"(a < b) = (c >= d)", "EQ(LT(a, b), GE(c, d))"},
+        {"a < b OR c", "LT(a, OR(b, c))"},
+    });
+  }
+
+  public void testUnaryOperators() throws Exception {
+    assertShapes(new String[][] {
+        {"-a*b", "NEGATE(MULTIPLY(a, b))"},
+        {"-a + b", "ADD(NEGATE(a), b)"},
+        {"-a - b*c", "SUBTRACT(NEGATE(a), MULTIPLY(b, c))"},
+        {"+a*b", "MULTIPLY(a, b)"},
+        {"a < -b", "LT(a, NEGATE(b))"},
+        {"NOT a AND b", "AND(NOT(a), b)"},
+        {"NOT (a AND b)", "NOT(AND(a, b))"},
+        {"NOT NOT a", "NOT(NOT(a))"},
+    });
+  }
+
+  public void testDeepNesting() throws Exception {
+    // The parses share one symbol table, so the long chain subtracts constants rather than adding references to it.
+    StringBuilder parentheses = new StringBuilder();
+    StringBuilder chain = new StringBuilder("1");
+    StringBuilder nots = new StringBuilder();
+    for (int i = 0; i < DEEP; ++i) {
+      parentheses.append('(');
+      chain.append(" - 1");
+      nots.append("NOT ");
+    }
+    parentheses.append("a + b");
+    for (int i = 0; i < DEEP; ++i) {
+      parentheses.append(')');
+    }
+    nots.append('a');
+
+    ArrayList<ICodeNode> expressions = parse(parentheses.toString(), chain.toString(), nots.toString());
+    assertEquals("parentheses", "ADD(a, b)", shape(expressions.get(0)));
+    assertEquals("subtractions", DEEP, depth(expressions.get(1), SUBTRACT));
+    assertEquals("nots", DEEP, depth(expressions.get(2), NOT));
+  }
+
+  /**
+   * Parse expressions and compare the shapes of their trees.
+   *
+   * @param cases pairs of an expression and the shape of its tree.
+   */
+  private static void assertShapes(String[][] cases) throws Exception {
+    String[] expressions = new String[cases.length];
+    for (int i = 0; i < cases.length; ++i) {
+      expressions[i] = cases[i][0];
+    }
+
+    ArrayList<ICodeNode> trees = parse(expressions);
+    for (int i = 0; i < cases.length; ++i) {
+      assertEquals(cases[i][0], cases[i][1], shape(trees.get(i)));
+    }
+  }
+
+  /**
+   * Parse a program that assigns its variables and then each expression, and return the trees of the expressions.
+   *
+   * @param expressions the expressions.
+   * @return the trees.
+   */
+  private static ArrayList<ICodeNode> parse(String... expressions) throws Exception {
+    File file = File.createTempFile("expression", ".txt");
+    try {
+      try (Writer writer = new FileWriter(file)) {
+        writer.write("BEGIN\n  a := 1; b := 2; c := 3; d := 4;\n");
+        for (String expression : expressions) {
+          writer.write("  x := " + expression + ";\n");
+        }
+        writer.write("END.\n");
+      }
+
+      Source source = FrontendFactory.createSource(file.getPath());
+      try {
+        Parser parser = FrontendFactory.createParser("Pascal", "top-down", source);
+        parser.parse();
+        assertEquals("syntax errors", 0, parser.getErrorCount());
+
+        ArrayList<ICodeNode> statements = parser.getiCode().getRoot().getChildren();
+        ArrayList<ICodeNode> trees = new ArrayList<>();
+        for (int i = 4; i < 4 + expressions.length; ++i) {
+          trees.add(statements.get(i).getChildren().get(1));
+        }
+        return trees;
+      } finally {
+        source.close();
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  /**
+   * Write the shape of a small tree: a variable by its name, a constant by its value, and an operator by its type
+   * followed by its operands.
+   *
+   * @param node the root node of the tree.
+   * @return the shape.
+   */
+  private static String shape(ICodeNode node) {
+    if (node.getType() == VARIABLE) {
+      return ((SymTableEntry) node.getAttribute(ID)).getName();
+    }
+    if (node.getAttribute(VALUE) != null) {
+      return node.getAttribute(VALUE).toString();
+    }
+
+    StringBuilder shape = new StringBuilder(node.getType().toString()).append('(');
+    ArrayList<ICodeNode> children = node.getChildren();
+    for (int i = 0; i < children.size(); ++i) {
+      shape.append((i > 0) ? ", " : "").append(shape(children.get(i)));
+    }
+    return shape.append(')').toString();
+  }
+
+  /**
+   * Count the nodes of a type along the first children of a tree, without recursion.
+   *
+   * @param node the root node of the tree.
+   * @param type the node type.
+   * @return the length of the chain of nodes of that type from the root.
+   */
+  private static int depth(ICodeNode node, Object type) {
+    int depth = 0;
+    while (node.getType() == type) {
+      ++depth;
+      node = node.getChildren().get(0);
+    }
+    return depth;
+  }
+}
@@ -0,0 +1,219 @@
+package com.rmompati.lang.util;
+
+import com.rmompati.lang.frontend.FrontendFactory;
+import com.rmompati.lang.frontend.Parser;
+import com.rmompati.lang.frontend.Source;
+import com.rmompati.lang.intermediate.ICode;
+import com.rmompati.lang.intermediate.ICodeFactory;
+import com.rmompati.lang.intermediate.ICodeNode;
+import com.rmompati.lang.intermediate.ICodeNodeType;
+import com.rmompati.lang.intermediate.SymTable;
+import com.rmompati.lang.intermediate.SymTableEntry;
+import com.rmompati.lang.intermediate.SymTableFactory;
+import com.rmompati.lang.intermediate.symtableimpl.SymTableKeyImpl;
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.ID;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.LINE;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeKeyImpl.VALUE;
+import static com.rmompati.lang.intermediate.icodeimpl.ICodeNodeTypeImpl.*;
+
+/**
+ * <h1>ICodeWriterTest</h1>
+ *
+ * <p>Writes intermediate code and its symbol table with an {@link ICodeWriter}, reads the memory-mapped file back with
+ * an {@link ICodeReader} into an empty symbol table, and checks that the nodes, their IDs and attributes, and the
+ * entries, their line numbers and attributes, all come back the same. It also checks empty code and a value that the
+ * format cannot encode.</p>
+ */
+public class ICodeWriterTest extends TestCase {
+
+  private Path file;
+
+  @Override
+  protected void setUp() throws IOException {
+    file = Files.createTempFile("icode", ".bin");
+  }
+
+  @Override
+  protected void tearDown() throws IOException {
+    Files.delete(file);
+  }
+
+  public void testBuiltCode() throws Exception {
+    SymTable symTable = SymTableFactory.createSymTable(0);
+    SymTableEntry x = enter(symTable, "x", 2, 5);
+    SymTableEntry s = enter(symTable, "s\u00e9", 3);
+    SymTableEntry flag = enter(symTable, "flag", 4);
+    x.setAttribute(SymTableKeyImpl.CONSTANT_VALUE, 42);
+    s.setAttribute(SymTableKeyImpl.DATA_VALUE, "text");
+    flag.setAttribute(SymTableKeyImpl.DATA_VALUE, Boolean.FALSE);
+    flag.setAttribute(SymTableKeyImpl.CONSTANT_VALUE, -0.5f);
+
+    ICodeNode root = node(COMPOUND, 1, null, null,
+        node(ASSIGN, 2, null, null,
+            node(VARIABLE, null, x, null),
+            node(ADD, null, null, null, node(INTEGER_CONSTANT, null, null, 7), node(REAL_CONSTANT, null, null, 2.5f))),
+        node(ASSIGN, 3, null, null, node(VARIABLE, null, s, null), node(STRING_CONSTANT, null, null, "h\u00e9llo")),
+        node(IF, 4, null, null,
+            node(VARIABLE, null, flag, null),
+            node(NO_OP, 4, null, null),
+            node(ASSIGN, 5, null, null,
+                node(VARIABLE, null, x, null), node(NEGATE, null, null, null,
+                                                    node(INTEGER_CONSTANT, null, null, Integer.MIN_VALUE)))),
+        node(ASSIGN, 6, null, null, node(VARIABLE, null, flag, null), node(BOOLEAN_CONSTANT, null, null, true)));
+    ICode iCode = ICodeFactory.createICode();
+    iCode.setRoot(root);
+
+    assertRoundTrip(iCode, symTable);
+  }
+
+  public void testParsedProgram() throws Exception {
+    File source = File.createTempFile("program", ".txt");
+    try {
+      try (Writer writer = new FileWriter(source)) {
+        writer.write("BEGIN\n"
+                     + "  i := 0; r := 1.5e3; s := 'it''s';\n"
+                     + "  REPEAT i := i + 1 UNTIL (i >= 3) AND NOT (r < 0);\n"
+                     + "  CASE i OF 1, 2: s := 'low'; 3: r := r/2 END;\n"
+                     + "  FOR i := 10 DOWNTO 1 DO IF i MOD 2 = 0 THEN r := -r ELSE s := s\n"
+                     + "END.\n");
+      }
+
+      Source programSource = FrontendFactory.createSource(source.getPath());
+      try {
+        Parser parser = FrontendFactory.createParser("Pascal", "top-down", programSource);
+        parser.parse();
+        assertEquals("syntax errors", 0, parser.getErrorCount());
+
+        ICode read = assertRoundTrip(parser.getiCode(), parser.getSymTabStack().getLocalSymTab());
+        assertEquals("printed tree", print(parser.getiCode()), print(read));
+      } finally {
+        programSource.close();
+      }
+    } finally {
+      source.delete();
+    }
+  }
+
+  public void testEmptyCode() throws Exception {
+    SymTable symTable = SymTableFactory.createSymTable(0);
+    enter(symTable, "unused", 1);
+    ICode read = assertRoundTrip(ICodeFactory.createICode(), symTable);
+    assertNull("root", read.getRoot());
+  }
+
+  public void testValueCannotBeEncoded() throws Exception {
+    ICode iCode = ICodeFactory.createICode();
+    iCode.setRoot(node(INTEGER_CONSTANT, 1, null, 1L));
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      new ICodeWriter(channel).write(iCode, SymTableFactory.createSymTable(0));
+      fail("a Long value was written");
+    } catch (IllegalArgumentException exc) {
+      // Expected.
+    }
+  }
+
+  /**
+   * Write intermediate code and its symbol table, read them back into an empty symbol table, and compare.
+   *
+   * @param iCode the intermediate code.
+   * @param symTable the symbol table.
+   * @return the intermediate code read back.
+   */
+  private ICode assertRoundTrip(ICode iCode, SymTable symTable) throws Exception {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      new ICodeWriter(channel).write(iCode, symTable);
+    }
+    SymTable readTable = SymTableFactory.createSymTable(0);
+    ICode read = ICodeReader.map(file).read(readTable);
+
+    // The entries, by name.
+    ArrayList<SymTableEntry> entries = symTable.sortedEntries();
+    assertEquals("entries", entries.size(), readTable.sortedEntries().size());
+    for (SymTableEntry entry : entries) {
+      SymTableEntry readEntry = readTable.lookup(entry.getName());
+      assertNotNull(entry.getName() + " was not read", readEntry);
+      assertEquals(entry.getName() + " lines", entry.getLineNumbers(), readEntry.getLineNumbers());
+      for (SymTableKeyImpl key : SymTableKeyImpl.values()) {
+        assertEquals(entry.getName() + " " + key, entry.getAttribute(key), readEntry.getAttribute(key));
+      }
+    }
+
+    // The nodes, side by side in preorder.
+    assertEquals("node count", iCode.getNodeCount(), read.getNodeCount());
+    ArrayList<ICodeNode> written = new ArrayList<>();
+    ArrayList<ICodeNode> readNodes = new ArrayList<>();
+    if (iCode.getRoot() != null) {
+      written.add(iCode.getRoot());
+      readNodes.add(read.getRoot());
+    }
+    while (!written.isEmpty()) {
+      ICodeNode node = written.remove(written.size() - 1);
+      ICodeNode readNode = readNodes.remove(readNodes.size() - 1);
+      String where = "node " + node.getNodeId() + " " + node;
+
+      assertEquals(where + " type", node.getType(), readNode.getType());
+      assertEquals(where + " ID", node.getNodeId(), readNode.getNodeId());
+      assertEquals(where + " line", node.getAttribute(LINE), readNode.getAttribute(LINE));
+      assertEquals(where + " value", node.getAttribute(VALUE), readNode.getAttribute(VALUE));
+      if (node.getAttribute(VALUE) != null) {
+        assertEquals(where + " value type", node.getAttribute(VALUE).getClass(),
+                     readNode.getAttribute(VALUE).getClass());
+      }
+      SymTableEntry id = (SymTableEntry) node.getAttribute(ID);
+      assertSame(where + " entry", (id != null) ? readTable.lookup(id.getName()) : null, readNode.getAttribute(ID));
+      assertEquals(where + " parent", read.getRoot() == readNode, readNode.getParent() == null);
+
+      assertEquals(where + " children", node.getChildren().size(), readNode.getChildren().size());
+      written.addAll(node.getChildren());
+      readNodes.addAll(readNode.getChildren());
+    }
+
+    return read;
+  }
+
+  private static SymTableEntry enter(SymTable symTable, String name, int... lineNumbers) {
+    SymTableEntry entry = symTable.enter(name);
+    for (int lineNumber : lineNumbers) {
+      entry.appendLineNumber(lineNumber);
+    }
+    return entry;
+  }
+
+  private static ICodeNode node(ICodeNodeType type, Integer line, SymTableEntry id, Object value,
+                                ICodeNode... children) {
+    ICodeNode node = ICodeFactory.createICodeNode(type);
+    if (line != null) {
+      node.setAttribute(LINE, line);
+    }
+    if (id != null) {
+      node.setAttribute(ID, id);
+    }
+    if (value != null) {
+      node.setAttribute(VALUE, value);
+    }
+    for (ICodeNode child : children) {
+      node.addChild(child);
+    }
+    return node;
+  }
+
+  private static String print(ICode iCode) {
+    ByteArrayOutputStream printed = new ByteArrayOutputStream();
+    new ParseTreePrinter(new PrintStream(printed, true)).print(iCode);
+    return printed.toString();
+  }
+}